@@ -0,0 +1,45 @@
+package com.mini_mes_3m_back.config;
+
+import com.mini_mes_3m_back.repository.ChosungJdbcRepository;
+import com.mini_mes_3m_back.repository.ChosungJdbcRepository.Row;
+import com.mini_mes_3m_back.repository.ChosungJdbcRepository.Target;
+import com.mini_mes_3m_back.util.HangulChosung;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 서버 기동 시 초성 컬럼이 비어 있는 거래처/수주품목/원자재 품목(컬럼 도입 전 데이터)의 초성을 채움
+// ApplicationRunner 는 ApplicationReadyEvent 보다 먼저 실행되므로, 검색 색인/자동완성 적재 시점에는 모두 채워져 있다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChosungColumnInitializer implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ChosungJdbcRepository chosungJdbcRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (Target target : Target.values()) {
+            int filled = 0;
+            List<Row> rows;
+            do {
+                rows = chosungJdbcRepository.findMissing(target, BATCH_SIZE);
+                if (!rows.isEmpty()) {
+                    chosungJdbcRepository.batchUpdate(target, rows.stream()
+                            .map(row -> new Object[]{row.id(), HangulChosung.toChosung(row.name())})
+                            .toList());
+                    filled += rows.size();
+                }
+            } while (rows.size() == BATCH_SIZE);
+            if (filled > 0) {
+                log.info("초성 컬럼 채움: {} {}건", target, filled);
+            }
+        }
+    }
+}
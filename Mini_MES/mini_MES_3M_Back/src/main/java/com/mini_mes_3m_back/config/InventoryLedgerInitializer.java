@@ -0,0 +1,20 @@
+package com.mini_mes_3m_back.config;
+
+import com.mini_mes_3m_back.service.InventoryLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// 서버 기동 시 재고 수불 원장이 비어 있으면 기존 입고/출고 이력을 한 번 이관
+@Component
+@RequiredArgsConstructor
+public class InventoryLedgerInitializer implements ApplicationRunner {
+
+    private final InventoryLedgerService inventoryLedgerService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        inventoryLedgerService.backfillIfEmpty();
+    }
+}
@@ -0,0 +1,20 @@
+package com.mini_mes_3m_back.config;
+
+import com.mini_mes_3m_back.service.RawLotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// 서버 기동 시 잔여 수량이 비어 있는 입고 로트(컬럼 도입 전 데이터)를 현재 재고 기준으로 채움
+@Component
+@RequiredArgsConstructor
+public class RawInboundLotInitializer implements ApplicationRunner {
+
+    private final RawLotService rawLotService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rawLotService.backfillRemainingQty();
+    }
+}
@@ -0,0 +1,246 @@
+package com.mini_mes_3m_back.config;
+
+import com.mini_mes_3m_back.service.RepositoryMetrics;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// 저장소 호출 계측 (RepositoryMetrics 에 기록)
+// - com.mini_mes_3m_back.repository 패키지의 빈(Spring Data 저장소, JdbcTemplate 저장소)을 감싸서 호출마다
+//   지연 시간, 반환 행 수, 그동안 실행된 SQL 문 수를 저장소/메서드/키워드 유무별로 남긴다.
+// - SQL 문 수는 DataSource 를 감싼 프록시가 prepareStatement/prepareCall/Statement.execute* 를 셀 때 함께 센다. (SqlStatementTracker)
+// metrics.repository.enabled=false 면 아무것도 감싸지 않는다.
+@Component
+public class RepositoryInstrumentationPostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private static final String REPOSITORY_PACKAGE = "com.mini_mes_3m_back.repository";
+
+    private final ObjectProvider<RepositoryMetrics> metricsProvider;
+    private boolean enabled = true;
+
+    public RepositoryInstrumentationPostProcessor(ObjectProvider<RepositoryMetrics> metricsProvider) {
+        this.metricsProvider = metricsProvider; // 후처리기는 먼저 만들어지므로 RepositoryMetrics 는 호출 시점에 꺼냄
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.enabled = environment.getProperty("metrics.repository.enabled", Boolean.class, true);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE; // 예외 변환 등 다른 프록시가 다 붙은 뒤에
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!enabled) {
+            return bean;
+        }
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return countingDataSource(dataSource);
+        }
+        String repositoryName = repositoryNameOf(bean);
+        if (repositoryName == null) {
+            return bean;
+        }
+        MethodInterceptor interceptor = new RepositoryCallInterceptor(repositoryName);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!AopUtils.isJdkDynamicProxy(bean));
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    // 저장소 인터페이스(Spring Data) 또는 저장소 클래스(JdbcTemplate) 이름, 대상이 아니면 null
+    private static String repositoryNameOf(Object bean) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClass(bean.getClass())) {
+            if (REPOSITORY_PACKAGE.equals(type.getPackageName())) {
+                return type.getSimpleName();
+            }
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (REPOSITORY_PACKAGE.equals(targetClass.getPackageName())) {
+            return ClassUtils.getUserClass(targetClass).getSimpleName();
+        }
+        return null;
+    }
+
+    // --- 1. 저장소 메서드 호출 ---
+    private final class RepositoryCallInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+
+        private RepositoryCallInterceptor(String repositoryName) {
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (ReflectionUtils.isObjectMethod(method)) {
+                return invocation.proceed();
+            }
+            SqlStatementTracker.Frame frame = SqlStatementTracker.begin();
+            long started = System.nanoTime();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                long nanos = System.nanoTime() - started;
+                SqlStatementTracker.end(frame);
+                RepositoryMetrics metrics = metricsProvider.getIfAvailable();
+                if (metrics != null) {
+                    metrics.record(repositoryName, method.getName(), keywordTag(method, invocation.getArguments()),
+                            nanos, failed ? -1 : rowsOf(result), frame.statements(), frame.sqls(), failed);
+                }
+            }
+        }
+    }
+
+    // 키워드 인자 유무: none(키워드 인자 없는 메서드) | empty | present
+    // 인자 이름 또는 @Param 이름에 keyword/kw 가 들어간 문자열 인자를 키워드로 본다 (빌드 시 -parameters 로 이름 보존)
+    private static String keywordTag(Method method, Object[] args) {
+        Parameter[] parameters = method.getParameters();
+        String tag = "none";
+        for (int i = 0; i < parameters.length && i < args.length; i++) {
+            if (parameters[i].getType() != String.class || !isKeywordName(parameterName(parameters[i]))) {
+                continue;
+            }
+            String value = (String) args[i];
+            if (value != null && !value.isBlank()) {
+                return "present";
+            }
+            tag = "empty";
+        }
+        return tag;
+    }
+
+    private static String parameterName(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        if (param != null) {
+            return param.value();
+        }
+        return parameter.isNamePresent() ? parameter.getName() : "";
+    }
+
+    private static boolean isKeywordName(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.contains("keyword") || lower.equals("kw");
+    }
+
+    // 반환 행 수 (목록/Page/Slice/Optional/배열/엔티티 1건), 알 수 없으면(숫자, Stream 등) -1
+    private static long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result.getClass().isArray()) {
+            return Array.getLength(result);
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+            return -1;
+        }
+        return 1;
+    }
+
+    // --- 2. DataSource: 커넥션에서 만든 문장 수를 셈 ---
+    private static DataSource countingDataSource(DataSource target) {
+        // Closeable 도 구현해서 커넥션 풀의 close(destroy) 가 그대로 불리게 함
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class, Closeable.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        if (target instanceof AutoCloseable closeable) {
+                            closeable.close();
+                        }
+                        return null;
+                    }
+                    Object result = invokeTarget(target, method, args);
+                    if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                        return proxy(Connection.class, countingConnection(connection));
+                    }
+                    return result;
+                });
+    }
+
+    private static InvocationHandler countingConnection(Connection target) {
+        return (proxy, method, args) -> {
+            String name = method.getName();
+            if ((name.equals("prepareStatement") || name.equals("prepareCall")) && args != null && args[0] instanceof String sql) {
+                SqlStatementTracker.statement(sql);
+            }
+            Object result = invokeTarget(target, method, args);
+            if (name.equals("createStatement") && result instanceof Statement statement) {
+                return proxy(Statement.class, countingStatement(statement));
+            }
+            return result;
+        };
+    }
+
+    private static InvocationHandler countingStatement(Statement target) {
+        return (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                SqlStatementTracker.statement(args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+            }
+            return invokeTarget(target, method, args);
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
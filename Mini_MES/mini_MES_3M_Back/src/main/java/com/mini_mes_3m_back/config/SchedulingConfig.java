@@ -0,0 +1,10 @@
+package com.mini_mes_3m_back.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 작업(재고 스냅샷 등) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,65 @@
+package com.mini_mes_3m_back.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 저장소 메서드 호출 한 번 동안 실행된 SQL 문 수/내용을 스레드별로 모으는 도우미
+// RepositoryInstrumentationPostProcessor 가 저장소 호출 전후로 begin/end 를 부르고, DataSource 프록시가 문장마다 statement() 를 부른다.
+// 저장소 안에서 다른 저장소를 부르면 안쪽 호출의 문장은 바깥 호출에도 합산된다.
+final class SqlStatementTracker {
+
+    private static final int MAX_SQL_PER_CALL = 5; // 느린 호출 로그에 남길 SQL 최대 개수
+
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    static final class Frame {
+        private final Frame parent;
+        private int statements;
+        private final List<String> sqls = new ArrayList<>(2);
+
+        private Frame(Frame parent) {
+            this.parent = parent;
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        List<String> sqls() {
+            return sqls;
+        }
+
+        private void add(int count, String sql) {
+            statements += count;
+            if (sql != null && sqls.size() < MAX_SQL_PER_CALL) {
+                sqls.add(sql);
+            }
+        }
+    }
+
+    private SqlStatementTracker() {
+    }
+
+    static Frame begin() {
+        Frame frame = new Frame(CURRENT.get());
+        CURRENT.set(frame);
+        return frame;
+    }
+
+    static void end(Frame frame) {
+        if (frame.parent != null) {
+            frame.parent.statements += frame.statements;
+            CURRENT.set(frame.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    // 저장소 호출 밖(서비스의 지연 로딩 등)에서 실행된 문장은 집계하지 않음
+    static void statement(String sql) {
+        Frame frame = CURRENT.get();
+        if (frame != null) {
+            frame.add(1, sql);
+        }
+    }
+}
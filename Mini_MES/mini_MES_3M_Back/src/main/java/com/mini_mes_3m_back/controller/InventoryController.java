@@ -1,12 +1,22 @@
 // src/main/java/com/mini_mes_3m_back/controller/InventoryController.java (새로 생성!)
 package com.mini_mes_3m_back.controller;
 
+import com.mini_mes_3m_back.dto.Inventory.InventoryReconciliationReportDto;
+import com.mini_mes_3m_back.dto.Inventory.RawInventoryConsistencyReportDto;
 import com.mini_mes_3m_back.dto.Inventory.RawItemInventoryResponseDto;
+import com.mini_mes_3m_back.dto.Inventory.RawItemStockAsOfResponseDto;
+import com.mini_mes_3m_back.dto.Inventory.RawStockAlertDto;
+import com.mini_mes_3m_back.service.InventoryLedgerService;
+import com.mini_mes_3m_back.service.InventoryReconciliationService;
 import com.mini_mes_3m_back.service.InventoryService;
+import com.mini_mes_3m_back.service.RawStockAlertService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,9 +24,16 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final RawStockAlertService rawStockAlertService;
+    private final InventoryReconciliationService inventoryReconciliationService;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, InventoryLedgerService inventoryLedgerService,
+                               RawStockAlertService rawStockAlertService, InventoryReconciliationService inventoryReconciliationService) {
         this.inventoryService = inventoryService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.rawStockAlertService = rawStockAlertService;
+        this.inventoryReconciliationService = inventoryReconciliationService;
     }
 
     // --- 원자재 재고 현황 조회 ---
@@ -31,4 +48,84 @@ public class InventoryController {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    // --- 특정 일자 원자재 재고 조회 (해당 일자 마감 기준) ---
+    // date 생략 시 오늘 기준
+    @GetMapping("/raw-items/{rawsItemId}/stock")
+    public ResponseEntity<RawItemStockAsOfResponseDto> getRawItemStockAsOf(
+            @PathVariable Long rawsItemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            LocalDate asOfDate = (date != null) ? date : LocalDate.now();
+            return ResponseEntity.ok(inventoryLedgerService.getStockAsOf(rawsItemId, asOfDate));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // --- 원자재 재고 현황 읽기 모델 정합성 점검 (조회만) ---
+    @GetMapping("/raw-items/read-model/check")
+    public ResponseEntity<RawInventoryConsistencyReportDto> checkReadModelConsistency() {
+        try {
+            return ResponseEntity.ok(inventoryService.checkReadModelConsistency(false));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // --- 원자재 재고 현황 읽기 모델 복구 ---
+    // 점검 후 불일치가 있으면 테이블 기준으로 다시 적재
+    @PostMapping("/raw-items/read-model/repair")
+    public ResponseEntity<RawInventoryConsistencyReportDto> repairReadModel() {
+        try {
+            return ResponseEntity.ok(inventoryService.checkReadModelConsistency(true));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // --- 원자재 재고 부족/과잉 알림 피드 ---
+    // afterId 이후 발생한 알림만 오래된 순으로 조회 (마지막으로 받은 alertId를 넘겨 이어받기)
+    @GetMapping("/alerts")
+    public ResponseEntity<List<RawStockAlertDto>> getStockAlerts(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(rawStockAlertService.getAlerts(afterId, limit));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // --- 현재 부족/과잉 상태인 원자재 목록 ---
+    @GetMapping("/alerts/active")
+    public ResponseEntity<List<RawStockAlertDto>> getActiveStockAlerts() {
+        try {
+            return ResponseEntity.ok(rawStockAlertService.getActiveAlerts());
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // --- 원자재 재고 알림 실시간 구독 (SSE) ---
+    @GetMapping(value = "/alerts/stream", produces = "text/event-stream")
+    public SseEmitter streamStockAlerts() {
+        return rawStockAlertService.subscribe();
+    }
+
+    // --- 원자재 재고 정합성 점검 (재고량 = 입고 합계 - 출고 합계) ---
+    // correct=true 이면 불일치 품목을 보정하고 조정 수불을 남김
+    @PostMapping("/reconciliation")
+    public ResponseEntity<InventoryReconciliationReportDto> reconcileInventory(
+            @RequestParam(defaultValue = "false") boolean correct) {
+        try {
+            return ResponseEntity.ok(inventoryReconciliationService.reconcile(correct));
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT); // 이미 실행 중
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.mini_mes_3m_back.controller;
+
+import com.mini_mes_3m_back.dto.Etc.RepositoryMethodMetricsDto;
+import com.mini_mes_3m_back.service.RepositoryMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 운영 지표 조회
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final RepositoryMetrics repositoryMetrics;
+
+    //1. 저장소 메서드별 지연 시간/반환 행 수/SQL 문 수
+    // GET /metrics/repository?sort=p95 (totalTime | p95 | calls | rows | statements)
+    @GetMapping("/repository")
+    public ResponseEntity<List<RepositoryMethodMetricsDto>> getRepositoryMetrics(
+            @RequestParam(defaultValue = "totalTime") String sort) {
+        try {
+            return ResponseEntity.ok(repositoryMetrics.snapshot(sort));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    //2. 통계 초기화 (튜닝 전후 비교 등)
+    @DeleteMapping("/repository")
+    public ResponseEntity<Void> resetRepositoryMetrics() {
+        repositoryMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -53,7 +53,7 @@ public class OperationController {
 
     // 3. 공정 조회 및 검색 (GET)
     @GetMapping
-    public ResponseEntity<Page<OperationResponseDto>> getProcesses(
+    public ResponseEntity<?> getProcesses(
             @RequestParam(defaultValue = "1") int page,
 
             //페이지 당 항목 수 (기본값 10)
@@ -63,9 +63,16 @@ public class OperationController {
             @RequestParam(defaultValue = "전체") String searchType,
 
             //실제 검색어 (선택 사항)
-            @RequestParam(required = false) String searchTerm
+            @RequestParam(required = false) String searchTerm,
+
+            //true 면 전체 건수(COUNT) 없이 다음 페이지 여부 + 근사 전체 건수만 (SlicePageDto, 무한 스크롤용)
+            @RequestParam(defaultValue = "false") boolean slice
     )
     {
+        if (slice) {
+            return ResponseEntity.ok(operationService.scrollProcesses(Math.max(page, 1), limit, searchType, searchTerm));
+        }
+
         // 🚨 수정된 부분: 1-base 페이지 번호를 0-base 인덱스로 변환
         int pageIndex = page - 1;
 
@@ -1,5 +1,6 @@
 package com.mini_mes_3m_back.controller;
 
+import com.mini_mes_3m_back.dto.RawItemInbound.RawInboundBatchRegisterRequestDto;
 import com.mini_mes_3m_back.dto.RawItemInbound.RawInboundRegisterRequestDto;
 import com.mini_mes_3m_back.dto.RawItemInbound.RawInboundResponseDto;
 import com.mini_mes_3m_back.dto.RawItemInbound.RawItemInboundEligibleItemDto;
@@ -49,4 +50,19 @@ public class RawItemInboundController {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    // --- 3. 원자재 품목 일괄 입고 등록 ---
+    // 여러 입고 항목을 한 트랜잭션으로 등록 (한 건이라도 실패하면 전체 취소)
+    @PostMapping("/batch")
+    public ResponseEntity<List<RawInboundResponseDto>> registerRawInboundBatch(
+            @Valid @RequestBody RawInboundBatchRegisterRequestDto request) {
+        try {
+            List<RawInboundResponseDto> response = rawItemInboundService.registerRawInboundBatch(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response); // 201 Created
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // 400 Bad Request
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
\ No newline at end of file
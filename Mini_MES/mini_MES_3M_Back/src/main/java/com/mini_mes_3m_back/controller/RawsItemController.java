@@ -90,4 +90,21 @@ public class RawsItemController {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    // --- 6. 원자재 품목 최소/최대 재고 설정 ---
+    @PatchMapping("/{rawsItemId}/stock-thresholds")
+    public ResponseEntity<RawsItemStockThresholdResponseDto> updateRawsItemStockThresholds(
+            @PathVariable Long rawsItemId,
+            @Valid @RequestBody RawsItemStockThresholdRequestDto request) {
+        try {
+            RawsItemStockThresholdResponseDto updated = rawsItemService.updateRawsItemStockThresholds(rawsItemId, request);
+            return ResponseEntity.ok(updated);
+        } catch (NoSuchElementException e) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
\ No newline at end of file
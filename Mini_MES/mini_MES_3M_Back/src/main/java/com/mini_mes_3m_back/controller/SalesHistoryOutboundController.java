@@ -1,16 +1,19 @@
 package com.mini_mes_3m_back.controller;
 
 
+import com.mini_mes_3m_back.dto.Etc.CursorPageDto;
 import com.mini_mes_3m_back.dto.SalesHistoryOutboundDto.SalesHistoryOutboundDto;
 import com.mini_mes_3m_back.dto.SalesHistoryOutboundDto.SalesHistoryOutboundUpdateDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundDetailResponseDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundUpdateRequestDto;
+import com.mini_mes_3m_back.service.CsvExportService;
 import com.mini_mes_3m_back.service.SalesHistoryOutboundService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +24,7 @@ public class SalesHistoryOutboundController {
 
     private final SalesHistoryOutboundService outboundService;
     private final SalesHistoryOutboundService salesHistoryOutboundService;
+    private final CsvExportService csvExportService;
 
     /**
      * 전체 출고 이력 조회 또는 키워드 기반 검색
@@ -37,6 +41,43 @@ public class SalesHistoryOutboundController {
         return ResponseEntity.ok(outboundHistory);
     }
 
+    /**
+     * 출고 이력 커서 조회 (출고일 최신순)
+     * GET /order/history/outbound/scroll?keyword=...&cursor=...&size=50
+     * @return 이번 페이지 목록 + 다음 페이지 커서
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<SalesHistoryOutboundDto>> scrollOutboundHistory(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(outboundService.scrollOutboundHistory(keyword, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // 잘못된 커서/크기
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 출고 이력 CSV 내보내기 (목록과 같은 keyword 조건, 전체 건)
+     * GET /order/history/outbound/export?keyword=...
+     * @param keyword 검색 키워드 (선택 사항)
+     * @return text/csv 첨부 파일 (조회하면서 바로 전송)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOutboundHistory(
+            @RequestParam(required = false) String keyword) {
+        try {
+            return CsvExportService.attachment("sales-outbound-history", csvExportService.exportSalesOutboundHistory(keyword));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // --- 출고 이력 수정 ---
     @PutMapping("/{outboundId}")
     public ResponseEntity<SalesHistoryOutboundDto> updateSalesOutbound(
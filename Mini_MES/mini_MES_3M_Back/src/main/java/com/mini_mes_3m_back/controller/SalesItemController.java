@@ -4,18 +4,25 @@ import com.mini_mes_3m_back.dto.Partner.PartnerSelectResponseDto;
 import com.mini_mes_3m_back.dto.salesItem.SalesItemDetailViewDto;
 import com.mini_mes_3m_back.dto.salesItem.SalesItemRegisterDto;
 import com.mini_mes_3m_back.dto.salesItem.SalesItemUpdateStatusRequestDto;
+import com.mini_mes_3m_back.service.CsvExportService;
+import com.mini_mes_3m_back.service.SalesItemImportService;
 import com.mini_mes_3m_back.service.SalesItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,6 +30,8 @@ import java.util.List;
 public class SalesItemController {
 
     private final SalesItemService salesItemService;
+    private final SalesItemImportService salesItemImportService;
+    private final CsvExportService csvExportService;
 
     // 1. 등록: DTO 데이터와 파일 모두 처리 (Multipart 버전 수정)
     @PostMapping(
@@ -44,12 +53,17 @@ public class SalesItemController {
 
     // 2. 목록조회 (페이지네이션 + 검색)
     // 기존 List 반환 버전 대신, Page 반환 버전을 주력으로 남깁니다.
+    // slice=true 면 전체 건수(COUNT) 없이 다음 페이지 여부 + 근사 전체 건수만 (SlicePageDto, 무한 스크롤용)
     @GetMapping
-    public ResponseEntity<Page<SalesItemDetailViewDto>> getSalesItems(
+    public ResponseEntity<?> getSalesItems(
             @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean slice) {
         Pageable pageable = PageRequest.of(page, size);
+        if (slice) {
+            return ResponseEntity.ok(salesItemService.scrollSalesItems(keyword, pageable));
+        }
         return ResponseEntity.ok(salesItemService.getSalesItems(keyword, pageable));
     }
 
@@ -90,6 +104,40 @@ public class SalesItemController {
         salesItemService.updateSalesItemActive(salesItemId, requestDto.getActive());
         return ResponseEntity.ok().build();
     }
+
+    // 7. 대량 등록 (CSV / XLSX, 품목번호가 같으면 수정)
+    // POST /sales-items/import (file, charset=UTF-8 | MS949: CSV 문자 집합)
+    // 검증에 실패한 행은 건너뛰고 결과의 errors 에 행 번호와 사유가 담긴다.
+    // 파일 중간의 형식 오류는 200 + fileError (그 앞 행은 저장됨), 400 은 머리글/파일 자체가 잘못되어 저장한 행이 없을 때만.
+    // 400 / 409 는 {"message": 사유} 로 응답 (필수 열 누락, 지원하지 않는 문자 집합, 다른 대량 등록 진행 중)
+    @PostMapping(value = "/import", consumes = { MediaType.MULTIPART_FORM_DATA_VALUE })
+    public ResponseEntity<?> importSalesItems(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "UTF-8") String charset) {
+        try {
+            return ResponseEntity.ok(salesItemImportService.importFile(file, Charset.forName(charset)));
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "지원하지 않는 문자 집합입니다: " + charset));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", Objects.requireNonNullElse(e.getMessage(), "잘못된 파일입니다.")));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 8. CSV 내보내기 (목록과 같은 keyword 조건, 거래 종료 품목 포함 전체)
+    // GET /sales-items/export?keyword=...
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSalesItems(@RequestParam(required = false) String keyword) {
+        try {
+            return CsvExportService.attachment("sales-items", csvExportService.exportSalesItems(keyword));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // 등록용: 활성 거래처만
     @GetMapping("/partners/active")
     public ResponseEntity<List<PartnerSelectResponseDto>> getActivePartners() {
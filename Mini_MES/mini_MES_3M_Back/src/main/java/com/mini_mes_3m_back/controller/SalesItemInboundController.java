@@ -1,16 +1,19 @@
 package com.mini_mes_3m_back.controller;
 
+import com.mini_mes_3m_back.dto.Etc.CursorPageDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundDetailResponseDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundHistoryResponseDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundUpdateRequestDto;
 import com.mini_mes_3m_back.dto.SalesItemInbound.SalesInboundRegisterRequestDto;
 import com.mini_mes_3m_back.dto.SalesItemInbound.SalesInboundResponseDto;
 import com.mini_mes_3m_back.dto.SalesItemInbound.SalesItemInboundListResponseDto;
+import com.mini_mes_3m_back.service.CsvExportService;
 import com.mini_mes_3m_back.service.SalesItemInboundService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,9 +22,12 @@ import java.util.List;
 public class SalesItemInboundController {
 
     private final SalesItemInboundService salesItemInboundService;
+    private final CsvExportService csvExportService;
 
-    public SalesItemInboundController(SalesItemInboundService salesItemInboundService) {
+    public SalesItemInboundController(SalesItemInboundService salesItemInboundService,
+                                      CsvExportService csvExportService) {
         this.salesItemInboundService = salesItemInboundService;
+        this.csvExportService = csvExportService;
     }
 
     // --- 1. 수주대상 품목 목록 조회 (입고 등록용) ---
@@ -61,6 +67,36 @@ public class SalesItemInboundController {
         }
     }
 
+    // --- 3-1. 입고 이력 커서 조회 (입고일 최신순) ---
+    // GET /sales-inbound/history/scroll?keyword=...&cursor=...&size=50
+    @GetMapping("/history/scroll")
+    public ResponseEntity<CursorPageDto<SalesInboundHistoryResponseDto>> scrollSalesInboundHistory(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(salesItemInboundService.scrollSalesInboundHistory(keyword, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST); // 잘못된 커서/크기
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // --- 3-2. 입고 이력 CSV 내보내기 (목록과 같은 keyword 조건, 전체 건) ---
+    // GET /sales-inbound/history/export?keyword=...
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportSalesInboundHistory(
+            @RequestParam(required = false) String keyword) {
+        try {
+            return CsvExportService.attachment("sales-inbound-history", csvExportService.exportSalesInboundHistory(keyword));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // --- 4. 입고 이력 상세 조회 --- (선택사항, 필요시 사용)
     @GetMapping("/history/{inboundId}/detail")
     public ResponseEntity<SalesInboundDetailResponseDto> getSalesInboundDetail(@PathVariable Long inboundId) {
@@ -0,0 +1,75 @@
+package com.mini_mes_3m_back.controller;
+
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesLotReservationConfirmDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesLotReservationDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesLotReserveDto;
+import com.mini_mes_3m_back.service.SalesLotReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/order/outbound/reservations")
+@RequiredArgsConstructor
+public class SalesLotReservationController {
+
+    private final SalesLotReservationService salesLotReservationService;
+
+    //1. 출고 예약 (입고 로트 수량 잡아 두기)
+    @PostMapping
+    public ResponseEntity<SalesLotReservationDto> reserve(@Valid @RequestBody SalesLotReserveDto request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(salesLotReservationService.reserve(request));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT); // 재시도 횟수 초과
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    //2. 출고 예약 확정 (출고 생성)
+    @PostMapping("/{reservationId}/confirm")
+    public ResponseEntity<SalesLotReservationDto> confirm(
+            @PathVariable Long reservationId,
+            @Valid @RequestBody SalesLotReservationConfirmDto request) {
+        try {
+            return ResponseEntity.ok(salesLotReservationService.confirm(reservationId, request));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    //3. 출고 예약 취소
+    @PatchMapping("/{reservationId}/release")
+    public ResponseEntity<SalesLotReservationDto> release(@PathVariable Long reservationId) {
+        try {
+            return ResponseEntity.ok(salesLotReservationService.release(reservationId));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    //4. 입고 로트별 예약 내역 조회
+    @GetMapping
+    public ResponseEntity<List<SalesLotReservationDto>> getReservations(@RequestParam Long inboundId) {
+        try {
+            return ResponseEntity.ok(salesLotReservationService.getReservations(inboundId));
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
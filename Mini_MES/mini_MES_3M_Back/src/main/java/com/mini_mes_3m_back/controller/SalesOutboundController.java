@@ -1,6 +1,9 @@
 package com.mini_mes_3m_back.controller;
 
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundAllocateDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundAllocationDto;
 import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundListDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundLotFilterDto;
 import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundRegDto;
 import com.mini_mes_3m_back.service.SalesOutboundService;
 import jakarta.validation.Valid;
@@ -27,18 +30,61 @@ public class SalesOutboundController {
                     .body("출고가 성공적으로 등록되었습니다.");
         }
 
+    //2. 품목 + 수량으로 출고등록 (입고 로트 FIFO 자동 할당)
+    @PostMapping("/allocate")
+    public ResponseEntity<SalesOutboundAllocationDto> allocateOutbound(@Valid @RequestBody SalesOutboundAllocateDto salesOutboundAllocateDto)
+    {
+        try {
+            SalesOutboundAllocationDto result = salesOutboundService.allocateSalesOutboundFifo(salesOutboundAllocateDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // 출고 대상 입고 리스트 조회
+    // slice=true 면 전체 건수(COUNT) 없이 다음 페이지 여부 + 근사 전체 건수만 (SlicePageDto, 무한 스크롤용)
     @GetMapping
-    public ResponseEntity<Page<SalesOutboundListDto>> getInboundList(
+    public ResponseEntity<?> getInboundList(
             @RequestParam int page,
             @RequestParam int limit,
             @RequestParam String searchType,
-            @RequestParam String searchTerm
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "false") boolean slice
     ) {
+        if (slice) {
+            return ResponseEntity.ok(salesOutboundService.scrollSalesInboundList(page, limit, searchType, searchTerm));
+        }
         Page<SalesOutboundListDto> result = salesOutboundService.getSalesInboundList(page, limit, searchType, searchTerm);
         return ResponseEntity.ok(result);
     }
 
+    // 출고 대상 입고 리스트 조건 검색 (여러 조건 동시 적용)
+    // GET /order/outbound/list/search?partnerName=삼성&receivedFrom=2025-10-01&receivedTo=2025-10-31&qtyMin=10&page=1&limit=50
+    // slice=true 면 전체 건수(COUNT) 없이 다음 페이지 여부 + 근사 전체 건수만 (SlicePageDto, 무한 스크롤용)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchInboundLots(
+            @ModelAttribute SalesOutboundLotFilterDto filter,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean slice
+    ) {
+        try {
+            if (slice) {
+                return ResponseEntity.ok(salesOutboundService.scrollShippableLots(filter, page, limit));
+            }
+            return ResponseEntity.ok(salesOutboundService.searchShippableLots(filter, page, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
 }
 
 
@@ -0,0 +1,54 @@
+package com.mini_mes_3m_back.controller;
+
+import com.mini_mes_3m_back.dto.Search.GlobalSearchResponseDto;
+import com.mini_mes_3m_back.dto.Search.SearchCacheStatsDto;
+import com.mini_mes_3m_back.service.GlobalSearchService;
+import com.mini_mes_3m_back.service.SearchResultCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 통합 검색 (거래처 / 수주품목 / 원자재 품목 / 입고 LOT / 출고 이력)
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final GlobalSearchService globalSearchService;
+    private final SearchResultCache searchResultCache;
+
+    //1. 키워드 하나로 전체 검색
+    // GET /search?keyword=도어&limit=5
+    // GET /search?keyword=2025-10 (입고/출고만 해당 월로 검색)
+    // 느린 소스는 groups[].status 가 TIMEOUT 으로 오고, 나머지 소스 결과는 그대로 온다.
+    @GetMapping
+    public ResponseEntity<GlobalSearchResponseDto> search(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(globalSearchService.search(keyword, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE); // 동시 통합 검색 수 초과
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    //2. 검색 결과 캐시 적중/미스 통계 (조회 종류별)
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<SearchCacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(searchResultCache.getStats());
+    }
+
+    //3. 검색 결과 캐시 비우기 (DB 를 직접 수정한 뒤 등)
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        searchResultCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
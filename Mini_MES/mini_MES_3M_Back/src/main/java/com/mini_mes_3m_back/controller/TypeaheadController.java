@@ -0,0 +1,51 @@
+package com.mini_mes_3m_back.controller;
+
+import com.mini_mes_3m_back.dto.Etc.TypeaheadSuggestionDto;
+import com.mini_mes_3m_back.service.TypeaheadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 수주품목 / 거래처 / 원자재 품목 자동완성
+// type: sales-items | partners | raws-items
+@RestController
+@RequestMapping("/typeahead")
+@RequiredArgsConstructor
+public class TypeaheadController {
+
+    private final TypeaheadService typeaheadService;
+
+    //1. 입력 중인 문자열로 추천 목록 조회
+    // GET /typeahead/sales-items?q=도어&limit=10
+    // GET /typeahead/partners?q=삼&partnerType=customer
+    @GetMapping("/{type}")
+    public ResponseEntity<List<TypeaheadSuggestionDto>> suggest(
+            @PathVariable String type,
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false) String partnerType,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(typeaheadService.suggest(type, q, partnerType, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    //2. 추천 항목 선택 기록 (다음 추천 순위에 반영)
+    @PostMapping("/{type}/{id}/select")
+    public ResponseEntity<Void> recordSelection(@PathVariable String type, @PathVariable Long id) {
+        try {
+            typeaheadService.recordSelection(type, id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.mini_mes_3m_back.dto.Etc;
+
+import lombok.*;
+
+import java.util.List;
+
+// 커서(keyset) 방식 목록 응답
+// 다음 페이지는 nextCursor 를 그대로 cursor 파라미터로 넘겨서 조회한다. (마지막 페이지면 null)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
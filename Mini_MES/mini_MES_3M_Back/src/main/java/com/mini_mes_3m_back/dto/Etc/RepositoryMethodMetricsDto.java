@@ -0,0 +1,30 @@
+package com.mini_mes_3m_back.dto.Etc;
+
+import lombok.*;
+
+import java.util.Map;
+
+// 저장소 메서드별 호출 통계 (/metrics/repository)
+// 시간은 ms, 백분위수는 히스토그램 구간 상한값(근사)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepositoryMethodMetricsDto {
+    private String repository;                  // 저장소 이름 (SalesItemRepository 등)
+    private String method;                      // 메서드 이름
+    private String keyword;                     // 키워드 인자: none(없음) | empty(비어 있음) | present(있음)
+    private long calls;
+    private long errors;
+    private double totalMillis;
+    private double avgMillis;
+    private double maxMillis;
+    private long p50Millis;
+    private long p95Millis;
+    private long p99Millis;
+    private Map<String, Long> latencyHistogram; // "<=10ms" -> 건수
+    private double avgRows;                     // 돌려준 행 수 (목록/Page/Optional 기준)
+    private long maxRows;
+    private double avgStatements;               // 호출 한 번에 실행된 SQL 문 수
+    private long maxStatements;
+}
@@ -0,0 +1,23 @@
+package com.mini_mes_3m_back.dto.Etc;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// 전체 건수(COUNT) 없이 "다음 페이지 있음" 만 알려주는 목록 응답 (무한 스크롤용)
+// 전체 건수가 필요하면 approximateTotal 을 참고한다. 백그라운드에서 주기적으로 다시 세는 근사값이며,
+// 같은 조건으로 처음 조회했을 때는 아직 세는 중이라 null 이다.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlicePageDto<T> {
+    private List<T> items;
+    private int page;                           // 요청한 페이지 (요청과 같은 기준: 1-base 또는 0-base)
+    private int size;
+    private boolean hasNext;
+    private Long approximateTotal;              // 근사 전체 건수 (없으면 null)
+    private OffsetDateTime approximateTotalAt;  // 근사 전체 건수를 센 시각
+}
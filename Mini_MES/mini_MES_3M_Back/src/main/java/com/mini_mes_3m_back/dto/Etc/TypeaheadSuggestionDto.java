@@ -0,0 +1,17 @@
+package com.mini_mes_3m_back.dto.Etc;
+
+import lombok.*;
+
+// 자동완성 추천 한 건 (수주품목 / 거래처 / 원자재 품목 공통)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TypeaheadSuggestionDto {
+    private String type;       // sales-items | partners | raws-items
+    private Long id;           // 선택 시 상세 조회/등록에 쓰는 ID
+    private String code;       // 품목번호 (거래처는 사업자등록번호)
+    private String label;      // 품목명 / 업체명
+    private String subLabel;   // 거래처명 / 매입처명 (거래처는 거래처 구분)
+    private Boolean active;    // 거래 상태
+}
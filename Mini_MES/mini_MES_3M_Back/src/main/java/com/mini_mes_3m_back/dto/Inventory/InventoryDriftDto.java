@@ -0,0 +1,23 @@
+package com.mini_mes_3m_back.dto.Inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 품목 하나의 재고 불일치 내역 (재고량 또는 로트 잔여 합계 ≠ 입고 합계 - 출고 합계)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryDriftDto {
+    private Long rawsItemId;
+    private Long inventoryQty;  // inventory.qty (재고 행이 없으면 null)
+    private Long inboundQty;    // 취소되지 않은 입고 수량 합계
+    private Long outboundQty;   // 출고 수량 합계
+    private Long expectedQty;   // 입고 합계 - 출고 합계
+    private Long drift;         // inventoryQty - expectedQty
+    private Boolean corrected;  // 보정 실행 시 보정되었는지 (재고량만 보정)
+    private Long lotRemainingQty; // 취소되지 않은 입고 로트의 잔여 수량 합계 (FEFO 출고 기준)
+    private Long lotDrift;        // lotRemainingQty - expectedQty (자동 보정하지 않음, 0 이 아니면 로트 점검 필요)
+}
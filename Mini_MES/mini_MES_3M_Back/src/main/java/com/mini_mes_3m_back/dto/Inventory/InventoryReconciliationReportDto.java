@@ -0,0 +1,26 @@
+package com.mini_mes_3m_back.dto.Inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// 재고 정합성 점검(입고/출고 합계 vs inventory.qty) 결과
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryReconciliationReportDto {
+    private OffsetDateTime startedAt;
+    private Long elapsedMillis;
+    private Integer parallelism;        // 동시에 집계한 작업 수
+    private Integer chunks;             // PK 구간(청크) 수
+    private Integer itemsChecked;       // 점검한 품목 수
+    private Integer driftCount;         // 불일치 품목 수 (재고량 불일치)
+    private Integer lotDriftCount;      // 로트 잔여 합계가 맞지 않는 품목 수 (보정 대상 아님)
+    private Integer correctedCount;     // 보정한 품목 수 (correct=false 이면 0)
+    private List<InventoryDriftDto> drifts;
+}
@@ -0,0 +1,25 @@
+package com.mini_mes_3m_back.dto.Inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// 원자재 재고 읽기 모델 ↔ inventory 테이블 정합성 점검 결과
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawInventoryConsistencyReportDto {
+    private OffsetDateTime checkedAt;
+    private Integer tableRows;               // 테이블 기준 행 수
+    private Integer modelRows;               // 읽기 모델 행 수
+    private List<Long> missingRawsItemIds;   // 테이블에는 있는데 읽기 모델에 없는 품목
+    private List<Long> staleRawsItemIds;     // 값(재고량, 품목/매입처 정보)이 다른 품목
+    private List<Long> extraRawsItemIds;     // 읽기 모델에만 있는 품목
+    private Boolean consistent;
+    private Boolean repaired;                // repair 요청 시 테이블 기준으로 다시 적재했는지
+}
@@ -0,0 +1,39 @@
+package com.mini_mes_3m_back.dto.Inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 원자재 재고 읽기 모델 한 행 (재고 + 품목 + 매입처를 평탄화한 값, 불변)
+@Getter
+@AllArgsConstructor
+public class RawInventoryRowDto {
+    private final Long inventoryId;
+    private final Long rawsItemId;
+    private final Long supplierId;
+    private final String supplierName;
+    private final Boolean supplierActive;
+    private final String itemCode;
+    private final String itemName;
+    private final String spec;
+    private final String manufacturer;
+    private final Boolean itemActive;
+    private final Integer qty;
+    private final Integer minStockQty; // 최소 재고 (재주문점)
+    private final Integer maxStockQty; // 최대 재고
+
+    // 거래 중인 품목 + 매입처만 화면에 노출
+    public boolean isVisible() {
+        return Boolean.TRUE.equals(itemActive) && Boolean.TRUE.equals(supplierActive);
+    }
+
+    // 매입처명, 품목 번호, 품목명 부분 일치 (대소문자 무시)
+    public boolean matches(String lowerKeyword) {
+        return containsIgnoreCase(supplierName, lowerKeyword)
+                || containsIgnoreCase(itemCode, lowerKeyword)
+                || containsIgnoreCase(itemName, lowerKeyword);
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerKeyword) {
+        return value != null && value.toLowerCase().contains(lowerKeyword);
+    }
+}
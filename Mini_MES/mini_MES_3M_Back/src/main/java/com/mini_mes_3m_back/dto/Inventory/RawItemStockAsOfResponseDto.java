@@ -0,0 +1,20 @@
+package com.mini_mes_3m_back.dto.Inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawItemStockAsOfResponseDto {
+    private Long rawsItemId; // 원자재 품목 ID
+    private String itemCode; // 품목 번호
+    private String itemName; // 품목명
+    private LocalDate asOfDate; // 조회 기준 일자 (해당 일자 마감 기준)
+    private Integer qty; // 기준 일자 재고량
+}
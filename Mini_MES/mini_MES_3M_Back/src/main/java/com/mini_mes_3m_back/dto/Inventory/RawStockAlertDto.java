@@ -0,0 +1,25 @@
+package com.mini_mes_3m_back.dto.Inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawStockAlertDto {
+    private Long alertId;          // 알림 순번 (피드 이어받기용, 증가만 함)
+    private Long rawsItemId;       // 원자재 품목 ID
+    private String supplierName;   // 매입처명
+    private String itemCode;       // 품목 번호
+    private String itemName;       // 품목명
+    private String level;          // LOW(부족) / OVER(과잉) / NORMAL(정상 복귀)
+    private Integer qty;           // 알림 시점 재고량
+    private Integer minStockQty;   // 최소 재고 (재주문점)
+    private Integer maxStockQty;   // 최대 재고
+    private OffsetDateTime occurredAt;
+}
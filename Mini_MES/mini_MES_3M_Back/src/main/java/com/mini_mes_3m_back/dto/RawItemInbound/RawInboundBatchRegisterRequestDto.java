@@ -0,0 +1,19 @@
+package com.mini_mes_3m_back.dto.RawItemInbound;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawInboundBatchRegisterRequestDto {
+    @NotEmpty(message = "입고 항목은 1건 이상이어야 합니다.")
+    private List<@Valid RawInboundRegisterRequestDto> lines; // 한 번에 입고할 항목들 (예: 트럭 1대분)
+}
@@ -0,0 +1,20 @@
+package com.mini_mes_3m_back.dto.RawOutbound;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawOutboundLotDto {
+    private Long rawInboundId;
+    private String rawInboundNum;         // 입고 번호 (로트)
+    private LocalDate manufacturingDate;  // 제조 일자
+    private Integer qty;                  // 이 로트에서 차감한 수량
+    private Integer remainingQty;         // 차감 후 로트 잔여 수량
+}
@@ -7,6 +7,7 @@ import lombok.Setter;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.List;
 
 @Getter
 @Setter
@@ -20,4 +21,5 @@ public class RawOutboundResponseDto {
     private Integer qty;
     private LocalDate outboundDate;
     private OffsetDateTime createdAt;
+    private List<RawOutboundLotDto> lots; // 차감된 입고 로트 (제조일자 순)
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.mini_mes_3m_back.dto.RawsItem;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawsItemStockThresholdRequestDto {
+    @Min(value = 0, message = "최소 재고는 0 이상이어야 합니다.")
+    private Integer minStockQty; // 최소 재고 (재주문점), null 이면 부족 알림 사용 안 함
+
+    @Min(value = 0, message = "최대 재고는 0 이상이어야 합니다.")
+    private Integer maxStockQty; // 최대 재고, null 이면 과잉 알림 사용 안 함
+}
@@ -0,0 +1,18 @@
+package com.mini_mes_3m_back.dto.RawsItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawsItemStockThresholdResponseDto {
+    private Long rawsItemId;
+    private String itemCode;
+    private String itemName;
+    private Integer minStockQty; // 최소 재고 (재주문점)
+    private Integer maxStockQty; // 최대 재고
+}
@@ -0,0 +1,21 @@
+package com.mini_mes_3m_back.dto.SalesOutbound;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 출고 예약 확정 요청
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class SalesLotReservationConfirmDto {
+    @NotNull(message = "출고 일자는 필수입니다.")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate shippedAt;
+}
@@ -0,0 +1,40 @@
+package com.mini_mes_3m_back.dto.SalesOutbound;
+
+import com.mini_mes_3m_back.entity.SalesLotReservation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class SalesLotReservationDto {
+    private Long reservationId;
+    private Long inboundId;
+    private String inboundLOTNum;     // 예약한 입고 로트 번호
+    private Integer qty;              // 예약 수량
+    private String status;            // HELD / CONFIRMED / RELEASED / EXPIRED
+    private OffsetDateTime expiresAt;
+    private LocalDate shippedAt;      // 확정 시 출고 일자
+    private String outboundOUTNum;    // 확정 시 생성된 출고 문서번호
+    private Integer availableQty;     // 처리 후 로트의 출고 가능 수량 (잔여 - 예약)
+
+    public static SalesLotReservationDto from(SalesLotReservation r) {
+        return SalesLotReservationDto.builder()
+                .reservationId(r.getReservationId())
+                .inboundId(r.getInbound().getInboundId())
+                .inboundLOTNum(r.getInbound().getInboundLOTNum())
+                .qty(r.getQty())
+                .status(r.getStatus().name())
+                .expiresAt(r.getExpiresAt())
+                .shippedAt(r.getShippedAt())
+                .outboundOUTNum(r.getOutbound() != null ? r.getOutbound().getOutboundOUTNum() : null)
+                .availableQty(r.getInbound().getRemainingQty() - r.getInbound().getReservedQty())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.mini_mes_3m_back.dto.SalesOutbound;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 입고 로트 출고 예약 요청
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class SalesLotReserveDto {
+    @NotNull(message = "입고 항목 ID는 필수입니다.")
+    private Long inboundId;           // 예약할 입고 로트 ID
+
+    @NotNull(message = "예약 수량은 필수입니다.")
+    @Min(value = 1, message = "예약 수량은 1개 이상이어야 합니다.")
+    private Integer qty;              // 예약 수량
+
+    @Min(value = 1, message = "예약 유지 시간은 1분 이상이어야 합니다.")
+    private Integer holdMinutes;      // 예약 유지 시간 (분), 생략 시 기본값
+}
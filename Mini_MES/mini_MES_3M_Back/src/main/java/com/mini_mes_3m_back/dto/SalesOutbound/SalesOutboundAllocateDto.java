@@ -0,0 +1,29 @@
+package com.mini_mes_3m_back.dto.SalesOutbound;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 품목 + 수량만으로 출고 등록 (입고 로트는 입고일 순 FIFO 자동 할당)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class SalesOutboundAllocateDto {
+    @NotNull(message = "수주 품목 ID는 필수입니다.")
+    private Long salesItemId;         // 출고 대상 수주 품목 ID
+
+    @NotNull(message = "출고 수량은 필수입니다.")
+    @Min(value = 1, message = "출고 수량은 1개 이상이어야 합니다.")
+    private Integer qty;              // 총 출고 수량
+
+    @NotNull(message = "출고 일자는 필수입니다.")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate shippedAt;
+}
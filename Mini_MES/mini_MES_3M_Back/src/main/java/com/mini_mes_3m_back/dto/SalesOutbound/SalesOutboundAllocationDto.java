@@ -0,0 +1,31 @@
+package com.mini_mes_3m_back.dto.SalesOutbound;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// FIFO 출고 할당 결과
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class SalesOutboundAllocationDto {
+    private Long salesItemId;
+    private Integer totalQty;          // 출고된 총 수량
+    private List<LotAllocation> lots;  // 로트별 출고 내역 (입고일 순)
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @Data
+    public static class LotAllocation {
+        private Long inboundId;
+        private String inboundLOTNum;  // 출고된 입고 로트 번호
+        private String outboundOUTNum; // 생성된 출고 문서번호
+        private Integer qty;           // 해당 로트에서 출고한 수량
+        private Integer remainingQty;  // 출고 후 로트 잔여 수량
+    }
+}
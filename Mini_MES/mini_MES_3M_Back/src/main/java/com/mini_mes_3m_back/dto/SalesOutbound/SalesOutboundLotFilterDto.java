@@ -0,0 +1,31 @@
+package com.mini_mes_3m_back.dto.SalesOutbound;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// 출고 대상 입고 로트 검색 조건 (비어 있는 항목은 조건에서 제외, 채워진 항목은 모두 AND)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class SalesOutboundLotFilterDto {
+    private String partnerName;         // 거래처명 (부분 일치)
+    private String itemCode;            // 품목 번호 (부분 일치)
+    private String itemName;            // 품목명 (부분 일치)
+    private String lotNum;              // LOT 번호 (부분 일치)
+    private String lotFrom;             // LOT 번호 범위 시작 (포함, 예: LOT-20251001-001)
+    private String lotTo;               // LOT 번호 범위 끝 (포함)
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate receivedFrom;     // 입고일자 시작 (포함)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate receivedTo;       // 입고일자 끝 (포함)
+
+    private Integer qtyMin;             // 입고수량 최소 (포함)
+    private Integer qtyMax;             // 입고수량 최대 (포함)
+}
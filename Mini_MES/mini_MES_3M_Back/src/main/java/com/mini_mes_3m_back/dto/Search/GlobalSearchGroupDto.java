@@ -0,0 +1,17 @@
+package com.mini_mes_3m_back.dto.Search;
+
+import lombok.*;
+
+import java.util.List;
+
+// 통합 검색 결과 - 검색 대상(소스)별 묶음
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GlobalSearchGroupDto {
+    private String source;
+    private String status;          // OK | TIMEOUT | ERROR (TIMEOUT/ERROR 면 hits 는 비어 있음)
+    private long elapsedMillis;     // 이 소스 검색에 걸린 시간
+    private List<GlobalSearchHitDto> hits;
+}
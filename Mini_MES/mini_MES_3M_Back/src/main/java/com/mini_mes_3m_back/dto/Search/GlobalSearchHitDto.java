@@ -0,0 +1,20 @@
+package com.mini_mes_3m_back.dto.Search;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+// 통합 검색 결과 한 건
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GlobalSearchHitDto {
+    private String source;     // partners | sales-items | raws-items | sales-inbounds | sales-outbounds
+    private Long id;           // 해당 화면의 상세 조회 ID
+    private String code;       // 품목번호 / LOT 번호 / OUT 번호 / 사업자등록번호
+    private String title;      // 품목명 / 업체명
+    private String subtitle;   // 거래처명 / 매입처명 등 보조 표시
+    private LocalDate date;    // 입고일 / 출고일 (해당 없으면 null)
+    private double score;      // 관련도 (1.0 = 필드 전체 일치)
+}
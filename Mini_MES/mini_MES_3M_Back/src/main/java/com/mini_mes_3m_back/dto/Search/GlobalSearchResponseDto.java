@@ -0,0 +1,17 @@
+package com.mini_mes_3m_back.dto.Search;
+
+import lombok.*;
+
+import java.util.List;
+
+// 통합 검색 응답: 전체 관련도 상위 + 소스별 상위
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GlobalSearchResponseDto {
+    private String keyword;
+    private long elapsedMillis;
+    private List<GlobalSearchHitDto> topHits;   // 모든 소스를 합쳐 관련도 순
+    private List<GlobalSearchGroupDto> groups;  // 소스별 결과 (항상 5개, 고정 순서)
+}
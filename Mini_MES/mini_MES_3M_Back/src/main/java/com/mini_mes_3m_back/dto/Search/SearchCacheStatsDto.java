@@ -0,0 +1,18 @@
+package com.mini_mes_3m_back.dto.Search;
+
+import lombok.*;
+
+// 검색 결과 캐시 통계 - 조회 종류별
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchCacheStatsDto {
+    private String kind;            // SearchResultCache.Kind
+    private int entries;            // 현재 캐시된 건수
+    private long hits;
+    private long misses;
+    private double hitRatio;        // hits / (hits + misses)
+    private long invalidations;     // 변경 이벤트로 비운 횟수
+    private long evictions;         // 크기 상한으로 밀려난 건수 (전체 합계)
+}
@@ -0,0 +1,28 @@
+package com.mini_mes_3m_back.dto.salesItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 수주품목 목록 조회용 평탄화 행 (품목 + 거래처 ID + 공정 한 단계, 불변)
+// 공정이 없는 품목은 공정 값이 모두 null 인 한 행으로 온다.
+@Getter
+@AllArgsConstructor
+public class SalesItemDetailRowDto {
+    private final Long salesItemId;
+    private final Long partnerId;
+    private final String partnerName;
+    private final String itemCode;
+    private final String itemName;
+    private final Integer price;
+    private final String color;
+    private final String classification;
+    private final String coatingMethod;
+    private final String remark;
+    private final Boolean active;
+    private final String imagePath;
+    private final Long operationId;
+    private final String operationCode;
+    private final String operationName;
+    private final String operationDescription;
+    private final Integer standardTime;
+}
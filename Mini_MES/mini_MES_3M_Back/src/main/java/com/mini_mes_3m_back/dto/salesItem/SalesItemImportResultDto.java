@@ -0,0 +1,22 @@
+package com.mini_mes_3m_back.dto.salesItem;
+
+import lombok.*;
+
+import java.util.List;
+
+// 수주품목 대량 등록 결과 (POST /sales-items/import)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesItemImportResultDto {
+    private int totalRows;            // 읽은 데이터 행 수 (머리글, 빈 행 제외)
+    private int inserted;             // 새로 등록한 품목
+    private int updated;              // 품목번호가 같아 수정한 품목
+    private int routingsChanged;      // 공정 순서를 새로 저장한 품목
+    private int failed;               // 검증 실패 행
+    private List<SalesItemImportRowErrorDto> errors; // 실패 행 (앞에서부터 최대 1000건)
+    private boolean errorsTruncated;  // 실패 행이 더 있으면 true
+    private String fileError;         // 파일 중간에서 읽기를 멈춘 사유 (끝까지 읽었으면 null, 그 앞의 행은 위 건수대로 저장됨)
+    private long elapsedMillis;
+}
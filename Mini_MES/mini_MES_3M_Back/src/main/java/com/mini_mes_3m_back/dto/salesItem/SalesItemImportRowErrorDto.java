@@ -0,0 +1,14 @@
+package com.mini_mes_3m_back.dto.salesItem;
+
+import lombok.*;
+
+// 수주품목 대량 등록 - 등록하지 못한 행
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesItemImportRowErrorDto {
+    private int row;          // 파일 기준 행 번호 (머리글 포함, 1부터)
+    private String itemCode;  // 품목번호 (읽을 수 있었으면)
+    private String message;   // 사유
+}
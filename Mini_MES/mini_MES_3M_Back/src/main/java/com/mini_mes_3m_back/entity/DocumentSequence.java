@@ -0,0 +1,27 @@
+package com.mini_mes_3m_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+// 문서번호(LOT/MINC/MOUT/OUT) 발번용 시퀀스 테이블
+// 접두어 + 일자 단위(예: LOT-20251018)로 한 행씩 관리하며, 서버는 블록 단위로 번호를 선점해 메모리에서 나눠준다.
+@Entity
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+@Table(name = "document_sequences")
+public class DocumentSequence {
+
+    @Id
+    @Column(name = "seq_key", length = 40)
+    private String seqKey; // 접두어 + 일자 (예: LOT-20251018)
+
+    @Column(nullable = false)
+    private Long lastValue; // 지금까지 블록으로 선점된 마지막 번호
+
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() { updatedAt = OffsetDateTime.now(); }
+}
@@ -25,6 +25,12 @@ public class Inventory {
 
     private OffsetDateTime updatedAt; // updatedAt만 필요 (createdAt은 Inventory 생성 시 한 번만)
 
+    // 낙관적 잠금 버전: 엔티티를 읽어서 저장하는 경로가 원자적 증감 쿼리(InventoryRepository)와 겹치면 덮어쓰지 않고 실패하도록
+    // 원자적 증감 쿼리도 version을 함께 올린다.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // @PrePersist는 필요에 따라. Inventory는 RawsItem이 생성될 때 같이 생성되거나, 첫 입고 시 생성되는 로직 필요
     // 여기서는 @PrePersist에서 updatedAt만 설정하도록 할게
     @PrePersist
@@ -0,0 +1,58 @@
+package com.mini_mes_3m_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+// 원자재 재고 수불 원장 (추가만 하고 수정/삭제하지 않음)
+// 입고/출고/조정이 일어날 때마다 한 행씩 기록하고, 특정 일자 재고는 스냅샷 + 이후 수불 합계로 계산한다.
+@Entity
+@Immutable
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Table(name = "inventory_movements", indexes = {
+        @Index(name = "idx_inventory_movements_item_date", columnList = "raws_item_id, movement_date"),
+        @Index(name = "idx_inventory_movements_created_at", columnList = "created_at")
+})
+public class InventoryMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long movementId;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "raws_item_id", nullable = false)
+    private RawsItem rawsItem;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MovementType movementType;
+
+    @Column(nullable = false)
+    private Integer qty; // 부호 있는 증감 수량 (입고 +, 출고 -)
+
+    private Integer balanceAfter; // 반영 직후 재고 (기록 시점 기준, 참고용)
+
+    @Column(nullable = false)
+    private LocalDate movementDate; // 업무 기준 일자 (입고일자 / 출고일자)
+
+    @Column(length = 40)
+    private String documentNum; // 근거 문서번호 (MINC-..., MOUT-...)
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() { createdAt = OffsetDateTime.now(); }
+
+    public enum MovementType {
+        INBOUND,    // 입고
+        OUTBOUND,   // 출고
+        ADJUSTMENT  // 재고 조정 (기초 재고, 실사 보정 등)
+    }
+}
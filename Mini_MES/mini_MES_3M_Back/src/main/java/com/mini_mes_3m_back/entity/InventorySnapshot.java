@@ -0,0 +1,36 @@
+package com.mini_mes_3m_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+// 품목별 일자 마감 재고 스냅샷 (snapshotDate 일자까지의 수불이 모두 반영된 재고)
+// 특정 일자 재고 조회 시 가장 가까운 이전 스냅샷 + 그 이후 수불만 더하면 되도록 주기적으로 만든다.
+@Entity
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+@Table(name = "inventory_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inventory_snapshots_item_date", columnNames = {"raws_item_id", "snapshot_date"})
+})
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long snapshotId;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "raws_item_id", nullable = false)
+    private RawsItem rawsItem;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate; // 마감 기준 일자
+
+    @Column(nullable = false)
+    private Integer qty; // snapshotDate 일자 마감 재고
+
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() { createdAt = OffsetDateTime.now(); }
+}
@@ -1,5 +1,7 @@
 package com.mini_mes_3m_back.entity;
 
+import com.mini_mes_3m_back.event.SearchIndexEntityListener;
+import com.mini_mes_3m_back.util.HangulChosung;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +11,7 @@ import java.time.OffsetDateTime;
 @Entity
 @Getter
 @Setter
+@EntityListeners(SearchIndexEntityListener.class) // 키워드 검색 색인 갱신
 @Table(name = "partners")
 public class Partner {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +23,10 @@ public class Partner {
     @Column(nullable=false, length=50)
     private String name;
 
+    // 업체명 초성 (저장 시 자동 계산, HangulChosung)
+    @Column(name = "name_chosung", length = 50)
+    private String nameChosung;
+
     private String brNum;
     private String bossName;
     private String bossPhone;
@@ -39,10 +46,12 @@ public class Partner {
     public void prePersist(){
         createdAt = OffsetDateTime.now();
         updatedAt = createdAt;
+        nameChosung = HangulChosung.toChosung(name);
     }
     @PreUpdate
     public void preUpdate(){
         updatedAt = OffsetDateTime.now();
+        nameChosung = HangulChosung.toChosung(name);
     }
 
 }
\ No newline at end of file
@@ -13,7 +13,10 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor // Lombok NoArgsConstructor 유지
 @AllArgsConstructor // Lombok AllArgsConstructor 유지
 @Builder // Lombok Builder 유지
-@Table(name = "raw_inbound")
+@Table(name = "raw_inbound", indexes = {
+        // 출고 가능 로트를 품목별 제조일자 순(FEFO)으로 읽기 위한 인덱스
+        @Index(name = "idx_raw_inbound_open_lots", columnList = "raws_item_id, is_outbound_processed, manufacturing_date")
+})
 public class RawInbound {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,6 +38,10 @@ public class RawInbound {
     @Column(nullable = false)
     private LocalDate manufacturingDate;
 
+    // 로트 잔여 수량 (출고 시 제조일자가 오래된 로트부터 차감, 0이 되면 isOutboundProcessed = true)
+    // 기존 데이터는 컬럼 추가 직후 null 이며, 서버 기동 시 재고 수량 기준으로 채워진다.
+    private Integer remainingQty;
+
     // --- 필드 초기화를 여기서 강제! ---
     @Column(name = "is_cancelled", nullable = false)
     @Builder.Default // Builder 사용시 false로 기본값 설정 (매우 중요)
@@ -63,6 +70,9 @@ public class RawInbound {
         if (this.isOutboundProcessed == null) { // this.isOutboundProcessed가 null이면
             this.isOutboundProcessed = false; // false로 강제 설정
         }
+        if (this.remainingQty == null) { // 신규 입고 시 잔여 수량 = 입고 수량
+            this.remainingQty = this.qty;
+        }
     }
 
     @PreUpdate
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.*; // Lombok import 추가!
 
 import java.time.OffsetDateTime;
-import java.time.LocalDate; // 출고 일자 (shippedAt)는 LocalDate로 사용하는 것이 일반적!
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List; // 출고 일자 (shippedAt)는 LocalDate로 사용하는 것이 일반적!
 
 @Entity
 @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor // Lombok 어노테이션 추가
@@ -31,6 +33,11 @@ public class RawOutbound {
     private OffsetDateTime createdAt;
     // private OffsetDateTime updatedAt;
 
+    // 이 출고가 차감한 입고 로트 내역 (추적용)
+    @OneToMany(mappedBy = "rawOutbound")
+    @Builder.Default
+    private List<RawOutboundLot> lots = new ArrayList<>();
+
 
     @PrePersist
     public void prePersist() {
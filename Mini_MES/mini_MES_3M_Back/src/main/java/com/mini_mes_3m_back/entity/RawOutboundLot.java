@@ -0,0 +1,29 @@
+package com.mini_mes_3m_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 원자재 출고 1건이 어느 입고 로트에서 얼마를 차감했는지 (로트 추적용)
+@Entity
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+@Table(name = "raw_outbound_lots", indexes = {
+        @Index(name = "idx_raw_outbound_lots_outbound", columnList = "raw_outbound_id"),
+        @Index(name = "idx_raw_outbound_lots_inbound", columnList = "raw_inbound_id")
+})
+public class RawOutboundLot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rawOutboundLotId;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "raw_outbound_id", nullable = false)
+    private RawOutbound rawOutbound;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "raw_inbound_id", nullable = false)
+    private RawInbound rawInbound;
+
+    @Column(nullable = false)
+    private Integer qty; // 해당 로트에서 차감한 수량
+}
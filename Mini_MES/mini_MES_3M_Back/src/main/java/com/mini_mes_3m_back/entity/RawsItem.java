@@ -1,6 +1,8 @@
 // src/main/java/com/mini_mes_3m_back/entity/RawsItem.java (미누 엔티티 최종 확정 및 Builder 추가)
 package com.mini_mes_3m_back.entity;
 
+import com.mini_mes_3m_back.event.SearchIndexEntityListener;
+import com.mini_mes_3m_back.util.HangulChosung;
 import jakarta.persistence.*;
 import lombok.*; // Lombok Builder 추가
 
@@ -11,6 +13,7 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor // Lombok NoArgsConstructor 유지 (기본 생성자 대체)
 @AllArgsConstructor // Lombok AllArgsConstructor 유지 (필드들을 사용하는 생성자 대체)
 @Builder // Builder 패턴 추가!
+@EntityListeners(SearchIndexEntityListener.class) // 키워드 검색 색인 갱신
 @Table(name = "raws_items")
 public class RawsItem {
     @Id
@@ -23,6 +26,9 @@ public class RawsItem {
     @Column(nullable = false) // 품목명은 필수
     private String itemName; // 품목명
 
+    @Column(name = "item_name_chosung")
+    private String itemNameChosung; // 품목명 초성 (저장 시 자동 계산, HangulChosung)
+
     private String classification; // 분류 (페인트, 신나 등)
 
     private String color; // 색상
@@ -33,6 +39,9 @@ public class RawsItem {
     private String manufacturer; // 제조사
     private String remark; // 비고
 
+    private Integer minStockQty; // 최소 재고 (재주문점). 재고가 이 값 이하가 되면 부족 알림, null 이면 미사용
+    private Integer maxStockQty; // 최대 재고. 재고가 이 값을 넘으면 과잉 알림, null 이면 미사용
+
     @ManyToOne(fetch = FetchType.LAZY) // 매입처 (Partner 엔티티와의 관계)
     @JoinColumn(name = "supplier_id", nullable = false) // 매입처는 필수
     private Partner supplier; // 매입처
@@ -51,6 +60,7 @@ public class RawsItem {
         if (updatedAt == null) { // updatedAt이 이미 설정되어 있지 않다면 (새로운 엔티티일 경우)
             updatedAt = createdAt;
         }
+        itemNameChosung = HangulChosung.toChosung(itemName);
         if (this.active == null) { // 혹시 Builder나 생성자를 통해 null이 들어올 경우를 대비한 최종 방어 로직
             this.active = true;
         }
@@ -59,6 +69,7 @@ public class RawsItem {
     @PreUpdate
     public void preUpdate(){
         updatedAt = OffsetDateTime.now(); // 업데이트 시 updatedAt 변경
+        itemNameChosung = HangulChosung.toChosung(itemName);
         if (this.active == null) { // 혹시 업데이트 과정에서 null이 될 경우를 대비
             this.active = true;
         }
@@ -1,6 +1,7 @@
 // src/main/java/com/mini_mes_3m_back/entity/SalesInbound.java (수정!)
 package com.mini_mes_3m_back.entity;
 
+import com.mini_mes_3m_back.event.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault; // 이 부분 import 추가!
@@ -10,7 +11,15 @@ import java.time.LocalDate;
 
 @Entity
 @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
-@Table(name = "sales_inbound")
+@EntityListeners(SearchIndexEntityListener.class) // 키워드 검색 색인 갱신
+@Table(name = "sales_inbound", indexes = {
+        // 출고 가능한(미취소, 미출고완료) 로트를 품목별 입고일 순(FIFO)으로 읽기 위한 인덱스
+        @Index(name = "idx_sales_inbound_open_lots", columnList = "item_id, is_cancelled, is_outbound_processed, received_at"),
+        // 입고 이력 입고일자 범위 검색용
+        @Index(name = "idx_sales_inbound_received", columnList = "is_cancelled, received_at"),
+        // 출고 대상 로트 조건 검색 (미취소, 미출고완료 로트를 입고일 최신순으로)
+        @Index(name = "idx_sales_inbound_shippable", columnList = "is_cancelled, is_outbound_processed, received_at")
+})
 public class SalesInbound {
 
     @Id
@@ -34,6 +43,16 @@ public class SalesInbound {
     @Column(nullable = false)
     private Integer remainingQty;
 
+    // 출고 예약(HELD)으로 잡혀 있는 수량. 출고 가능 수량 = remainingQty - reservedQty
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reservedQty = 0;
+
+    // 낙관적 잠금 버전: 잔여/예약 수량을 동시에 바꾸면 나중 커밋이 실패하고 재시도된다 (OptimisticRetryExecutor)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false)
     private LocalDate receivedAt;
 
@@ -58,6 +77,7 @@ public class SalesInbound {
 
         // ✅ 신규 등록 시 잔여 수량 = 입고 수량
         if (remainingQty == null) remainingQty = qty;
+        if (reservedQty == null) reservedQty = 0;
 
         // @Builder.Default와 @Column(nullable=false)로 대부분 해결되므로, 여기서의 추가 null 체크는 선택적.
         // 하지만 혹시 모를 상황을 대비해 아래와 같이 null 체크 로직을 유지하는 것도 좋음
@@ -1,5 +1,7 @@
 package com.mini_mes_3m_back.entity;
 
+import com.mini_mes_3m_back.event.SearchIndexEntityListener;
+import com.mini_mes_3m_back.util.HangulChosung;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,6 +15,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(SearchIndexEntityListener.class) // 키워드 검색 색인 갱신
 @Table(name = "sales_items")
 public class SalesItem {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +34,10 @@ public class SalesItem {
     @Column(nullable=false, length=100)
     private String itemName;
 
+    // 품목명 초성 (저장 시 자동 계산, HangulChosung)
+    @Column(name = "item_name_chosung", length = 100)
+    private String itemNameChosung;
+
     @Column(nullable=false, length=20)
     private String classification;
 
@@ -59,7 +66,13 @@ public class SalesItem {
     private List<SalesItemOperation> operations = new ArrayList<>();
 
     @PrePersist
-    public void prePersist(){ createdAt = OffsetDateTime.now(); }
+    public void prePersist(){
+        createdAt = OffsetDateTime.now();
+        itemNameChosung = HangulChosung.toChosung(itemName);
+    }
+
+    @PreUpdate
+    public void preUpdate(){ itemNameChosung = HangulChosung.toChosung(itemName); }
 
     public void updateOperations(List<SalesItemOperation> newOperations) {
         this.operations.clear();
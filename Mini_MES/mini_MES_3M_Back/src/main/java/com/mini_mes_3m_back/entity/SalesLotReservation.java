@@ -0,0 +1,65 @@
+package com.mini_mes_3m_back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+// 수주품목 입고 로트의 출고 예약
+// HELD(예약) → CONFIRMED(출고 확정) / RELEASED(예약 취소) / EXPIRED(기한 초과 자동 해제)
+@Entity
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+@Table(name = "sales_lot_reservations", indexes = {
+        @Index(name = "idx_sales_lot_reservations_status_expires", columnList = "status, expires_at"),
+        @Index(name = "idx_sales_lot_reservations_inbound", columnList = "inbound_id")
+})
+public class SalesLotReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long reservationId;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "inbound_id", nullable = false)
+    private SalesInbound inbound;
+
+    @Column(nullable = false)
+    private Integer qty; // 예약 수량
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt; // 이 시각까지 확정되지 않으면 자동 해제
+
+    private LocalDate shippedAt; // 확정 시 출고 일자
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "outbound_id")
+    private SalesOutbound outbound; // 확정 시 생성된 출고
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = OffsetDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    public void preUpdate() { updatedAt = OffsetDateTime.now(); }
+
+    public enum Status {
+        HELD,      // 예약 중 (출고 가능 수량에서 빠져 있음)
+        CONFIRMED, // 출고 확정
+        RELEASED,  // 예약 취소
+        EXPIRED    // 기한 초과로 자동 해제
+    }
+}
@@ -1,6 +1,6 @@
 package com.mini_mes_3m_back.entity;
 
-
+import com.mini_mes_3m_back.event.SearchIndexEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
@@ -11,7 +11,11 @@ import java.time.OffsetDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "sales_outbound")
+@EntityListeners(SearchIndexEntityListener.class) // 키워드 검색 색인 갱신
+@Table(name = "sales_outbound", indexes = {
+        // 출고 이력 출고일자 범위 검색용
+        @Index(name = "idx_sales_outbound_shipped", columnList = "is_cancelled, shipped_at")
+})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,6 @@
+package com.mini_mes_3m_back.event;
+
+// 공정(Operations) 마스터가 등록/수정/삭제/상태 변경되었음을 알리는 이벤트 (OperationsCache.invalidate 에서 발행)
+// 공정명 등을 함께 담아 두는 조회 결과(수주품목 목록의 공정 순서 등)를 커밋 이후 비우는 데 쓴다.
+public class OperationsChangedEvent {
+}
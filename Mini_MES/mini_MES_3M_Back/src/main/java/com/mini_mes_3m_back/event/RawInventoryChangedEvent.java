@@ -0,0 +1,32 @@
+package com.mini_mes_3m_back.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+// 원자재 재고 화면에 보이는 정보(재고량, 품목 정보, 거래 상태)가 바뀌었음을 알리는 이벤트
+// 품목 단위(rawsItemIds) 또는 매입처 단위(supplierId)로 발행하며, 커밋 이후 읽기 모델이 해당 행만 다시 읽는다.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RawInventoryChangedEvent {
+
+    private final Set<Long> rawsItemIds; // 변경된 원자재 품목 ID (매입처 단위 이벤트면 비어 있음)
+    private final Long supplierId;       // 변경된 매입처 ID (품목 단위 이벤트면 null)
+
+    // 입고/출고/품목 수정 등 특정 품목 변경
+    public static RawInventoryChangedEvent ofItems(Collection<Long> rawsItemIds) {
+        return new RawInventoryChangedEvent(Set.copyOf(rawsItemIds), null);
+    }
+
+    public static RawInventoryChangedEvent ofItem(Long rawsItemId) {
+        return new RawInventoryChangedEvent(Set.of(rawsItemId), null);
+    }
+
+    // 매입처 정보/거래 상태 변경 (해당 매입처의 모든 원자재 품목에 영향)
+    public static RawInventoryChangedEvent ofSupplier(Long supplierId) {
+        return new RawInventoryChangedEvent(Set.of(), supplierId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.mini_mes_3m_back.event;
+
+import com.mini_mes_3m_back.dto.Inventory.RawInventoryRowDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 원자재 재고 읽기 모델의 행 하나가 바뀐 뒤(커밋 이후) 발행되는 이벤트
+@Getter
+@AllArgsConstructor
+public class RawInventoryRowChangedEvent {
+    private final RawInventoryRowDto previous; // 이전 행 (새로 생긴 행이면 null)
+    private final RawInventoryRowDto current;  // 새 행 (삭제된 행이면 null)
+    private final boolean initialLoad;         // 서버 기동/재적재 시 전체 적재 중 발행된 것인지
+}
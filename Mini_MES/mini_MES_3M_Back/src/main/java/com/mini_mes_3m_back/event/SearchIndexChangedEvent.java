@@ -0,0 +1,36 @@
+package com.mini_mes_3m_back.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// 키워드 검색 색인 대상(거래처, 수주품목, 입고 LOT, 출고, 원자재 품목)이 저장/수정/삭제되었음을 알리는 이벤트
+// 커밋 이후 KeywordSearchIndex 가 해당 행만 다시 읽어 색인을 갱신한다.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchIndexChangedEvent {
+
+    public enum Target { PARTNER, SALES_ITEM, SALES_INBOUND, SALES_OUTBOUND, RAWS_ITEM }
+
+    private final Target target;
+    private final Set<Long> ids;               // 변경된 행 ID
+    private final List<String> outboundOUTNums; // JDBC 배치로 저장되어 ID를 모르는 출고 (출고 문서번호로 다시 읽음)
+
+    public static SearchIndexChangedEvent of(Target target, Long id) {
+        return new SearchIndexChangedEvent(target, Set.of(id), List.of());
+    }
+
+    // JDBC 배치로 저장해서 엔티티 리스너를 거치지 않은 행 (수주품목 대량 등록 등)
+    public static SearchIndexChangedEvent ofIds(Target target, Collection<Long> ids) {
+        return new SearchIndexChangedEvent(target, Set.copyOf(ids), List.of());
+    }
+
+    // 일괄 출고 할당 (SalesOutboundJdbcRepository.batchInsert) 은 엔티티 리스너를 거치지 않으므로 직접 발행
+    public static SearchIndexChangedEvent ofSalesOutboundNums(Collection<String> outboundOUTNums) {
+        return new SearchIndexChangedEvent(Target.SALES_OUTBOUND, Set.of(), List.copyOf(outboundOUTNums));
+    }
+}
@@ -0,0 +1,46 @@
+package com.mini_mes_3m_back.event;
+
+import com.mini_mes_3m_back.entity.Partner;
+import com.mini_mes_3m_back.entity.RawsItem;
+import com.mini_mes_3m_back.entity.SalesInbound;
+import com.mini_mes_3m_back.entity.SalesItem;
+import com.mini_mes_3m_back.entity.SalesOutbound;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent.Target;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// 검색 색인 대상 엔티티의 저장/수정/삭제를 SearchIndexChangedEvent 로 바꿔 발행하는 JPA 엔티티 리스너
+// (Hibernate 가 SpringBeanContainer 로 이 빈을 가져다 쓰므로 생성자 주입이 가능하다)
+@Component
+@RequiredArgsConstructor
+public class SearchIndexEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        if (entity instanceof Partner p) {
+            publish(Target.PARTNER, p.getPartnerId());
+        } else if (entity instanceof SalesItem si) {
+            publish(Target.SALES_ITEM, si.getSalesItemId());
+        } else if (entity instanceof SalesInbound in) {
+            publish(Target.SALES_INBOUND, in.getInboundId());
+        } else if (entity instanceof SalesOutbound o) {
+            publish(Target.SALES_OUTBOUND, o.getOutboundId());
+        } else if (entity instanceof RawsItem ri) {
+            publish(Target.RAWS_ITEM, ri.getRawsItemId());
+        }
+    }
+
+    private void publish(Target target, Long id) {
+        if (id != null) {
+            eventPublisher.publishEvent(SearchIndexChangedEvent.of(target, id));
+        }
+    }
+}
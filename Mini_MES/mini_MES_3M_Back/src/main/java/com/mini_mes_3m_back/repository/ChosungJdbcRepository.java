@@ -0,0 +1,53 @@
+package com.mini_mes_3m_back.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 이름 초성 컬럼(…_chosung) 채우기용 JDBC 저장소
+// 컬럼 도입 전에 저장된 행은 초성 값이 비어 있으므로 서버 기동 시 한 번 채운다. (새로 저장/수정되는 행은 엔티티 @PrePersist/@PreUpdate 에서 계산)
+@Repository
+@RequiredArgsConstructor
+public class ChosungJdbcRepository {
+
+    public enum Target {
+        PARTNER_NAME("partners", "partner_id", "name", "name_chosung"),
+        SALES_ITEM_NAME("sales_items", "sales_item_id", "item_name", "item_name_chosung"),
+        RAWS_ITEM_NAME("raws_items", "raws_item_id", "item_name", "item_name_chosung");
+
+        private final String table;
+        private final String idColumn;
+        private final String nameColumn;
+        private final String chosungColumn;
+
+        Target(String table, String idColumn, String nameColumn, String chosungColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.nameColumn = nameColumn;
+            this.chosungColumn = chosungColumn;
+        }
+    }
+
+    public record Row(long id, String name) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 초성 값이 비어 있는 행 (PK 순, limit 건)
+    public List<Row> findMissing(Target target, int limit) {
+        String sql = "SELECT " + target.idColumn + ", " + target.nameColumn + " FROM " + target.table +
+                " WHERE " + target.chosungColumn + " IS NULL AND " + target.nameColumn + " IS NOT NULL" +
+                " ORDER BY " + target.idColumn + " LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2)), limit);
+    }
+
+    // {id, 초성} 일괄 저장
+    public void batchUpdate(Target target, List<Object[]> idAndChosung) {
+        String sql = "UPDATE " + target.table + " SET " + target.chosungColumn + " = ? WHERE " + target.idColumn + " = ?";
+        jdbcTemplate.batchUpdate(sql, idAndChosung, idAndChosung.size(), (ps, row) -> {
+            ps.setString(1, (String) row[1]);
+            ps.setLong(2, (Long) row[0]);
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.mini_mes_3m_back.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+
+// CSV 내보내기용 스트리밍 조회 (입고 이력 / 출고 이력 / 수주품목)
+// - MySQL 드라이버는 fetchSize = Integer.MIN_VALUE 인 읽기 전용, 정방향 조회에서 결과를 한 행씩 받아온다.
+//   (기본값은 결과 전체를 메모리에 올림) 그래서 건수와 무관하게 한 행씩 handler 에 넘기고 바로 버린다.
+// - 조건은 목록 조회(JPQL)와 같다: 키워드 검색 색인이 찾은 ID(ids) 가 있으면 ID 로, 없으면 LIKE 로, 날짜 범위는 그대로.
+// 스트리밍 중에는 그 커넥션으로 다른 조회를 할 수 없으므로, handler 안에서는 저장소를 다시 호출하지 않는다.
+@Repository
+public class CsvExportJdbcRepository {
+
+    private static final String INBOUND_SELECT =
+            "SELECT si.inbound_id, p.name AS partner_name, s.item_code, s.item_name, s.classification, s.coating_method, " +
+            "si.inboundlotnum, si.qty, si.received_at, s.remark, si.is_outbound_processed, si.created_at " +
+            "FROM sales_inbound si JOIN sales_items s ON s.sales_item_id = si.item_id JOIN partners p ON p.partner_id = s.partner_id " +
+            "WHERE si.is_cancelled = false AND s.active = true AND p.active = true ";
+
+    private static final String INBOUND_KEYWORD =
+            "AND (LOWER(p.name) LIKE :kw OR LOWER(s.item_code) LIKE :kw OR LOWER(s.item_name) LIKE :kw " +
+            "OR LOWER(si.inboundlotnum) LIKE :kw OR LOWER(s.coating_method) LIKE :kw) ";
+
+    private static final String OUTBOUND_SELECT =
+            "SELECT o.outbound_id, o.outboundoutnum, s.partner_name, s.item_code, s.item_name, s.classification, " +
+            "o.qty, o.shipped_at, o.created_at " +
+            "FROM sales_outbound o JOIN sales_inbound si ON si.inbound_id = o.inbound_id JOIN sales_items s ON s.sales_item_id = si.item_id " +
+            "WHERE o.is_cancelled = false ";
+
+    private static final String OUTBOUND_KEYWORD =
+            "AND (LOWER(s.partner_name) LIKE :kw OR LOWER(s.item_name) LIKE :kw OR LOWER(s.item_code) LIKE :kw " +
+            "OR LOWER(o.outboundoutnum) LIKE :kw OR LOWER(s.classification) LIKE :kw) ";
+
+    private static final String SALES_ITEM_SELECT =
+            "SELECT s.sales_item_id, s.partner_name, s.item_code, s.item_name, s.classification, s.price, s.color, " +
+            "s.coating_method, s.total_operations, s.active, s.remark " +
+            "FROM sales_items s WHERE 1 = 1 ";
+
+    private static final String SALES_ITEM_KEYWORD =
+            "AND (LOWER(s.item_name) LIKE :kw OR s.item_name_chosung LIKE :kw OR LOWER(s.item_code) LIKE :kw " +
+            "OR LOWER(s.partner_name) LIKE :kw) ";
+
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public CsvExportJdbcRepository(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // MySQL 행 단위 스트리밍
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // 입고 이력 (입고일, ID 내림차순)
+    public void streamSalesInboundHistory(String keyword, Collection<Long> ids, LocalDate from, LocalDate to,
+                                          RowCallbackHandler handler) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = INBOUND_SELECT
+                + condition("si.inbound_id", INBOUND_KEYWORD, keyword, ids, params)
+                + dateRange("si.received_at", from, to, params)
+                + "ORDER BY si.received_at DESC, si.inbound_id DESC";
+        streamingJdbcTemplate.query(sql, params, handler);
+    }
+
+    // 출고 이력 (출고일, ID 내림차순)
+    public void streamSalesOutboundHistory(String keyword, Collection<Long> ids, LocalDate from, LocalDate to,
+                                           RowCallbackHandler handler) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = OUTBOUND_SELECT
+                + condition("o.outbound_id", OUTBOUND_KEYWORD, keyword, ids, params)
+                + dateRange("o.shipped_at", from, to, params)
+                + "ORDER BY o.shipped_at DESC, o.outbound_id DESC";
+        streamingJdbcTemplate.query(sql, params, handler);
+    }
+
+    // 수주품목 (품목 ID 순)
+    public void streamSalesItems(String keyword, Collection<Long> ids, RowCallbackHandler handler) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SALES_ITEM_SELECT
+                + condition("s.sales_item_id", SALES_ITEM_KEYWORD, keyword, ids, params)
+                + "ORDER BY s.sales_item_id";
+        streamingJdbcTemplate.query(sql, params, handler);
+    }
+
+    // ids 가 있으면 ID 조건, 없고 keyword 가 있으면 LIKE 조건
+    private static String condition(String idColumn, String keywordCondition, String keyword, Collection<Long> ids,
+                                    MapSqlParameterSource params) {
+        if (ids != null) {
+            params.addValue("ids", ids);
+            return "AND " + idColumn + " IN (:ids) ";
+        }
+        if (keyword != null && !keyword.isBlank()) {
+            params.addValue("kw", "%" + keyword.trim().toLowerCase(Locale.ROOT) + "%");
+            return keywordCondition;
+        }
+        return "";
+    }
+
+    private static String dateRange(String column, LocalDate from, LocalDate to, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (from != null) {
+            params.addValue("fromDate", from);
+            sql.append("AND ").append(column).append(" >= :fromDate ");
+        }
+        if (to != null) {
+            params.addValue("toDate", to);
+            sql.append("AND ").append(column).append(" <= :toDate ");
+        }
+        return sql.toString();
+    }
+}
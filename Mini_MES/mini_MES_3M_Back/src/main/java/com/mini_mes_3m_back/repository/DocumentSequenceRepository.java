@@ -0,0 +1,17 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.DocumentSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface DocumentSequenceRepository extends JpaRepository<DocumentSequence, String> {
+    // 블록 선점 시 같은 키를 동시에 올리지 못하도록 행 잠금 (잠금은 블록 선점 트랜잭션 동안만 유지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DocumentSequence s WHERE s.seqKey = :seqKey")
+    Optional<DocumentSequence> findForUpdate(@Param("seqKey") String seqKey);
+}
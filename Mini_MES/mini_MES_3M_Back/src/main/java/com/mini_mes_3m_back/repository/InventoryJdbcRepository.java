@@ -0,0 +1,53 @@
+package com.mini_mes_3m_back.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 여러 품목의 재고를 한 번에 증감하는 JDBC 배치 저장소 (대량 입고 등)
+@Repository
+@RequiredArgsConstructor
+public class InventoryJdbcRepository {
+
+    private static final String INCREASE_SQL =
+            "INSERT INTO inventory (raw_item_id, qty, updated_at, version) VALUES (?, ?, ?, 0) " +
+            "ON DUPLICATE KEY UPDATE qty = qty + VALUES(qty), updated_at = VALUES(updated_at), version = version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 품목별로 미리 합산한 증가량을 배치 upsert (품목 수만큼의 행, 왕복은 배치 한 번)
+    public void batchIncreaseQty(Map<Long, Integer> qtyByRawsItemId, OffsetDateTime now) {
+        Timestamp updatedAt = Timestamp.from(now.toInstant());
+        jdbcTemplate.batchUpdate(INCREASE_SQL, new ArrayList<>(qtyByRawsItemId.entrySet()), qtyByRawsItemId.size(),
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getKey());
+                    ps.setInt(2, entry.getValue());
+                    ps.setTimestamp(3, updatedAt);
+                });
+    }
+
+    // 품목 ID -> 현재 재고량 (raw_item_id 고유 인덱스 사용)
+    public Map<Long, Integer> findQtyByRawsItemIds(Collection<Long> rawsItemIds) {
+        Map<Long, Integer> qtys = new HashMap<>();
+        if (rawsItemIds.isEmpty()) {
+            return qtys;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT raw_item_id, qty FROM inventory WHERE raw_item_id IN (:ids)",
+                new MapSqlParameterSource("ids", rawsItemIds),
+                rs -> {
+                    qtys.put(rs.getLong(1), rs.getInt(2));
+                });
+        return qtys;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.InventoryMovement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+// 수불 원장 대량 기록용 JDBC 배치 저장소 (대량 입고 등)
+@Repository
+@RequiredArgsConstructor
+public class InventoryMovementJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_movements (raws_item_id, movement_type, qty, balance_after, movement_date, document_num, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<InventoryMovement> movements) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, BATCH_SIZE, (ps, m) -> {
+            ps.setLong(1, m.getRawsItem().getRawsItemId());
+            ps.setString(2, m.getMovementType().name());
+            ps.setInt(3, m.getQty());
+            if (m.getBalanceAfter() != null) {
+                ps.setInt(4, m.getBalanceAfter());
+            } else {
+                ps.setNull(4, Types.INTEGER);
+            }
+            ps.setDate(5, Date.valueOf(m.getMovementDate()));
+            ps.setString(6, m.getDocumentNum());
+            ps.setTimestamp(7, Timestamp.from(m.getCreatedAt().toInstant()));
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.InventoryMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    // 스냅샷 일자 다음날 ~ 기준 일자까지의 수불 합계 (raws_item_id, movement_date 인덱스 범위 조회)
+    @Query("SELECT COALESCE(SUM(m.qty), 0) FROM InventoryMovement m " +
+            "WHERE m.rawsItem.rawsItemId = :rawsItemId AND m.movementDate > :fromExclusive AND m.movementDate <= :toInclusive")
+    long sumQtyBetween(@Param("rawsItemId") Long rawsItemId,
+                       @Param("fromExclusive") LocalDate fromExclusive,
+                       @Param("toInclusive") LocalDate toInclusive);
+
+    // 스냅샷이 하나도 없는 품목용: 기준 일자까지의 전체 수불 합계
+    @Query("SELECT COALESCE(SUM(m.qty), 0) FROM InventoryMovement m " +
+            "WHERE m.rawsItem.rawsItemId = :rawsItemId AND m.movementDate <= :toInclusive")
+    long sumQtyUpTo(@Param("rawsItemId") Long rawsItemId, @Param("toInclusive") LocalDate toInclusive);
+
+    // 스냅샷 작업 대상: 특정 시각 이후 수불이 기록된 품목과 그 수불 중 가장 이른 수불 일자 {품목 ID, 일자} (created_at 인덱스 사용)
+    @Query("SELECT m.rawsItem.rawsItemId, MIN(m.movementDate) FROM InventoryMovement m " +
+            "WHERE m.createdAt >= :since GROUP BY m.rawsItem.rawsItemId")
+    List<Object[]> findEarliestMovementDatesRecordedSince(@Param("since") OffsetDateTime since);
+
+    // 품목의 수불 일자 목록 (기간 안, 오름차순) - 소급 수불로 지워진 스냅샷을 다시 만들 일자
+    @Query("SELECT DISTINCT m.movementDate FROM InventoryMovement m " +
+            "WHERE m.rawsItem.rawsItemId = :rawsItemId AND m.movementDate >= :from AND m.movementDate <= :to " +
+            "ORDER BY m.movementDate")
+    List<LocalDate> findMovementDatesBetween(@Param("rawsItemId") Long rawsItemId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    // --- 원장 도입 시 기존 이력 이관 (원장이 비어 있을 때 한 번만 실행) ---
+    @Modifying
+    @Query(value = "INSERT INTO inventory_movements (raws_item_id, movement_type, qty, movement_date, document_num, created_at) " +
+            "SELECT r.raws_item_id, 'INBOUND', r.qty, r.inbound_date, r.raw_inbound_num, :now " +
+            "FROM raw_inbound r WHERE r.is_cancelled = false", nativeQuery = true)
+    int backfillFromRawInbound(@Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO inventory_movements (raws_item_id, movement_type, qty, movement_date, document_num, created_at) " +
+            "SELECT o.raw_item_id, 'OUTBOUND', -o.qty, o.shipped_at, o.raw_outboundmoutnum, :now " +
+            "FROM raw_outbound o", nativeQuery = true)
+    int backfillFromRawOutbound(@Param("now") OffsetDateTime now);
+
+    // 이관한 이력 합계와 현재 재고(inventory.qty)가 다르면 차이만큼 기초 조정 수불을 남김
+    // 차이는 원장 이전부터 있던 재고이므로 첫 수불 전날로 기록 (이력이 없는 품목은 품목 등록일, 그것도 없으면 오늘)
+    // 과거 일자 재고 조회가 이관 이력만 합산해서 기초 재고를 빠뜨리지 않도록. balance_after 는 기초 재고
+    @Modifying
+    @Query(value = "INSERT INTO inventory_movements (raws_item_id, movement_type, qty, balance_after, movement_date, created_at) " +
+            "SELECT i.raw_item_id, 'ADJUSTMENT', i.qty - COALESCE(m.total, 0), i.qty - COALESCE(m.total, 0), " +
+            "COALESCE(DATE_SUB(m.first_date, INTERVAL 1 DAY), DATE(r.created_at), :today), :now " +
+            "FROM inventory i " +
+            "LEFT JOIN (SELECT raws_item_id, SUM(qty) AS total, MIN(movement_date) AS first_date " +
+            "           FROM inventory_movements GROUP BY raws_item_id) m ON m.raws_item_id = i.raw_item_id " +
+            "LEFT JOIN raws_items r ON r.raws_item_id = i.raw_item_id " +
+            "WHERE i.qty <> COALESCE(m.total, 0)", nativeQuery = true)
+    int backfillOpeningAdjustments(@Param("today") LocalDate today, @Param("now") OffsetDateTime now);
+}
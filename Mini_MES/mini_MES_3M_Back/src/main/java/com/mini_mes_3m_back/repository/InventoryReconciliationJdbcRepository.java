@@ -0,0 +1,97 @@
+package com.mini_mes_3m_back.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+
+// 재고 정합성 점검용 JDBC 조회
+// 큰 테이블(raw_inbound, raw_outbound)은 PK 구간(keyset) 단위로 잘라서 구간마다 DB에서 품목별 합계만 받아온다.
+// 한 번에 메모리에 올라오는 것은 "구간 안의 품목 수" 만큼의 행뿐이다.
+@Repository
+@RequiredArgsConstructor
+public class InventoryReconciliationJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 수불 테이블 종류별 PK/품목/수량 컬럼과 집계 조건
+    public enum MovementTable {
+        RAW_INBOUND("raw_inbound", "raw_inbound_id", "raws_item_id", "qty", "is_cancelled = false"),
+        RAW_OUTBOUND("raw_outbound", "raw_outbound_id", "raw_item_id", "qty", "1 = 1"),
+        RAW_INBOUND_LOT_REMAINING("raw_inbound", "raw_inbound_id", "raws_item_id", "remaining_qty", "is_cancelled = false"); // FEFO 로트 잔여 수량
+
+        private final String table;
+        private final String idColumn;
+        private final String itemColumn;
+        private final String qtyColumn;
+        private final String condition;
+
+        MovementTable(String table, String idColumn, String itemColumn, String qtyColumn, String condition) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.itemColumn = itemColumn;
+            this.qtyColumn = qtyColumn;
+            this.condition = condition;
+        }
+    }
+
+    // 보정 시 품목 하나의 입고 합계 / 출고 합계 / 로트 잔여 합계 (한 문장으로 같은 시점 값)
+    public record ItemTotals(long inboundQty, long outboundQty, long lotRemainingQty) {}
+
+    // PK 최솟값/최댓값 (테이블이 비어 있으면 null)
+    public long[] findIdRange(MovementTable t) {
+        return jdbcTemplate.query("SELECT MIN(" + t.idColumn + "), MAX(" + t.idColumn + ") FROM " + t.table, rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            if (rs.wasNull()) {
+                return null;
+            }
+            return new long[]{min, rs.getLong(2)};
+        });
+    }
+
+    // PK 구간 (fromExclusive, toInclusive] 의 품목별 수량 합계를 acc 에 더함 (PK 클러스터드 인덱스 범위 스캔)
+    public void sumQtyByItemInIdRange(MovementTable t, long fromExclusive, long toInclusive, Map<Long, Long> acc) {
+        jdbcTemplate.query(
+                "SELECT " + t.itemColumn + ", SUM(" + t.qtyColumn + ") FROM " + t.table +
+                " WHERE " + t.idColumn + " > ? AND " + t.idColumn + " <= ? AND " + t.condition +
+                " GROUP BY " + t.itemColumn,
+                rs -> {
+                    acc.merge(rs.getLong(1), rs.getLong(2), Long::sum);
+                },
+                fromExclusive, toInclusive);
+    }
+
+    // inventory 를 raw_item_id 기준 keyset 페이지로 읽어 acc 에 담음 (다음 페이지 시작 키 반환, 마지막이면 null)
+    public Long findInventoryQtyPage(long afterRawItemId, int pageSize, Map<Long, Long> acc) {
+        Long[] last = {null};
+        jdbcTemplate.query(
+                "SELECT raw_item_id, qty FROM inventory WHERE raw_item_id > ? ORDER BY raw_item_id LIMIT ?",
+                rs -> {
+                    long rawItemId = rs.getLong(1);
+                    acc.put(rawItemId, rs.getLong(2));
+                    last[0] = rawItemId;
+                },
+                afterRawItemId, pageSize);
+        return last[0];
+    }
+
+    // --- 보정 시 품목 하나만 다시 계산 (품목 인덱스 사용) ---
+    // 품목의 입고 로트 행을 잠금: FEFO 출고(로트 잠금)와 새 입고(같은 품목 인덱스 구간)가 보정이 끝날 때까지 기다린다.
+    // 출고/입고는 재고 행 -> 로트 순서로 잠그므로, 보정도 재고 행을 먼저 잠근 뒤 호출해야 한다.
+    public void lockInboundLots(Long rawsItemId) {
+        jdbcTemplate.query("SELECT raw_inbound_id FROM raw_inbound WHERE raws_item_id = ? FOR UPDATE",
+                rs -> { }, rawsItemId);
+    }
+
+    public ItemTotals sumItemTotals(Long rawsItemId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT " +
+                "(SELECT COALESCE(SUM(qty), 0) FROM raw_inbound WHERE raws_item_id = ? AND is_cancelled = false), " +
+                "(SELECT COALESCE(SUM(qty), 0) FROM raw_outbound WHERE raw_item_id = ?), " +
+                "(SELECT COALESCE(SUM(remaining_qty), 0) FROM raw_inbound WHERE raws_item_id = ? AND is_cancelled = false)",
+                (rs, rowNum) -> new ItemTotals(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                rawsItemId, rawsItemId, rawsItemId);
+    }
+}
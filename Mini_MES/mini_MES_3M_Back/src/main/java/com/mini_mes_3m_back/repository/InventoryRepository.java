@@ -1,11 +1,17 @@
 package com.mini_mes_3m_back.repository;
 
+import com.mini_mes_3m_back.dto.Inventory.RawInventoryRowDto;
 import com.mini_mes_3m_back.entity.Inventory;
 import com.mini_mes_3m_back.entity.RawsItem;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +26,39 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
             "LOWER(ri.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 품목 번호
             "LOWER(ri.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')))") // 품목명
     List<Inventory> searchActiveInventories(@Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    // 현재 재고 수량만 조회 (raw_item_id 고유 인덱스 사용)
+    @Query("SELECT i.qty FROM Inventory i WHERE i.rawItem.rawsItemId = :rawsItemId")
+    Optional<Integer> findQtyByRawsItemId(@Param("rawsItemId") Long rawsItemId);
+
+    // 재고 보정용: 재고 행 잠금 조회 (보정하는 동안 입고/출고가 끼어들지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.rawItem.rawsItemId = :rawsItemId")
+    Optional<Inventory> findByRawsItemIdForUpdate(@Param("rawsItemId") Long rawsItemId);
+
+    // 재고 증가 (입고): 재고 행이 없으면 만들고, 있으면 DB에서 바로 더함 (읽고-수정-저장 없이 한 문장으로 처리)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO inventory (raw_item_id, qty, updated_at, version) VALUES (:rawsItemId, :qty, :now, 0) " +
+            "ON DUPLICATE KEY UPDATE qty = qty + :qty, updated_at = :now, version = version + 1", nativeQuery = true)
+    int increaseQty(@Param("rawsItemId") Long rawsItemId, @Param("qty") int qty, @Param("now") OffsetDateTime now);
+
+    // 재고 차감 (출고): 재고가 충분할 때만 차감. 반환값(변경된 행 수)이 0이면 재고 부족 또는 재고 정보 없음
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.qty = i.qty - :qty, i.updatedAt = :now, i.version = i.version + 1 " +
+            "WHERE i.rawItem.rawsItemId = :rawsItemId AND i.qty >= :qty")
+    int decreaseQtyIfAvailable(@Param("rawsItemId") Long rawsItemId, @Param("qty") int qty, @Param("now") OffsetDateTime now);
+
+    // --- 원자재 재고 읽기 모델 적재용 평탄화 조회 (엔티티 대신 값만 읽음) ---
+    String READ_MODEL_ROW_SELECT = "SELECT new com.mini_mes_3m_back.dto.Inventory.RawInventoryRowDto(" +
+            "i.inventoryId, ri.rawsItemId, s.partnerId, s.name, s.active, ri.itemCode, ri.itemName, ri.spec, ri.manufacturer, ri.active, i.qty, ri.minStockQty, ri.maxStockQty) " +
+            "FROM Inventory i JOIN i.rawItem ri JOIN ri.supplier s ";
+
+    @Query(READ_MODEL_ROW_SELECT)
+    List<RawInventoryRowDto> findAllReadModelRows();
+
+    @Query(READ_MODEL_ROW_SELECT + "WHERE ri.rawsItemId IN :rawsItemIds")
+    List<RawInventoryRowDto> findReadModelRowsByRawsItemIds(@Param("rawsItemIds") Collection<Long> rawsItemIds);
+
+    @Query(READ_MODEL_ROW_SELECT + "WHERE s.partnerId = :supplierId")
+    List<RawInventoryRowDto> findReadModelRowsBySupplierId(@Param("supplierId") Long supplierId);
+}
@@ -0,0 +1,23 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    // 기준 일자 이전(포함) 가장 가까운 스냅샷 (raws_item_id, snapshot_date 고유 인덱스 사용)
+    Optional<InventorySnapshot> findFirstByRawsItem_RawsItemIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(Long rawsItemId, LocalDate date);
+
+    boolean existsByRawsItem_RawsItemIdAndSnapshotDate(Long rawsItemId, LocalDate snapshotDate);
+
+    // 소급 수불이 기록되면 해당 일자 이후 스냅샷은 더 이상 맞지 않으므로 삭제
+    @Modifying
+    @Query("DELETE FROM InventorySnapshot s WHERE s.rawsItem.rawsItemId = :rawsItemId AND s.snapshotDate >= :fromDate")
+    int deleteFromDate(@Param("rawsItemId") Long rawsItemId, @Param("fromDate") LocalDate fromDate);
+}
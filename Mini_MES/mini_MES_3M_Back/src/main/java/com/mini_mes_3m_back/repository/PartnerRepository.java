@@ -1,11 +1,13 @@
 package com.mini_mes_3m_back.repository;
 
 import com.mini_mes_3m_back.entity.Partner;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +22,13 @@ public interface PartnerRepository extends JpaRepository<Partner, Long> {
 
     // 파트너 상세 조회 시 active 상태 조건 (필요시)
     Optional<Partner> findByPartnerIdAndActiveTrue(Long partnerId);
+
+    // 통합 검색: 업체명 부분 일치 또는 초성 일치 (키워드 검색 색인을 쓸 수 없을 때)
+    @Query("SELECT p FROM Partner p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "OR p.nameChosung LIKE CONCAT('%', :keyword, '%') ORDER BY p.partnerId DESC")
+    List<Partner> searchByName(@Param("keyword") String keyword, Pageable pageable);
+
+    // 통합 검색: 키워드 검색 색인이 찾은 ID 중 최근 등록 순으로 fetch 건수만
+    @Query("SELECT p FROM Partner p WHERE p.partnerId IN :ids ORDER BY p.partnerId DESC")
+    List<Partner> findByPartnerIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
 }
@@ -0,0 +1,61 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.RawInbound;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 원자재 입고 대량 등록용 JDBC 배치 저장소
+// 엔티티 ID가 IDENTITY 라서 Hibernate 배치 insert가 동작하지 않으므로, 대량 등록은 JDBC 배치로 처리한다.
+@Repository
+@RequiredArgsConstructor
+public class RawInboundJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO raw_inbound (raw_inbound_num, raws_item_id, qty, remaining_qty, inbound_date, manufacturing_date, " +
+            "is_cancelled, is_outbound_processed, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, false, false, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 입고 행 일괄 저장 (rewriteBatchedStatements=true 이면 multi-row INSERT 한 번으로 전송)
+    public void batchInsert(List<RawInbound> inbounds) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, inbounds, BATCH_SIZE, (ps, inbound) -> {
+            Timestamp createdAt = Timestamp.from(inbound.getCreatedAt().toInstant());
+            ps.setString(1, inbound.getRawInboundNum());
+            ps.setLong(2, inbound.getRawsItem().getRawsItemId());
+            ps.setInt(3, inbound.getQty());
+            ps.setInt(4, inbound.getQty()); // 잔여 수량 = 입고 수량
+            ps.setDate(5, Date.valueOf(inbound.getInboundDate()));
+            ps.setDate(6, Date.valueOf(inbound.getManufacturingDate()));
+            ps.setTimestamp(7, createdAt);
+            ps.setTimestamp(8, createdAt);
+        });
+    }
+
+    // 배치로 저장한 입고 번호 -> 생성된 ID (raw_inbound_num 고유 인덱스 사용)
+    public Map<String, Long> findIdsByRawInboundNums(Collection<String> rawInboundNums) {
+        Map<String, Long> ids = new HashMap<>();
+        if (rawInboundNums.isEmpty()) {
+            return ids;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT raw_inbound_num, raw_inbound_id FROM raw_inbound WHERE raw_inbound_num IN (:nums)",
+                new MapSqlParameterSource("nums", rawInboundNums),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+}
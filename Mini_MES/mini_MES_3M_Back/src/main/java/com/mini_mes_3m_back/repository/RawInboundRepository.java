@@ -1,7 +1,13 @@
 package com.mini_mes_3m_back.repository;
 
 import com.mini_mes_3m_back.entity.RawInbound;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,4 +19,19 @@ public interface RawInboundRepository extends JpaRepository<RawInbound, Long> {
 
     // 입고 번호로 조회
     Optional<RawInbound> findByRawInboundNum(String rawInboundNum);
-}
\ No newline at end of file
+
+    // FEFO 출고 할당용: 품목의 출고 가능 로트를 제조일자 순으로 한 페이지씩 잠금 조회 (idx_raw_inbound_open_lots 사용)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RawInbound r " +
+            "WHERE r.rawsItem.rawsItemId = :rawsItemId AND r.isOutboundProcessed = false AND r.isCancelled = false " +
+            "AND r.remainingQty > 0 " +
+            "ORDER BY r.manufacturingDate ASC, r.rawInboundId ASC")
+    Slice<RawInbound> findOpenLotsFefoForUpdate(@Param("rawsItemId") Long rawsItemId, Pageable pageable);
+
+    // 잔여 수량 컬럼 도입 전 데이터가 남아 있는 품목
+    @Query("SELECT DISTINCT r.rawsItem.rawsItemId FROM RawInbound r WHERE r.remainingQty IS NULL")
+    List<Long> findRawsItemIdsWithoutRemainingQty();
+
+    // 잔여 수량 초기화용: 품목의 로트를 최신 제조일자부터
+    List<RawInbound> findByRawsItem_RawsItemIdOrderByManufacturingDateDescRawInboundIdDesc(Long rawsItemId);
+}
@@ -0,0 +1,11 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.RawOutboundLot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface RawOutboundLotRepository extends JpaRepository<RawOutboundLot, Long> {
+    // 특정 입고 로트를 사용한 출고 내역 (로트 추적)
+    List<RawOutboundLot> findByRawInbound_RawInboundId(Long rawInboundId);
+}
@@ -2,10 +2,12 @@
 package com.mini_mes_3m_back.repository;
 
 import com.mini_mes_3m_back.entity.RawsItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,27 @@ public interface RawsItemRepository extends JpaRepository<RawsItem, Long> {
             "LOWER(s.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 매입처명
             "LOWER(ri.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 품목 번호
             "LOWER(ri.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 품목명
+            "ri.itemNameChosung LIKE CONCAT('%', :keyword, '%') OR " + // 품목명 초성
             "LOWER(ri.manufacturer) LIKE LOWER(CONCAT('%', :keyword, '%')))") // 제조사
     List<RawsItem> searchActiveRawsItemsForInbound(@Param("keyword") String keyword);
+
+    // 위 조회의 건수 제한 버전 (통합 검색)
+    @Query("SELECT ri FROM RawsItem ri JOIN FETCH ri.supplier s " +
+            "WHERE ri.active = true AND s.active = true " +
+            "AND (LOWER(s.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(ri.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(ri.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "ri.itemNameChosung LIKE CONCAT('%', :keyword, '%') OR " +
+            "LOWER(ri.manufacturer) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "ORDER BY ri.rawsItemId DESC")
+    List<RawsItem> searchActiveRawsItemsForInbound(@Param("keyword") String keyword, Pageable pageable);
+
+    // 위 조회의 키워드 검색 색인(KeywordSearchIndex) 버전
+    @Query("SELECT ri FROM RawsItem ri JOIN FETCH ri.supplier s " +
+            "WHERE ri.active = true AND s.active = true AND ri.rawsItemId IN :ids")
+    List<RawsItem> findActiveRawsItemsForInboundByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT ri FROM RawsItem ri JOIN FETCH ri.supplier s " +
+            "WHERE ri.active = true AND s.active = true AND ri.rawsItemId IN :ids ORDER BY ri.rawsItemId DESC")
+    List<RawsItem> findActiveRawsItemsForInboundByIds(@Param("ids") Collection<Long> ids, Pageable pageable);
 }
\ No newline at end of file
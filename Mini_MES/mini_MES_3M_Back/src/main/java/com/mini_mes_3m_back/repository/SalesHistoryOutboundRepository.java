@@ -1,11 +1,14 @@
 package com.mini_mes_3m_back.repository;
 
 import com.mini_mes_3m_back.entity.SalesOutbound;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,20 +22,87 @@ public interface SalesHistoryOutboundRepository extends JpaRepository<SalesOutbo
 
     /**
      * 키워드 기반 출고 이력 검색 (fetch join으로 Lazy 문제 방지)
-     * 검색 대상: 거래처명, 품목명, 품목번호, 출고번호, 출고일자
+     * 검색 대상: 거래처명, 품목명, 품목번호, 출고번호, 분류 + 출고일자 범위
+     * 출고일자는 문자열 비교 대신 범위 조건으로 검색 (DateRangeKeyword, idx_sales_outbound_shipped)
      */
     @Query("SELECT o FROM SalesOutbound o " +
             "JOIN FETCH o.inbound i " +
             "JOIN FETCH i.item si " +
-            "WHERE o.isCancelled = false AND (" +
+            "WHERE o.isCancelled = false AND (:keyword IS NULL OR " +
             "LOWER(si.partnerName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(si.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(si.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(o.outboundOUTNum) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(si.classification) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(FUNCTION('DATE_FORMAT', o.shippedAt, '%Y-%m-%d')) LIKE LOWER(CONCAT('%', :keyword, '%'))" +
-            ")")
-    List<SalesOutbound> findActiveOutboundsWithSearch(@Param("keyword") String keyword);
+            "LOWER(si.classification) LIKE LOWER(CONCAT('%', :keyword, '%'))" +
+            ") " +
+            "AND (:fromDate IS NULL OR o.shippedAt >= :fromDate) " +
+            "AND (:toDate IS NULL OR o.shippedAt <= :toDate)")
+    List<SalesOutbound> findActiveOutboundsWithSearch(@Param("keyword") String keyword,
+                                                      @Param("fromDate") LocalDate fromDate,
+                                                      @Param("toDate") LocalDate toDate);
+
+    /**
+     * 키워드 검색 색인(KeywordSearchIndex)이 찾은 출고 ID 로 조회
+     */
+    @Query("SELECT o FROM SalesOutbound o " +
+            "JOIN FETCH o.inbound i " +
+            "JOIN FETCH i.item si " +
+            "WHERE o.isCancelled = false AND o.outboundId IN :ids " +
+            "AND (:fromDate IS NULL OR o.shippedAt >= :fromDate) " +
+            "AND (:toDate IS NULL OR o.shippedAt <= :toDate)")
+    List<SalesOutbound> findActiveOutboundsByIds(@Param("ids") Collection<Long> ids,
+                                                 @Param("fromDate") LocalDate fromDate,
+                                                 @Param("toDate") LocalDate toDate);
+
+    /**
+     * 출고 이력 커서 조회: (출고일, ID) 내림차순으로 커서 다음 행부터 pageable 크기만큼 (idx_sales_outbound_shipped 사용)
+     * 출고일이 비어 있는 행은 맨 뒤에 ID 내림차순으로 오며, 커서 일자가 null 이면 그 행들 사이에서 이어서 읽는다.
+     * 키워드/기간 조건은 findActiveOutboundsWithSearch 와 같음 (keyword 가 null 이면 전체)
+     */
+    @Query("SELECT o FROM SalesOutbound o " +
+            "JOIN FETCH o.inbound i " +
+            "JOIN FETCH i.item si " +
+            "WHERE o.isCancelled = false AND (:keyword IS NULL OR " +
+            "LOWER(si.partnerName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(si.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(si.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(o.outboundOUTNum) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(si.classification) LIKE LOWER(CONCAT('%', :keyword, '%'))" +
+            ") " +
+            "AND (:fromDate IS NULL OR o.shippedAt >= :fromDate) " +
+            "AND (:toDate IS NULL OR o.shippedAt <= :toDate) " +
+            "AND (:cursorId IS NULL " +
+            "     OR (:cursorDate IS NULL AND o.shippedAt IS NULL AND o.outboundId < :cursorId) " +
+            "     OR (:cursorDate IS NOT NULL AND (o.shippedAt < :cursorDate OR o.shippedAt IS NULL " +
+            "         OR (o.shippedAt = :cursorDate AND o.outboundId < :cursorId)))) " +
+            "ORDER BY o.shippedAt DESC NULLS LAST, o.outboundId DESC")
+    List<SalesOutbound> scrollActiveOutbounds(@Param("keyword") String keyword,
+                                              @Param("fromDate") LocalDate fromDate,
+                                              @Param("toDate") LocalDate toDate,
+                                              @Param("cursorDate") LocalDate cursorDate,
+                                              @Param("cursorId") Long cursorId,
+                                              Pageable pageable);
+
+    /**
+     * 위 조회의 키워드 검색 색인(KeywordSearchIndex) 버전
+     */
+    @Query("SELECT o FROM SalesOutbound o " +
+            "JOIN FETCH o.inbound i " +
+            "JOIN FETCH i.item si " +
+            "WHERE o.isCancelled = false AND o.outboundId IN :ids " +
+            "AND (:fromDate IS NULL OR o.shippedAt >= :fromDate) " +
+            "AND (:toDate IS NULL OR o.shippedAt <= :toDate) " +
+            "AND (:cursorId IS NULL " +
+            "     OR (:cursorDate IS NULL AND o.shippedAt IS NULL AND o.outboundId < :cursorId) " +
+            "     OR (:cursorDate IS NOT NULL AND (o.shippedAt < :cursorDate OR o.shippedAt IS NULL " +
+            "         OR (o.shippedAt = :cursorDate AND o.outboundId < :cursorId)))) " +
+            "ORDER BY o.shippedAt DESC NULLS LAST, o.outboundId DESC")
+    List<SalesOutbound> scrollActiveOutboundsByIds(@Param("ids") Collection<Long> ids,
+                                                   @Param("fromDate") LocalDate fromDate,
+                                                   @Param("toDate") LocalDate toDate,
+                                                   @Param("cursorDate") LocalDate cursorDate,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
 
     /**
      * 전체 출고 이력 조회 (fetch join 포함)
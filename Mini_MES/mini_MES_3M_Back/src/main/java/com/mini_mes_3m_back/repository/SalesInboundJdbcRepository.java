@@ -0,0 +1,47 @@
+package com.mini_mes_3m_back.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// 수주품목 입고(로트) 잔여 수량 일괄 차감용 JDBC 배치 저장소
+@Repository
+@RequiredArgsConstructor
+public class SalesInboundJdbcRepository {
+
+    // 예약분을 뺀 잔여 수량이 충분할 때만 차감하고, 0이 되면 출고 완료 처리 (MySQL은 SET 절을 왼쪽부터 적용하므로 차감 후 값으로 판단)
+    // version 도 올려서 같은 로트를 엔티티로 읽고 있던 예약/수정 트랜잭션이 낙관적 잠금으로 충돌을 감지하게 한다.
+    private static final String DEDUCT_SQL =
+            "UPDATE sales_inbound SET remaining_qty = remaining_qty - ?, " +
+            "is_outbound_processed = (remaining_qty <= 0), updated_at = ?, version = version + 1 " +
+            "WHERE inbound_id = ? AND remaining_qty - reserved_qty >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 로트별 잔여 수량 일괄 차감
+     * @param deductions {inboundId, qty} 목록
+     * @return 차감되지 않은(출고 가능 수량 부족) 건이 있으면 false
+     */
+    public boolean batchDeductRemainingQty(List<long[]> deductions, OffsetDateTime now) {
+        Timestamp updatedAt = Timestamp.from(now.toInstant());
+        int[][] results = jdbcTemplate.batchUpdate(DEDUCT_SQL, deductions, deductions.size(), (ps, d) -> {
+            ps.setLong(1, d[1]);
+            ps.setTimestamp(2, updatedAt);
+            ps.setLong(3, d[0]);
+            ps.setLong(4, d[1]);
+        });
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -1,36 +1,29 @@
 package com.mini_mes_3m_back.repository;
 
 import com.mini_mes_3m_back.entity.SalesInbound;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
+
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface SalesInboundRepository extends JpaRepository<SalesInbound, Long> {
+public interface SalesInboundRepository extends JpaRepository<SalesInbound, Long>, JpaSpecificationExecutor<SalesInbound> {
     // 특정 날짜의 LOT 번호 자동 부여를 위한 count
     long countByInboundLOTNumStartingWith(String prefix); // inboundLOTNum 필드명에 맞게 변경!
 
     // 기타 필요한 조회 메서드 추가 가능
 
-    //수주품목 출고 등록할때 조회
-    Page<SalesInbound> findByQtyAndIsCancelledFalseAndIsOutboundProcessedFalse(int qty, Pageable pageable);
-
-    Page<SalesInbound> findByInboundLOTNumContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(String lotNum, Pageable pageable);
-
-    Page<SalesInbound> findByItem_ItemNameContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(String itemName, Pageable pageable);
-
-    Page<SalesInbound> findByItem_ItemCodeContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(String itemCode, Pageable pageable);
+    //수주품목 출고 등록할때 조회: SalesOutboundService.searchShippableLots 에서 Specification 으로 조건을 조합해 조회
 
-    Page<SalesInbound> findByItem_PartnerNameContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(String partnerName, Pageable pageable);
-
-    Page<SalesInbound> findByReceivedAtAndIsCancelledFalseAndIsOutboundProcessedFalse(LocalDate receivedAt, Pageable pageable);
-
-    Page<SalesInbound> findByIsCancelledFalseAndIsOutboundProcessedFalse(Pageable pageable);
     // 입고 이력 목록 조회 (SalesItem과 Partner를 함께 가져옴)
     @Query("SELECT si FROM SalesInbound si JOIN FETCH si.item salesItem JOIN FETCH salesItem.partner partner " +
             "WHERE si.isCancelled = false " + // 취소되지 않은 입고만 조회
@@ -40,9 +33,63 @@ public interface SalesInboundRepository extends JpaRepository<SalesInbound, Long
             "LOWER(salesItem.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 품목 번호
             "LOWER(salesItem.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 품목명
             "LOWER(si.inboundLOTNum) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 입고번호 (LOT번호)
-            "LOWER(salesItem.coatingMethod) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " + // 도장방식
-            "LOWER(FUNCTION('DATE_FORMAT', si.receivedAt, '%Y-%m-%d')) LIKE LOWER(CONCAT('%', :keyword, '%')))") // 입고일자 (YYYY-MM-DD)
-    List<SalesInbound> findActiveSalesInboundsWithSearch(@Param("keyword") String keyword);
+            "LOWER(salesItem.coatingMethod) LIKE LOWER(CONCAT('%', :keyword, '%'))) " + // 도장방식
+            "AND (:fromDate IS NULL OR si.receivedAt >= :fromDate) " + // 입고일자 범위 (DateRangeKeyword, idx_sales_inbound_received)
+            "AND (:toDate IS NULL OR si.receivedAt <= :toDate)")
+    List<SalesInbound> findActiveSalesInboundsWithSearch(@Param("keyword") String keyword,
+                                                         @Param("fromDate") LocalDate fromDate,
+                                                         @Param("toDate") LocalDate toDate);
+
+    // 위 조회의 키워드 검색 색인(KeywordSearchIndex) 버전: 키워드 조건 대신 색인이 찾은 ID 로 조회
+    @Query("SELECT si FROM SalesInbound si JOIN FETCH si.item salesItem JOIN FETCH salesItem.partner partner " +
+            "WHERE si.isCancelled = false " +
+            "AND salesItem.active = true AND partner.active = true " +
+            "AND si.inboundId IN :ids " +
+            "AND (:fromDate IS NULL OR si.receivedAt >= :fromDate) " +
+            "AND (:toDate IS NULL OR si.receivedAt <= :toDate)")
+    List<SalesInbound> findActiveSalesInboundsByIds(@Param("ids") Collection<Long> ids,
+                                                    @Param("fromDate") LocalDate fromDate,
+                                                    @Param("toDate") LocalDate toDate);
+
+    // 입고 이력 커서 조회: (입고일, ID) 내림차순으로 커서 다음 행부터 pageable 크기만큼 (idx_sales_inbound_received 사용)
+    // 커서 조건은 "입고일 < 커서일 OR (입고일 = 커서일 AND ID < 커서ID)" 로 풀어서 인덱스 범위 탐색이 되도록 한다.
+    @Query("SELECT si FROM SalesInbound si JOIN FETCH si.item salesItem JOIN FETCH salesItem.partner partner " +
+            "WHERE si.isCancelled = false " +
+            "AND salesItem.active = true AND partner.active = true " +
+            "AND (:keyword IS NULL OR " +
+            "LOWER(partner.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(salesItem.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(salesItem.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(si.inboundLOTNum) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(salesItem.coatingMethod) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "AND (:fromDate IS NULL OR si.receivedAt >= :fromDate) " +
+            "AND (:toDate IS NULL OR si.receivedAt <= :toDate) " +
+            "AND (:cursorDate IS NULL OR si.receivedAt < :cursorDate " +
+            "     OR (si.receivedAt = :cursorDate AND si.inboundId < :cursorId)) " +
+            "ORDER BY si.receivedAt DESC, si.inboundId DESC")
+    List<SalesInbound> scrollActiveSalesInbounds(@Param("keyword") String keyword,
+                                                 @Param("fromDate") LocalDate fromDate,
+                                                 @Param("toDate") LocalDate toDate,
+                                                 @Param("cursorDate") LocalDate cursorDate,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+
+    // 위 조회의 키워드 검색 색인(KeywordSearchIndex) 버전
+    @Query("SELECT si FROM SalesInbound si JOIN FETCH si.item salesItem JOIN FETCH salesItem.partner partner " +
+            "WHERE si.isCancelled = false " +
+            "AND salesItem.active = true AND partner.active = true " +
+            "AND si.inboundId IN :ids " +
+            "AND (:fromDate IS NULL OR si.receivedAt >= :fromDate) " +
+            "AND (:toDate IS NULL OR si.receivedAt <= :toDate) " +
+            "AND (:cursorDate IS NULL OR si.receivedAt < :cursorDate " +
+            "     OR (si.receivedAt = :cursorDate AND si.inboundId < :cursorId)) " +
+            "ORDER BY si.receivedAt DESC, si.inboundId DESC")
+    List<SalesInbound> scrollActiveSalesInboundsByIds(@Param("ids") Collection<Long> ids,
+                                                      @Param("fromDate") LocalDate fromDate,
+                                                      @Param("toDate") LocalDate toDate,
+                                                      @Param("cursorDate") LocalDate cursorDate,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
 
     // 특정 입고 ID로 상세 조회 (SalesItem과 Partner를 함께 가져옴)
     @Query("SELECT si FROM SalesInbound si JOIN FETCH si.item salesItem JOIN FETCH salesItem.partner partner " +
@@ -51,4 +98,13 @@ public interface SalesInboundRepository extends JpaRepository<SalesInbound, Long
 
     // 이미 등록된 입고번호(LOT)가 있는지 확인
     Optional<SalesInbound> findByInboundLOTNum(String inboundLOTNum);
+
+    // FIFO 출고 할당용: 품목의 출고 가능 로트를 입고일 순으로 한 페이지씩 잠금 조회 (idx_sales_inbound_open_lots 사용)
+    // 필요한 수량이 채워질 때까지만 다음 페이지를 읽으므로 건드리는 로트 수만큼만 읽는다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT si FROM SalesInbound si " +
+            "WHERE si.item.salesItemId = :salesItemId AND si.isCancelled = false AND si.isOutboundProcessed = false " +
+            "AND si.remainingQty > si.reservedQty " + // 예약분을 뺀 출고 가능 수량이 있는 로트만
+            "ORDER BY si.receivedAt ASC, si.inboundId ASC")
+    Slice<SalesInbound> findOpenLotsFifoForUpdate(@Param("salesItemId") Long salesItemId, Pageable pageable);
 }
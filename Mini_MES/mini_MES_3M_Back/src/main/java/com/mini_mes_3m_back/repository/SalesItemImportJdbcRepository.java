@@ -0,0 +1,146 @@
+package com.mini_mes_3m_back.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 수주품목/공정 순서 대량 등록용 JDBC 배치 저장소 (IDENTITY 라서 Hibernate 배치 insert 불가)
+// 엔티티 리스너를 거치지 않으므로 초성 컬럼은 호출 측에서 계산해서 넘기고, 검색 색인 이벤트도 호출 측에서 발행한다.
+@Repository
+@RequiredArgsConstructor
+public class SalesItemImportJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO sales_items (partner_id, partner_name, item_code, item_name, item_name_chosung, classification, " +
+            "price, color, coating_method, remark, total_operations, active, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, ?)";
+
+    // 거래 상태/이미지/공정 수는 그대로 둠 (공정 수는 공정 순서를 바꿀 때 따로 갱신)
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE sales_items SET partner_id = ?, partner_name = ?, item_name = ?, item_name_chosung = ?, classification = ?, " +
+            "price = ?, color = ?, coating_method = ?, remark = ? WHERE sales_item_id = ?";
+
+    private static final String INSERT_ROUTING_SQL =
+            "INSERT INTO sales_item_operations (sales_item_id, operation_id, seq, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    // 등록/수정할 품목 값 (salesItemId 는 수정일 때만)
+    public record ItemRow(Long salesItemId, Long partnerId, String partnerName, String itemCode, String itemName,
+                          String itemNameChosung, String classification, Integer price, String color,
+                          String coatingMethod, String remark, int totalOperations) {}
+
+    public record PartnerRow(long partnerId, String name, String partnerType, boolean active) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 거래처명 조회표 적재용 (거래처는 수백 건 수준)
+    public List<PartnerRow> findAllPartners() {
+        return jdbcTemplate.query("SELECT partner_id, name, partner_type, active FROM partners",
+                (rs, rowNum) -> new PartnerRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBoolean(4)));
+    }
+
+    // 품목번호 -> 품목 ID (같은 번호가 여러 건이면 먼저 등록된 품목, DB 비교와 같게 대소문자 무시)
+    public Map<String, Long> findIdsByItemCodes(Collection<String> itemCodes) {
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (itemCodes.isEmpty()) {
+            return ids;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT item_code, MIN(sales_item_id) FROM sales_items WHERE item_code IN (:codes) GROUP BY item_code",
+                new MapSqlParameterSource("codes", itemCodes),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    // 품목 ID -> 저장된 공정 ID 목록 (seq 순)
+    public Map<Long, List<Long>> findRoutings(Collection<Long> salesItemIds) {
+        Map<Long, List<Long>> routings = new HashMap<>();
+        if (salesItemIds.isEmpty()) {
+            return routings;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT sales_item_id, operation_id FROM sales_item_operations WHERE sales_item_id IN (:ids) ORDER BY sales_item_id, seq",
+                new MapSqlParameterSource("ids", salesItemIds),
+                rs -> {
+                    routings.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+                });
+        return routings;
+    }
+
+    public void batchInsertItems(List<ItemRow> rows, OffsetDateTime now) {
+        Timestamp createdAt = Timestamp.from(now.toInstant());
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, rows, BATCH_SIZE, (ps, r) -> {
+            ps.setObject(1, r.partnerId(), Types.BIGINT);
+            ps.setString(2, r.partnerName());
+            ps.setString(3, r.itemCode());
+            ps.setString(4, r.itemName());
+            ps.setString(5, r.itemNameChosung());
+            ps.setString(6, r.classification());
+            ps.setObject(7, r.price(), Types.INTEGER);
+            ps.setString(8, r.color());
+            ps.setString(9, r.coatingMethod());
+            ps.setString(10, r.remark());
+            ps.setInt(11, r.totalOperations());
+            ps.setTimestamp(12, createdAt);
+        });
+    }
+
+    public void batchUpdateItems(List<ItemRow> rows) {
+        jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, rows, BATCH_SIZE, (ps, r) -> {
+            ps.setObject(1, r.partnerId(), Types.BIGINT);
+            ps.setString(2, r.partnerName());
+            ps.setString(3, r.itemName());
+            ps.setString(4, r.itemNameChosung());
+            ps.setString(5, r.classification());
+            ps.setObject(6, r.price(), Types.INTEGER);
+            ps.setString(7, r.color());
+            ps.setString(8, r.coatingMethod());
+            ps.setString(9, r.remark());
+            ps.setLong(10, r.salesItemId());
+        });
+    }
+
+    // 공정 순서 교체: 기존 공정 행 삭제 -> 새 순서로 일괄 등록 -> 공정 수 갱신 (순서가 바뀐 품목만 넘겨받음)
+    public void replaceRoutings(Map<Long, List<Long>> routings, OffsetDateTime now) {
+        if (routings.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update("DELETE FROM sales_item_operations WHERE sales_item_id IN (:ids)",
+                new MapSqlParameterSource("ids", routings.keySet()));
+
+        Timestamp createdAt = Timestamp.from(now.toInstant());
+        List<long[]> steps = new ArrayList<>(); // {품목 ID, 공정 ID, seq}
+        routings.forEach((salesItemId, operationIds) -> {
+            for (int i = 0; i < operationIds.size(); i++) {
+                steps.add(new long[]{salesItemId, operationIds.get(i), i + 1});
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_ROUTING_SQL, steps, BATCH_SIZE, (ps, step) -> {
+            ps.setLong(1, step[0]);
+            ps.setLong(2, step[1]);
+            ps.setInt(3, (int) step[2]);
+            ps.setTimestamp(4, createdAt);
+            ps.setTimestamp(5, createdAt);
+        });
+
+        List<Object[]> totals = new ArrayList<>(routings.size());
+        routings.forEach((salesItemId, operationIds) -> totals.add(new Object[]{operationIds.size(), salesItemId}));
+        jdbcTemplate.batchUpdate("UPDATE sales_items SET total_operations = ? WHERE sales_item_id = ?", totals);
+    }
+}
@@ -1,28 +1,70 @@
 package com.mini_mes_3m_back.repository;
 
+import com.mini_mes_3m_back.dto.salesItem.SalesItemDetailRowDto;
 import com.mini_mes_3m_back.entity.SalesItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface SalesItemRepository extends JpaRepository<SalesItem, Long> {
 
-    @Query("SELECT s FROM SalesItem s " +
-            "WHERE (:kw IS NULL OR :kw = '') OR " +
+    // 품목명(초성 포함) / 품목번호 / 거래처명 키워드 검색 조건 (목록, Slice, 건수 조회가 같이 씀)
+    String KEYWORD_WHERE = "WHERE (:kw IS NULL OR :kw = '') OR " +
             "(LOWER(s.itemName) LIKE LOWER(concat('%',:kw,'%')) " +
+            " OR s.itemNameChosung LIKE concat('%',:kw,'%') " +
             " OR LOWER(s.itemCode) LIKE LOWER(concat('%',:kw,'%')) " +
-            " OR LOWER(s.partnerName) LIKE LOWER(concat('%',:kw,'%')))")
+            " OR LOWER(s.partnerName) LIKE LOWER(concat('%',:kw,'%')))";
+
+    @Query("SELECT s FROM SalesItem s " + KEYWORD_WHERE)
     Page<SalesItem> searchByKeyword(@Param("kw") String keyword, Pageable pageable);
 
+    // 위 조회의 전체 건수 (근사 전체 건수 백그라운드 계산용)
+    @Query("SELECT COUNT(s) FROM SalesItem s " + KEYWORD_WHERE)
+    long countSearchByKeyword(@Param("kw") String keyword);
+
+    // 키워드 검색 색인(KeywordSearchIndex)이 찾은 ID 로 조회
+    Page<SalesItem> findBySalesItemIdIn(Collection<Long> salesItemIds, Pageable pageable);
+
+    // --- 목록 조회용 2단계 조회: ID 페이지 -> 품목/거래처/공정 평탄화 행 (엔티티, 지연 로딩 없이) ---
+    @Query(value = "SELECT s.salesItemId FROM SalesItem s " + KEYWORD_WHERE,
+            countQuery = "SELECT COUNT(s) FROM SalesItem s " + KEYWORD_WHERE)
+    Page<Long> searchIdsByKeyword(@Param("kw") String keyword, Pageable pageable);
+
+    // Slice 버전 (COUNT 없이 size + 1 건으로 다음 페이지 여부만 판단)
+    @Query("SELECT s.salesItemId FROM SalesItem s " + KEYWORD_WHERE)
+    Slice<Long> searchIdSliceByKeyword(@Param("kw") String keyword, Pageable pageable);
+
+    @Query(value = "SELECT s.salesItemId FROM SalesItem s WHERE s.salesItemId IN :ids",
+            countQuery = "SELECT COUNT(s) FROM SalesItem s WHERE s.salesItemId IN :ids")
+    Page<Long> findIdsBySalesItemIdIn(@Param("ids") Collection<Long> salesItemIds, Pageable pageable);
+
+    @Query("SELECT s.salesItemId FROM SalesItem s WHERE s.salesItemId IN :ids")
+    Slice<Long> findIdSliceBySalesItemIdIn(@Param("ids") Collection<Long> salesItemIds, Pageable pageable);
+
+    // 공정 순서(seq)대로, 품목마다 공정 수만큼(공정이 없으면 1) 행이 나온다
+    @Query("SELECT new com.mini_mes_3m_back.dto.salesItem.SalesItemDetailRowDto(" +
+            "s.salesItemId, s.partner.partnerId, s.partnerName, s.itemCode, s.itemName, s.price, s.color, s.classification, " +
+            "s.coatingMethod, s.remark, s.active, s.imagePath, o.operationId, o.code, o.name, o.description, o.standardTime) " +
+            "FROM SalesItem s LEFT JOIN s.operations sio LEFT JOIN sio.operations o " +
+            "WHERE s.salesItemId IN :ids ORDER BY s.salesItemId, sio.seq")
+    List<SalesItemDetailRowDto> findDetailRowsBySalesItemIdIn(@Param("ids") Collection<Long> salesItemIds);
+
     Page<SalesItem> findByItemNameContainingIgnoreCase(String itemName, Pageable pageable);
 
     Optional<SalesItem> findByItemCode(String itemCode);
 
+    // 공정 순서 수정용: 거래처, 공정 행, 공정까지 한 번에 (공정 행마다 공정을 따로 읽지 않음)
+    @Query("SELECT DISTINCT s FROM SalesItem s LEFT JOIN FETCH s.partner " +
+            "LEFT JOIN FETCH s.operations sio LEFT JOIN FETCH sio.operations WHERE s.salesItemId = :salesItemId")
+    Optional<SalesItem> findByIdWithRouting(@Param("salesItemId") Long salesItemId);
+
     @Query("SELECT si FROM SalesItem si JOIN FETCH si.partner p WHERE si.active = true AND p.active = true")
     List<SalesItem> findActiveSalesItemsWithActivePartner();
 
@@ -31,9 +73,14 @@ public interface SalesItemRepository extends JpaRepository<SalesItem, Long> {
             "AND (:keyword IS NULL OR " +
             "LOWER(si.partnerName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(si.itemCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(si.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+            "LOWER(si.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "si.itemNameChosung LIKE CONCAT('%', :keyword, '%'))") // 품목명 초성 (ㅎㄷ)
     List<SalesItem> searchActiveSalesItems(@Param("keyword") String keyword);
 
+    @Query("SELECT si FROM SalesItem si JOIN FETCH si.partner p " +
+            "WHERE si.active = true AND p.active = true AND si.salesItemId IN :ids")
+    List<SalesItem> findActiveSalesItemsByIds(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT si FROM SalesItem si JOIN FETCH si.partner p WHERE si.salesItemId = :salesItemId")
     SalesItem findByIdWithPartner(@Param("salesItemId") Long salesItemId);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.SalesLotReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface SalesLotReservationRepository extends JpaRepository<SalesLotReservation, Long> {
+
+    // 기한이 지난 예약 ID (status, expires_at 인덱스 사용)
+    // afterId 다음부터 ID 순으로 읽는다: 해제에 실패한 예약이 남아 있어도 다음 페이지로 넘어감
+    @Query("SELECT r.reservationId FROM SalesLotReservation r " +
+            "WHERE r.status = com.mini_mes_3m_back.entity.SalesLotReservation.Status.HELD AND r.expiresAt < :now " +
+            "AND r.reservationId > :afterId " +
+            "ORDER BY r.reservationId ASC")
+    List<Long> findExpiredHeldIds(@Param("now") OffsetDateTime now, @Param("afterId") Long afterId, Pageable pageable);
+
+    List<SalesLotReservation> findByInbound_InboundIdOrderByReservationIdDesc(Long inboundId);
+}
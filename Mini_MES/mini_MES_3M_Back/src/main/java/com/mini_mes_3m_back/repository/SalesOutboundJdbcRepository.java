@@ -0,0 +1,36 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.entity.SalesOutbound;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+// 수주품목 출고 대량 등록용 JDBC 배치 저장소 (IDENTITY 라서 Hibernate 배치 insert 불가)
+@Repository
+@RequiredArgsConstructor
+public class SalesOutboundJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sales_outbound (outboundoutnum, inbound_id, qty, shipped_at, status, is_cancelled, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, true, false, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<SalesOutbound> outbounds) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, outbounds, BATCH_SIZE, (ps, o) -> {
+            Timestamp createdAt = Timestamp.from(o.getCreatedAt().toInstant());
+            ps.setString(1, o.getOutboundOUTNum());
+            ps.setLong(2, o.getInbound().getInboundId());
+            ps.setInt(3, o.getQty());
+            ps.setDate(4, Date.valueOf(o.getShippedAt()));
+            ps.setTimestamp(5, createdAt);
+            ps.setTimestamp(6, createdAt);
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent.Target;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+// 키워드 검색 색인 적재용 JDBC 조회 (엔티티를 만들지 않고 색인에 필요한 문자열 컬럼만 읽음)
+// 모든 조회는 "행 ID, 상위 ID, 검색 필드..." 순서로 컬럼을 돌려준다.
+@Repository
+@RequiredArgsConstructor
+public class SearchIndexJdbcRepository {
+
+    @FunctionalInterface
+    public interface DocumentHandler {
+        void accept(long id, Long parentId, String[] fields);
+    }
+
+    private record Source(String select, String idColumn, int fieldCount) {}
+
+    private static final Map<Target, Source> SOURCES = Map.of(
+            Target.PARTNER, new Source(
+                    "SELECT p.partner_id, NULL, p.name, p.name_chosung FROM partners p",
+                    "p.partner_id", 2),
+            Target.SALES_ITEM, new Source(
+                    "SELECT s.sales_item_id, s.partner_id, s.item_name, s.item_code, s.partner_name, s.coating_method, s.classification, " +
+                    "s.item_name_chosung FROM sales_items s",
+                    "s.sales_item_id", 6),
+            Target.SALES_INBOUND, new Source(
+                    "SELECT i.inbound_id, i.item_id, i.inboundlotnum FROM sales_inbound i",
+                    "i.inbound_id", 1),
+            Target.SALES_OUTBOUND, new Source(
+                    "SELECT o.outbound_id, i.item_id, o.outboundoutnum " +
+                    "FROM sales_outbound o JOIN sales_inbound i ON i.inbound_id = o.inbound_id",
+                    "o.outbound_id", 1),
+            Target.RAWS_ITEM, new Source(
+                    "SELECT r.raws_item_id, r.supplier_id, r.item_code, r.item_name, r.manufacturer, r.item_name_chosung FROM raws_items r",
+                    "r.raws_item_id", 4)
+    );
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 전체 적재: PK 순으로 한 페이지씩 읽음. 마지막으로 읽은 ID 를 돌려주며, 더 읽을 행이 없으면 -1
+    public long loadPage(Target target, long afterId, int pageSize, DocumentHandler handler) {
+        Source source = SOURCES.get(target);
+        String sql = source.select() + " WHERE " + source.idColumn() + " > :afterId ORDER BY " + source.idColumn() + " LIMIT :limit";
+        long[] lastId = {-1};
+        namedParameterJdbcTemplate.query(sql,
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", pageSize),
+                rs -> {
+                    lastId[0] = rs.getLong(1);
+                    handler.accept(lastId[0], readParentId(rs), readFields(rs, source.fieldCount()));
+                });
+        return lastId[0];
+    }
+
+    // 변경분 적재: 지정한 ID 의 행만 다시 읽음 (삭제된 행은 handler 가 호출되지 않음)
+    public void loadByIds(Target target, Collection<Long> ids, DocumentHandler handler) {
+        Source source = SOURCES.get(target);
+        namedParameterJdbcTemplate.query(source.select() + " WHERE " + source.idColumn() + " IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                rs -> handler.accept(rs.getLong(1), readParentId(rs), readFields(rs, source.fieldCount())));
+    }
+
+    // 일괄 출고 할당분 적재 (출고 문서번호 기준)
+    public void loadSalesOutboundsByNums(Collection<String> outboundOUTNums, DocumentHandler handler) {
+        Source source = SOURCES.get(Target.SALES_OUTBOUND);
+        namedParameterJdbcTemplate.query(source.select() + " WHERE o.outboundoutnum IN (:nums)",
+                new MapSqlParameterSource("nums", outboundOUTNums),
+                rs -> handler.accept(rs.getLong(1), readParentId(rs), readFields(rs, source.fieldCount())));
+    }
+
+    private static Long readParentId(ResultSet rs) throws SQLException {
+        long parentId = rs.getLong(2);
+        return rs.wasNull() ? null : parentId;
+    }
+
+    private static String[] readFields(ResultSet rs, int fieldCount) throws SQLException {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = rs.getString(i + 3);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mini_mes_3m_back.repository;
+
+import com.mini_mes_3m_back.dto.Etc.TypeaheadSuggestionDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// 자동완성 트라이 적재용 JDBC 조회 (추천 한 건 + 최근 변경 시각 + 거래처 구분)
+@Repository
+@RequiredArgsConstructor
+public class TypeaheadJdbcRepository {
+
+    public record Row(TypeaheadSuggestionDto suggestion, String partnerType, Instant touchedAt) {}
+
+    // sales_items 에는 수정 시각 컬럼이 없어서 수주품목은 등록 시각만 쓴다. (수정해도 최근 점수가 오르지 않고, 선택/사용 기록으로만 오름)
+    private static final String SALES_ITEM_SELECT =
+            "SELECT s.sales_item_id, s.item_code, s.item_name, COALESCE(p.name, s.partner_name) AS sub_label, s.active, " +
+            "NULL AS partner_type, s.created_at AS touched_at " +
+            "FROM sales_items s LEFT JOIN partners p ON p.partner_id = s.partner_id";
+
+    private static final String PARTNER_SELECT =
+            "SELECT p.partner_id, p.br_num, p.name, p.partner_type AS sub_label, p.active, " +
+            "p.partner_type, COALESCE(p.updated_at, p.created_at) AS touched_at " +
+            "FROM partners p";
+
+    private static final String RAWS_ITEM_SELECT =
+            "SELECT r.raws_item_id, r.item_code, r.item_name, p.name AS sub_label, r.active, " +
+            "NULL AS partner_type, COALESCE(r.updated_at, r.created_at) AS touched_at " +
+            "FROM raws_items r LEFT JOIN partners p ON p.partner_id = r.supplier_id";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public List<Row> findAllSalesItems() {
+        return namedParameterJdbcTemplate.query(SALES_ITEM_SELECT, rowMapper("sales-items"));
+    }
+
+    // 품목 변경 또는 거래처 변경(거래처명이 보조 표시로 나가므로) 시 다시 읽을 행
+    public List<Row> findSalesItems(Collection<Long> salesItemIds, Collection<Long> partnerIds) {
+        return namedParameterJdbcTemplate.query(
+                SALES_ITEM_SELECT + " WHERE s.sales_item_id IN (:ids) OR s.partner_id IN (:partnerIds)",
+                idParams(salesItemIds, partnerIds), rowMapper("sales-items"));
+    }
+
+    public List<Row> findAllPartners() {
+        return namedParameterJdbcTemplate.query(PARTNER_SELECT, rowMapper("partners"));
+    }
+
+    public List<Row> findPartners(Collection<Long> partnerIds) {
+        return namedParameterJdbcTemplate.query(PARTNER_SELECT + " WHERE p.partner_id IN (:ids)",
+                idParams(partnerIds, List.of()), rowMapper("partners"));
+    }
+
+    public List<Row> findAllRawsItems() {
+        return namedParameterJdbcTemplate.query(RAWS_ITEM_SELECT, rowMapper("raws-items"));
+    }
+
+    public List<Row> findRawsItems(Collection<Long> rawsItemIds, Collection<Long> supplierIds) {
+        return namedParameterJdbcTemplate.query(
+                RAWS_ITEM_SELECT + " WHERE r.raws_item_id IN (:ids) OR r.supplier_id IN (:partnerIds)",
+                idParams(rawsItemIds, supplierIds), rowMapper("raws-items"));
+    }
+
+    // 빈 IN () 은 문법 오류라서 비어 있으면 존재할 수 없는 ID 하나로 대신함
+    private static MapSqlParameterSource idParams(Collection<Long> ids, Collection<Long> partnerIds) {
+        return new MapSqlParameterSource()
+                .addValue("ids", ids.isEmpty() ? List.of(-1L) : ids)
+                .addValue("partnerIds", partnerIds.isEmpty() ? List.of(-1L) : partnerIds);
+    }
+
+    private static RowMapper<Row> rowMapper(String type) {
+        return (rs, rowNum) -> {
+            Timestamp touchedAt = rs.getTimestamp("touched_at");
+            return new Row(
+                    TypeaheadSuggestionDto.builder()
+                            .type(type)
+                            .id(rs.getLong(1))
+                            .code(rs.getString(2))
+                            .label(rs.getString(3))
+                            .subLabel(rs.getString("sub_label"))
+                            .active(rs.getBoolean("active"))
+                            .build(),
+                    rs.getString("partner_type"),
+                    touchedAt != null ? touchedAt.toInstant() : Instant.EPOCH
+            );
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.mini_mes_3m_back.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 목록 조회용 근사 전체 건수 캐시
+// - Slice(다음 페이지 여부만) 조회는 페이지마다 COUNT 를 하지 않는 대신, 같은 검색 조건의 전체 건수를 여기서 근사값으로 돌려준다.
+// - 조회 요청은 절대 COUNT 를 기다리지 않는다. 값이 없거나 오래되었으면 백그라운드(가상 스레드)에서 다시 세도록 걸어 두고, 있는 값(또는 null)을 바로 돌려준다.
+// - 같은 조건의 재계산은 동시에 하나만, 전체 동시 COUNT 수도 max-concurrent 개로 제한한다.
+// 목록 화면의 "약 N건" 표시용이므로 정확도가 필요한 곳(재고 수량 등)에는 쓰지 않는다.
+@Slf4j
+@Component
+public class ApproximateCountCache {
+
+    public record ApproximateCount(Long total, OffsetDateTime countedAt) {
+        static final ApproximateCount UNKNOWN = new ApproximateCount(null, null);
+    }
+
+    private static final class Entry {
+        private volatile long total = -1;       // -1: 아직 센 적 없음
+        private volatile OffsetDateTime countedAt;
+        private volatile long countedAtNanos;
+        private volatile long lastReadNanos;
+        private volatile boolean refreshing;
+    }
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final long refreshNanos;
+    private final int maxKeys;
+    private final Semaphore permits;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ApproximateCountCache(PlatformTransactionManager transactionManager,
+                                 @Value("${list.approximate-count.refresh-seconds:30}") long refreshSeconds,
+                                 @Value("${list.approximate-count.max-keys:1000}") int maxKeys,
+                                 @Value("${list.approximate-count.max-concurrent:2}") int maxConcurrent) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshNanos = TimeUnit.SECONDS.toNanos(refreshSeconds);
+        this.maxKeys = maxKeys;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 근사 전체 건수 조회 (기다리지 않음)
+     * @param kind 목록 종류 (operations, sales-items 등)
+     * @param condition 검색 조건을 문자열로 만든 값 (같은 조건이면 같은 값)
+     * @param counter 실제 COUNT 조회 (백그라운드 읽기 전용 트랜잭션에서 실행)
+     */
+    public ApproximateCount get(String kind, String condition, Supplier<Long> counter) {
+        String key = kind + "|" + (condition == null ? "" : condition.trim().toLowerCase());
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        long now = System.nanoTime();
+        entry.lastReadNanos = now;
+        if (entry.total < 0 || now - entry.countedAtNanos > refreshNanos) {
+            scheduleRefresh(key, entry, counter);
+        }
+        if (entries.size() > maxKeys) {
+            evictLeastRecentlyRead();
+        }
+        return entry.total < 0 ? ApproximateCount.UNKNOWN : new ApproximateCount(entry.total, entry.countedAt);
+    }
+
+    private void scheduleRefresh(String key, Entry entry, Supplier<Long> counter) {
+        synchronized (entry) {
+            if (entry.refreshing) {
+                return;
+            }
+            entry.refreshing = true;
+        }
+        executor.submit(() -> {
+            try {
+                permits.acquire();
+                try {
+                    Long total = readOnlyTransaction.execute(status -> counter.get());
+                    entry.total = total != null ? total : 0;
+                    entry.countedAt = OffsetDateTime.now();
+                    entry.countedAtNanos = System.nanoTime();
+                } finally {
+                    permits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("근사 전체 건수 계산 실패: {}", key, e);
+            } finally {
+                entry.refreshing = false;
+            }
+        });
+    }
+
+    // 조건 조합이 많아져도 메모리가 늘지 않도록, 가장 오래 조회되지 않은 조건부터 정리
+    private void evictLeastRecentlyRead() {
+        int excess = entries.size() - maxKeys;
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastReadNanos))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+}
@@ -0,0 +1,114 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.repository.CsvExportJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.Set;
+
+// 입고 이력 / 출고 이력 / 수주품목 CSV 내보내기
+// - 목록 화면과 같은 키워드(날짜/월/기간 포함) 조건으로, DB 에서 한 행 읽을 때마다 바로 CSV 한 줄을 쓴다.
+//   목록 조회처럼 전체를 List 에 담지 않으므로 건수와 무관하게 메모리 사용량이 일정하고, 첫 행부터 바로 전송된다.
+// - 키워드 검색 색인 조회는 요청 스레드에서 먼저 끝내고, 실제 조회/전송은 StreamingResponseBody 안에서 한다.
+//   색인에서 찾은 ID 가 MAX_ID_CONDITION 건을 넘으면(짧은 키워드 등) IN 목록 대신 LIKE 조건으로 조회한다. (SQL/패킷 크기 제한)
+@Service
+@RequiredArgsConstructor
+public class CsvExportService {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MAX_ID_CONDITION = 1000;
+
+    private final CsvExportJdbcRepository csvExportJdbcRepository;
+    private final KeywordSearchIndex keywordSearchIndex;
+
+    // --- 1. 입고 이력 (/sales-inbound/history 와 같은 조건) ---
+    public StreamingResponseBody exportSalesInboundHistory(String keyword) {
+        DateRangeKeyword search = DateRangeKeyword.parse(keyword);
+        Set<Long> ids = search.hasText() ? idCondition(keywordSearchIndex.searchSalesInboundIds(search.getText())) : null;
+        return out -> {
+            CsvRowWriter csv = new CsvRowWriter(out);
+            csv.row("입고ID", "거래처명", "품목번호", "품목명", "분류", "도장방식", "LOT번호", "수량", "입고일자", "비고", "출고처리", "등록일시");
+            csv.flush(); // 머리글부터 바로 전송
+            if (ids == null || !ids.isEmpty()) {
+                csvExportJdbcRepository.streamSalesInboundHistory(search.getText(), ids, search.getFrom(), search.getTo(),
+                        rs -> csv.row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                                rs.getString(6), rs.getString(7), rs.getInt(8), date(rs, 9), rs.getString(10),
+                                rs.getBoolean(11) ? "Y" : "N", dateTime(rs, 12)));
+            }
+            csv.flush();
+        };
+    }
+
+    // --- 2. 출고 이력 (/order/history/outbound 와 같은 조건) ---
+    public StreamingResponseBody exportSalesOutboundHistory(String keyword) {
+        DateRangeKeyword search = DateRangeKeyword.parse(keyword);
+        Set<Long> ids = search.hasText() ? idCondition(keywordSearchIndex.searchSalesOutboundIds(search.getText())) : null;
+        return out -> {
+            CsvRowWriter csv = new CsvRowWriter(out);
+            csv.row("출고ID", "출고번호", "거래처명", "품목번호", "품목명", "분류", "수량", "출고일자", "등록일시");
+            csv.flush();
+            if (ids == null || !ids.isEmpty()) {
+                csvExportJdbcRepository.streamSalesOutboundHistory(search.getText(), ids, search.getFrom(), search.getTo(),
+                        rs -> csv.row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                                rs.getString(6), rs.getInt(7), date(rs, 8), dateTime(rs, 9)));
+            }
+            csv.flush();
+        };
+    }
+
+    // --- 3. 수주품목 (/sales-items 와 같은 키워드 조건, 거래 상태 포함 전체) ---
+    public StreamingResponseBody exportSalesItems(String keyword) {
+        String text = keyword != null && !keyword.isBlank() ? keyword.trim() : null;
+        Set<Long> ids = text != null ? idCondition(keywordSearchIndex.searchSalesItemIds(text)) : null;
+        return out -> {
+            CsvRowWriter csv = new CsvRowWriter(out);
+            csv.row("품목ID", "거래처명", "품목번호", "품목명", "분류", "단가", "색상", "도장방식", "공정수", "거래상태", "비고");
+            csv.flush();
+            if (ids == null || !ids.isEmpty()) {
+                csvExportJdbcRepository.streamSalesItems(text, ids,
+                        rs -> csv.row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                                rs.getObject(6), rs.getString(7), rs.getString(8), rs.getObject(9),
+                                rs.getBoolean(10) ? "거래중" : "거래종료", rs.getString(11)));
+            }
+            csv.flush();
+        };
+    }
+
+    // 컨트롤러 응답: 첨부 파일 "이름-yyyyMMdd.csv" (text/csv, UTF-8)
+    public static ResponseEntity<StreamingResponseBody> attachment(String baseName, StreamingResponseBody body) {
+        String fileName = baseName + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".csv";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    // 색인 검색 결과를 ID 조건으로 쓸 수 있으면 그대로, 색인을 쓸 수 없거나 너무 많으면 null (LIKE 조건으로 조회)
+    private static Set<Long> idCondition(Optional<Set<Long>> found) {
+        return found.filter(ids -> ids.size() <= MAX_ID_CONDITION).orElse(null);
+    }
+
+    private static String date(ResultSet rs, int column) throws SQLException {
+        Date value = rs.getDate(column);
+        return value != null ? value.toLocalDate().toString() : null;
+    }
+
+    private static String dateTime(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime().format(DATE_TIME) : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.mini_mes_3m_back.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// CSV 내보내기용 행 단위 작성기 (UTF-8 BOM + RFC 4180, 줄바꿈 CRLF)
+// - BOM 을 붙여서 엑셀에서 바로 열어도 한글이 깨지지 않게 한다.
+// - 쉼표/따옴표/줄바꿈이 있는 값은 큰따옴표로 감싸고, =,+,-,@,탭,CR 로 시작하는 문자열은 수식으로 실행되지 않게 ' 를 붙인다.
+// - FLUSH_EVERY_ROWS 행마다 내보내서, 조회가 끝나기 전부터 응답이 나가고 버퍼가 쌓이지 않게 한다.
+// 조회 콜백(RowCallbackHandler) 안에서 쓰므로 입출력 오류는 UncheckedIOException 으로 던진다.
+public final class CsvRowWriter {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final Writer writer;
+    private int rowsSinceFlush = 0;
+
+    public CsvRowWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        write("\uFEFF");
+    }
+
+    public void row(Object... values) {
+        StringBuilder line = new StringBuilder(128);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendValue(line, values[i]);
+        }
+        line.append("\r\n");
+        write(line.toString());
+        if (++rowsSinceFlush >= FLUSH_EVERY_ROWS) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+            rowsSinceFlush = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 대부분 다운로드 취소 (클라이언트 연결 끊김)
+        }
+    }
+
+    private static void appendValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
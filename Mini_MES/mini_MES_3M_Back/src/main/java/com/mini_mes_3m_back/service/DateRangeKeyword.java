@@ -0,0 +1,129 @@
+package com.mini_mes_3m_back.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 검색 키워드에서 날짜 조건을 분리하는 파서
+// - 일자: 2025-10-01 (구분자 - . / 허용, 월/일 한 자리 허용)
+// - 월: 2025-10 → 그 달 1일 ~ 말일
+// - 기간: 2025-10-01~2025-10-15, 2025-09~2025-10, 2025-10-01~ (끝 생략), ~2025-10-15 (시작 생략)
+// 날짜로 인식된 토큰은 입고일/출고일 범위 조건(>= 시작일 AND <= 종료일)으로 바뀌고, 나머지 토큰은 문자열 검색어로 남는다.
+// 날짜 토큰이 여러 개면 모두를 감싸는 기간으로 합친다.
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DateRangeKeyword {
+
+    private static final Pattern DATE = Pattern.compile("(\\d{4})[-./](\\d{1,2})(?:[-./](\\d{1,2}))?");
+    private static final Pattern RANGE_SEPARATOR = Pattern.compile("\\s*~\\s*");
+
+    private final String text;     // 날짜를 뺀 나머지 검색어 (없으면 null)
+    private final LocalDate from;  // 시작일 (포함, 없으면 null)
+    private final LocalDate to;    // 종료일 (포함, 없으면 null)
+
+    public static DateRangeKeyword parse(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return new DateRangeKeyword(null, null, null);
+        }
+
+        LocalDate from = null;
+        LocalDate to = null;
+        boolean openStart = false;
+        boolean openEnd = false;
+        List<String> textTokens = new ArrayList<>();
+
+        for (String token : RANGE_SEPARATOR.matcher(keyword.trim()).replaceAll("~").split("\\s+")) {
+            LocalDate[] range = parseToken(token);
+            if (range == null) {
+                textTokens.add(token);
+                continue;
+            }
+            openStart |= range[0] == null;
+            openEnd |= range[1] == null;
+            from = earlier(from, range[0]);
+            to = later(to, range[1]);
+        }
+
+        return new DateRangeKeyword(
+                textTokens.isEmpty() ? null : String.join(" ", textTokens),
+                openStart ? null : from,
+                openEnd ? null : to
+        );
+    }
+
+    public boolean hasDateRange() {
+        return from != null || to != null;
+    }
+
+    public boolean hasText() {
+        return text != null;
+    }
+
+    // 토큰 하나를 [시작, 끝] 으로 변환 (날짜가 아니면 null, 열린 쪽은 배열 안에서 null)
+    private static LocalDate[] parseToken(String token) {
+        int tilde = token.indexOf('~');
+        if (tilde < 0) {
+            return parseDateOrMonth(token);
+        }
+        if (tilde != token.lastIndexOf('~')) {
+            return null;
+        }
+        String left = token.substring(0, tilde);
+        String right = token.substring(tilde + 1);
+        if (left.isEmpty() && right.isEmpty()) {
+            return null;
+        }
+        LocalDate[] start = left.isEmpty() ? new LocalDate[]{null, null} : parseDateOrMonth(left);
+        LocalDate[] end = right.isEmpty() ? new LocalDate[]{null, null} : parseDateOrMonth(right);
+        if (start == null || end == null) {
+            return null;
+        }
+        LocalDate rangeFrom = start[0];
+        LocalDate rangeTo = end[1];
+        if (rangeFrom != null && rangeTo != null && rangeFrom.isAfter(rangeTo)) {
+            // 거꾸로 입력한 기간 (2025-10-15~2025-10-01)
+            rangeFrom = end[0];
+            rangeTo = start[1];
+        }
+        return new LocalDate[]{rangeFrom, rangeTo};
+    }
+
+    private static LocalDate[] parseDateOrMonth(String value) {
+        Matcher m = DATE.matcher(value);
+        if (!m.matches()) {
+            return null;
+        }
+        try {
+            int year = Integer.parseInt(m.group(1));
+            int month = Integer.parseInt(m.group(2));
+            if (m.group(3) == null) {
+                YearMonth ym = YearMonth.of(year, month);
+                return new LocalDate[]{ym.atDay(1), ym.atEndOfMonth()};
+            }
+            LocalDate date = LocalDate.of(year, month, Integer.parseInt(m.group(3)));
+            return new LocalDate[]{date, date};
+        } catch (DateTimeException e) {
+            return null; // 2025-13-01 처럼 없는 날짜는 일반 검색어로 취급
+        }
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mini_mes_3m_back.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// LOT/MINC/MOUT/OUT 문서번호 공통 발번기
+// - DB 시퀀스 행(document_sequences)에서 블록 단위로 번호를 선점하고, 블록 안의 번호는 메모리 카운터로 나눠준다.
+// - 업무 트랜잭션이 롤백되거나 서버가 재시작되면 선점했던 번호는 버려진다 (번호 사이 공백 허용).
+// - 같은 날 문서가 수천 건이어도 발번 비용은 블록마다 한 번의 행 잠금뿐이라 일정하다.
+// - 블록 선점(REQUIRES_NEW, 커넥션 하나 더 사용)은 블록 모니터 밖에서 한다.
+//   업무 트랜잭션(커넥션 보유) 중인 다른 발번 요청이 선점 DB 왕복을 기다리며 풀을 붙잡고 있지 않도록,
+//   블록이 비어 있으면 각자 새 블록을 선점해서 쓰고 남은 번호만 공용 블록으로 넘긴다.
+// - 지난 일자의 블록은 날짜가 바뀐 뒤 첫 발번 때 지운다. (지난 일자로 다시 발번하면 새 블록을 선점)
+@Service
+public class DocumentNumberService {
+
+    public static final String LOT = "LOT";   // 수주품목 입고
+    public static final String MINC = "MINC"; // 원자재 입고
+    public static final String MOUT = "MOUT"; // 원자재 출고
+    public static final String OUT = "OUT";   // 수주품목 출고
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final DocumentSequenceAllocator documentSequenceAllocator;
+    private final int blockSize;
+
+    // seqKey(접두어-일자) -> 현재 선점해 둔 번호 블록
+    private final ConcurrentHashMap<String, SequenceBlock> blocks = new ConcurrentHashMap<>();
+    private volatile LocalDate lastEvictionDate = LocalDate.MIN;
+
+    public DocumentNumberService(DocumentSequenceAllocator documentSequenceAllocator,
+                                 @Value("${document-number.block-size:20}") int blockSize) {
+        this.documentSequenceAllocator = documentSequenceAllocator;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * 문서번호 한 건 발번 (예: LOT-20251018-001)
+     * @param type 문서 접두어 (LOT, MINC, MOUT, OUT)
+     * @param date 문서 기준 일자
+     * @param seed 해당 일자의 시퀀스 행이 아직 없을 때, 기존 문서에서 이미 사용된 마지막 번호
+     */
+    public String nextNumber(String type, LocalDate date, LongSupplier seed) {
+        return nextNumbers(type, date, 1, seed).get(0);
+    }
+
+    // 문서번호 여러 건을 한 번에 발번 (일괄 등록용)
+    public List<String> nextNumbers(String type, LocalDate date, int count, LongSupplier seed) {
+        evictPastBlocks();
+        String seqKey = type + "-" + date.format(DATE_FORMAT);
+        SequenceBlock block = blocks.computeIfAbsent(seqKey, k -> new SequenceBlock(date));
+
+        List<String> numbers = new ArrayList<>(count);
+        block.take(seqKey, numbers, count); // 공용 블록에 남은 번호부터 (메모리 안에서만 직렬화)
+        if (numbers.size() < count) {
+            // 모니터 밖에서 선점: 선점하는 동안 같은 키의 다른 요청을 세우지 않음
+            int size = Math.max(blockSize, count - numbers.size());
+            long next = reserveBlock(seqKey, size, seed);
+            long last = next + size - 1;
+            while (numbers.size() < count) {
+                numbers.add(format(seqKey, next++));
+            }
+            block.offer(next, last); // 남은 번호는 공용 블록이 비어 있으면 넘기고, 아니면 버림 (공백 허용)
+        }
+        return numbers;
+    }
+
+    // 날짜가 바뀐 뒤 첫 호출에서 지난 일자 블록 제거 (키가 일자별로 계속 늘어나지 않도록)
+    private void evictPastBlocks() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(lastEvictionDate)) {
+            lastEvictionDate = today;
+            blocks.values().removeIf(block -> block.date.isBefore(today));
+        }
+    }
+
+    private static String format(String seqKey, long value) {
+        return seqKey + "-" + String.format("%03d", value);
+    }
+
+    // 시퀀스 행 최초 생성이 다른 서버와 겹치면 (중복 키/잠금 충돌) 다시 시도
+    private long reserveBlock(String seqKey, int size, LongSupplier seed) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return documentSequenceAllocator.reserveBlock(seqKey, size, seed);
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static class SequenceBlock {
+        private final LocalDate date;
+        private long next = 1;
+        private long last = 0; // next > last 이면 블록 소진
+
+        private SequenceBlock(LocalDate date) {
+            this.date = date;
+        }
+
+        // 남은 번호를 count 건까지 꺼냄
+        private synchronized void take(String seqKey, List<String> numbers, int count) {
+            while (numbers.size() < count && next <= last) {
+                numbers.add(format(seqKey, next++));
+            }
+        }
+
+        // 새로 선점한 블록의 남은 번호 [next, last] 를 넘겨받음 (이미 다른 블록이 채워져 있으면 무시)
+        private synchronized void offer(long next, long last) {
+            if (next <= last && this.next > this.last) {
+                this.next = next;
+                this.last = last;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.entity.DocumentSequence;
+import com.mini_mes_3m_back.repository.DocumentSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+// 시퀀스 테이블에서 번호 블록을 선점하는 역할만 담당
+// 호출한 업무 트랜잭션과 분리(REQUIRES_NEW)해서 행 잠금을 짧게 유지한다.
+@Component
+@RequiredArgsConstructor
+public class DocumentSequenceAllocator {
+
+    private final DocumentSequenceRepository documentSequenceRepository;
+
+    /**
+     * seqKey의 다음 번호 블록을 선점한다.
+     * @param seqKey 접두어 + 일자 (예: LOT-20251018)
+     * @param blockSize 선점할 번호 개수
+     * @param seed 시퀀스 행이 처음 만들어질 때 기존 문서에서 이미 사용된 마지막 번호
+     * @return 선점한 블록의 첫 번호 (블록은 [반환값, 반환값 + blockSize - 1])
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveBlock(String seqKey, int blockSize, LongSupplier seed) {
+        DocumentSequence sequence = documentSequenceRepository.findForUpdate(seqKey)
+                .orElseGet(() -> DocumentSequence.builder()
+                        .seqKey(seqKey)
+                        .lastValue(seed.getAsLong()) // 시퀀스 도입 전에 발번된 번호와 겹치지 않도록
+                        .build());
+
+        long start = sequence.getLastValue() + 1;
+        sequence.setLastValue(sequence.getLastValue() + blockSize);
+        documentSequenceRepository.saveAndFlush(sequence);
+        return start;
+    }
+}
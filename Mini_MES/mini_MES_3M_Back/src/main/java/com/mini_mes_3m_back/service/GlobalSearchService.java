@@ -0,0 +1,359 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Search.GlobalSearchGroupDto;
+import com.mini_mes_3m_back.dto.Search.GlobalSearchHitDto;
+import com.mini_mes_3m_back.dto.Search.GlobalSearchResponseDto;
+import com.mini_mes_3m_back.entity.Partner;
+import com.mini_mes_3m_back.entity.RawsItem;
+import com.mini_mes_3m_back.entity.SalesInbound;
+import com.mini_mes_3m_back.entity.SalesItem;
+import com.mini_mes_3m_back.entity.SalesOutbound;
+import com.mini_mes_3m_back.repository.PartnerRepository;
+import com.mini_mes_3m_back.repository.RawsItemRepository;
+import com.mini_mes_3m_back.repository.SalesHistoryOutboundRepository;
+import com.mini_mes_3m_back.repository.SalesInboundRepository;
+import com.mini_mes_3m_back.repository.SalesItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 통합 검색: 키워드 하나를 거래처 / 수주품목 / 원자재 품목 / 입고 LOT / 출고 이력 5곳에 동시에 검색
+// - 소스마다 가상 스레드 하나에서 읽기 전용 트랜잭션으로 조회하므로 전체 응답 시간은 가장 느린 소스 기준이다.
+// - 소스별 제한 시간을 넘기면 그 소스만 TIMEOUT 으로 표시하고 나머지 결과는 그대로 돌려준다.
+// - 결과마다 관련도(필드 전체 일치 > 앞부분 일치 > 단어 앞부분 일치 > 부분 일치)를 매겨 소스별 상위와 전체 상위를 만든다.
+//   거래처/수주품목/원자재 품목은 색인 결과 ID 를 먼저 색인 필드로 관련도순 정렬해서 상위만 DB 에서 읽는다.
+// 키워드의 날짜/월/기간은 입고일·출고일 조건으로 쓴다. (DateRangeKeyword)
+// 검색 한 건이 커넥션을 소스 수(5)만큼 쓰므로
+// - 트랜잭션 제한 시간(= 쿼리 제한 시간)을 걸어, 응답을 포기한 소스의 쿼리도 DB 에서 끝나고 커넥션을 돌려주게 하고
+// - 동시에 진행 중인 통합 검색 수를 max-concurrent 로 제한한다. (소스 쿼리가 모두 끝나야 자리가 빔)
+@Slf4j
+@Service
+public class GlobalSearchService {
+
+    public static final String PARTNERS = "partners";
+    public static final String SALES_ITEMS = "sales-items";
+    public static final String RAWS_ITEMS = "raws-items";
+    public static final String SALES_INBOUNDS = "sales-inbounds";
+    public static final String SALES_OUTBOUNDS = "sales-outbounds";
+
+    private static final int MAX_LIMIT = 20;
+    private static final int FETCH_FACTOR = 4; // 관련도로 다시 고르기 위해 소스마다 limit 의 몇 배까지 읽을지
+    private static final double DATE_ONLY_SCORE = 0.5; // 날짜 조건만으로 찾은 입고/출고 (최신순으로 이미 정렬됨)
+
+    private final PartnerRepository partnerRepository;
+    private final SalesItemRepository salesItemRepository;
+    private final RawsItemRepository rawsItemRepository;
+    private final SalesInboundRepository salesInboundRepository;
+    private final SalesHistoryOutboundRepository salesHistoryOutboundRepository;
+    private final KeywordSearchIndex keywordSearchIndex;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long sourceTimeoutMillis;
+    private final Semaphore fanOuts;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public GlobalSearchService(PartnerRepository partnerRepository,
+                               SalesItemRepository salesItemRepository,
+                               RawsItemRepository rawsItemRepository,
+                               SalesInboundRepository salesInboundRepository,
+                               SalesHistoryOutboundRepository salesHistoryOutboundRepository,
+                               KeywordSearchIndex keywordSearchIndex,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${search.global.source-timeout-millis:1000}") long sourceTimeoutMillis,
+                               @Value("${search.global.max-concurrent:2}") int maxConcurrent) {
+        this.partnerRepository = partnerRepository;
+        this.salesItemRepository = salesItemRepository;
+        this.rawsItemRepository = rawsItemRepository;
+        this.salesInboundRepository = salesInboundRepository;
+        this.salesHistoryOutboundRepository = salesHistoryOutboundRepository;
+        this.keywordSearchIndex = keywordSearchIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 초 단위라 올림 (제한 시간을 넘긴 쿼리는 Hibernate 쿼리 제한 시간으로 DB 에서 취소됨)
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sourceTimeoutMillis + 999)));
+        this.sourceTimeoutMillis = sourceTimeoutMillis;
+        this.fanOuts = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 통합 검색
+     * @param keyword 검색어 (필수)
+     * @param limit 소스별/전체 상위 건수 (1 ~ 20)
+     */
+    public GlobalSearchResponseDto search(String keyword, int limit) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new IllegalArgumentException("검색어를 입력해 주세요.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + MAX_LIMIT + " 사이여야 합니다.");
+        }
+        long started = System.nanoTime();
+        DateRangeKeyword search = DateRangeKeyword.parse(keyword);
+        Pageable fetch = PageRequest.of(0, limit * FETCH_FACTOR);
+
+        // --- 1. 소스별 검색 동시 시작 ---
+        Map<String, Function<DateRangeKeyword, List<GlobalSearchHitDto>>> sources = new LinkedHashMap<>();
+        sources.put(PARTNERS, s -> searchPartners(s, fetch));
+        sources.put(SALES_ITEMS, s -> searchSalesItems(s, fetch));
+        sources.put(RAWS_ITEMS, s -> searchRawsItems(s, fetch));
+        sources.put(SALES_INBOUNDS, s -> searchSalesInbounds(s, fetch));
+        sources.put(SALES_OUTBOUNDS, s -> searchSalesOutbounds(s, fetch));
+
+        try {
+            if (!fanOuts.tryAcquire(sourceTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("통합 검색 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("통합 검색이 중단되었습니다.", e);
+        }
+        // 마지막 소스 작업이 끝날 때(시작 전에 취소된 작업은 취소 시점에) 자리를 돌려줌
+        AtomicInteger remaining = new AtomicInteger(sources.size());
+        Runnable sourceDone = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                fanOuts.release();
+            }
+        };
+
+        Map<String, Future<List<GlobalSearchHitDto>>> futures = new LinkedHashMap<>();
+        Map<String, AtomicBoolean> claimed = new LinkedHashMap<>();
+        Map<String, Long> startedAt = new LinkedHashMap<>();
+        sources.forEach((source, query) -> {
+            AtomicBoolean started = new AtomicBoolean();
+            claimed.put(source, started);
+            startedAt.put(source, System.nanoTime());
+            futures.put(source, executor.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return List.<GlobalSearchHitDto>of(); // 시작 전에 취소됨
+                }
+                try {
+                    return readOnlyTransaction.execute(status -> query.apply(search));
+                } finally {
+                    sourceDone.run();
+                }
+            }));
+        });
+
+        // --- 2. 제한 시간까지 모으기 (모든 소스가 같은 시각에 시작했으므로 마감 시각도 하나) ---
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sourceTimeoutMillis);
+        List<GlobalSearchGroupDto> groups = new ArrayList<>();
+        List<GlobalSearchHitDto> all = new ArrayList<>();
+        futures.forEach((source, future) -> {
+            String status = "OK";
+            List<GlobalSearchHitDto> hits = List.of();
+            try {
+                hits = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS).stream()
+                        .sorted(Comparator.comparingDouble(GlobalSearchHitDto::getScore).reversed())
+                        .limit(limit)
+                        .toList();
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                if (claimed.get(source).compareAndSet(false, true)) {
+                    sourceDone.run(); // 시작도 못 한 작업
+                }
+                status = "TIMEOUT";
+                log.warn("통합 검색 소스 제한 시간 초과: source={}, keyword={}", source, keyword);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                if (claimed.get(source).compareAndSet(false, true)) {
+                    sourceDone.run();
+                }
+                status = "ERROR";
+            } catch (ExecutionException e) {
+                status = "ERROR";
+                log.warn("통합 검색 소스 실패: source={}, keyword={}", source, keyword, e.getCause());
+            }
+            all.addAll(hits);
+            groups.add(GlobalSearchGroupDto.builder()
+                    .source(source)
+                    .status(status)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt.get(source)))
+                    .hits(hits)
+                    .build());
+        });
+
+        return GlobalSearchResponseDto.builder()
+                .keyword(keyword)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .topHits(all.stream()
+                        .sorted(Comparator.comparingDouble(GlobalSearchHitDto::getScore).reversed())
+                        .limit(limit)
+                        .toList())
+                .groups(groups)
+                .build();
+    }
+
+    // --- 소스별 검색 (색인을 쓸 수 없으면 기존 LIKE 조회) ---
+    private List<GlobalSearchHitDto> searchPartners(DateRangeKeyword search, Pageable fetch) {
+        if (!search.hasText()) {
+            return List.of(); // 날짜만 있는 검색은 입고/출고에만 해당
+        }
+        String text = search.getText();
+        List<Partner> partners = keywordSearchIndex.searchPartnerIds(text)
+                .map(ids -> ids.isEmpty() ? List.<Partner>of()
+                        : partnerRepository.findByPartnerIdIn(keywordSearchIndex.topPartnerIds(ids, text, fetch.getPageSize()), fetch))
+                .orElseGet(() -> partnerRepository.searchByName(text, fetch));
+        return partners.stream()
+                .map(p -> GlobalSearchHitDto.builder()
+                        .source(PARTNERS)
+                        .id(p.getPartnerId())
+                        .code(p.getBrNum())
+                        .title(p.getName())
+                        .subtitle(p.getPartnerType())
+                        .score(relevance(text, p.getName()))
+                        .build())
+                .toList();
+    }
+
+    private List<GlobalSearchHitDto> searchSalesItems(DateRangeKeyword search, Pageable fetch) {
+        if (!search.hasText()) {
+            return List.of();
+        }
+        String text = search.getText();
+        List<SalesItem> items = keywordSearchIndex.searchSalesItemIds(text)
+                .map(ids -> ids.isEmpty() ? List.<SalesItem>of()
+                        : salesItemRepository.findBySalesItemIdIn(keywordSearchIndex.topSalesItemIds(ids, text, fetch.getPageSize()), fetch).getContent())
+                .orElseGet(() -> salesItemRepository.searchByKeyword(text, fetch).getContent());
+        return items.stream()
+                .map(si -> GlobalSearchHitDto.builder()
+                        .source(SALES_ITEMS)
+                        .id(si.getSalesItemId())
+                        .code(si.getItemCode())
+                        .title(si.getItemName())
+                        .subtitle(si.getPartnerName())
+                        .score(relevance(text, si.getItemCode(), si.getItemName(), si.getPartnerName()))
+                        .build())
+                .toList();
+    }
+
+    private List<GlobalSearchHitDto> searchRawsItems(DateRangeKeyword search, Pageable fetch) {
+        if (!search.hasText()) {
+            return List.of();
+        }
+        String text = search.getText();
+        List<RawsItem> items = keywordSearchIndex.searchRawsItemIds(text)
+                .map(ids -> ids.isEmpty() ? List.<RawsItem>of()
+                        : rawsItemRepository.findActiveRawsItemsForInboundByIds(keywordSearchIndex.topRawsItemIds(ids, text, fetch.getPageSize()), fetch))
+                .orElseGet(() -> rawsItemRepository.searchActiveRawsItemsForInbound(text, fetch));
+        return items.stream()
+                .map(ri -> GlobalSearchHitDto.builder()
+                        .source(RAWS_ITEMS)
+                        .id(ri.getRawsItemId())
+                        .code(ri.getItemCode())
+                        .title(ri.getItemName())
+                        .subtitle(ri.getSupplier().getName())
+                        .score(relevance(text, ri.getItemCode(), ri.getItemName(), ri.getManufacturer(), ri.getSupplier().getName()))
+                        .build())
+                .toList();
+    }
+
+    private List<GlobalSearchHitDto> searchSalesInbounds(DateRangeKeyword search, Pageable fetch) {
+        List<SalesInbound> lots;
+        if (search.hasText()) {
+            lots = keywordSearchIndex.searchSalesInboundIds(search.getText())
+                    .map(ids -> ids.isEmpty() ? List.<SalesInbound>of()
+                            : salesInboundRepository.scrollActiveSalesInboundsByIds(ids, search.getFrom(), search.getTo(), null, null, fetch))
+                    .orElseGet(() -> salesInboundRepository.scrollActiveSalesInbounds(search.getText(), search.getFrom(), search.getTo(), null, null, fetch));
+        } else {
+            lots = salesInboundRepository.scrollActiveSalesInbounds(null, search.getFrom(), search.getTo(), null, null, fetch);
+        }
+        return lots.stream()
+                .map(si -> GlobalSearchHitDto.builder()
+                        .source(SALES_INBOUNDS)
+                        .id(si.getInboundId())
+                        .code(si.getInboundLOTNum())
+                        .title(si.getItem().getItemName())
+                        .subtitle(si.getItem().getPartner().getName())
+                        .date(si.getReceivedAt())
+                        .score(search.hasText()
+                                ? relevance(search.getText(), si.getInboundLOTNum(), si.getItem().getItemCode(),
+                                        si.getItem().getItemName(), si.getItem().getPartner().getName())
+                                : DATE_ONLY_SCORE)
+                        .build())
+                .toList();
+    }
+
+    private List<GlobalSearchHitDto> searchSalesOutbounds(DateRangeKeyword search, Pageable fetch) {
+        List<SalesOutbound> outbounds;
+        if (search.hasText()) {
+            outbounds = keywordSearchIndex.searchSalesOutboundIds(search.getText())
+                    .map(ids -> ids.isEmpty() ? List.<SalesOutbound>of()
+                            : salesHistoryOutboundRepository.scrollActiveOutboundsByIds(ids, search.getFrom(), search.getTo(), null, null, fetch))
+                    .orElseGet(() -> salesHistoryOutboundRepository.scrollActiveOutbounds(search.getText(), search.getFrom(), search.getTo(), null, null, fetch));
+        } else {
+            outbounds = salesHistoryOutboundRepository.scrollActiveOutbounds(null, search.getFrom(), search.getTo(), null, null, fetch);
+        }
+        return outbounds.stream()
+                .map(o -> GlobalSearchHitDto.builder()
+                        .source(SALES_OUTBOUNDS)
+                        .id(o.getOutboundId())
+                        .code(o.getOutboundOUTNum())
+                        .title(o.getInbound().getItem().getItemName())
+                        .subtitle(o.getInbound().getItem().getPartnerName())
+                        .date(o.getShippedAt())
+                        .score(search.hasText()
+                                ? relevance(search.getText(), o.getOutboundOUTNum(), o.getInbound().getItem().getItemCode(),
+                                        o.getInbound().getItem().getItemName(), o.getInbound().getItem().getPartnerName())
+                                : DATE_ONLY_SCORE)
+                        .build())
+                .toList();
+    }
+
+    // 관련도: 여러 필드 중 가장 잘 맞는 필드 기준
+    // 1.0 필드 전체 일치 / 0.8 앞부분 일치 / 0.6 단어 앞부분 일치 / 0.4 부분 일치 / 0 불일치
+    // 같은 등급이면 필드가 짧을수록(검색어가 차지하는 비율이 클수록) 조금 더 높게
+    static double relevance(String keyword, String... fields) {
+        String kw = keyword.trim().toLowerCase(Locale.ROOT);
+        double best = 0;
+        for (String field : fields) {
+            if (field == null || field.isEmpty()) {
+                continue;
+            }
+            String value = field.toLowerCase(Locale.ROOT);
+            int pos = value.indexOf(kw);
+            if (pos < 0) {
+                continue;
+            }
+            double grade;
+            if (value.equals(kw)) {
+                grade = 1.0;
+            } else if (pos == 0) {
+                grade = 0.8;
+            } else if (Character.isWhitespace(value.charAt(pos - 1)) || value.charAt(pos - 1) == '-') {
+                grade = 0.6;
+            } else {
+                grade = 0.4;
+            }
+            best = Math.max(best, grade + 0.1 * kw.length() / value.length());
+        }
+        return Math.min(best, 1.0);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mini_mes_3m_back.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 입고/출고 이력 커서: 마지막으로 내려준 행의 (일자, ID)
+// 이력은 (일자 DESC, ID DESC) 로 정렬하므로, 다음 페이지는 이 값보다 "앞선" 행부터 읽는다.
+// 외부에는 "yyyy-MM-dd:id" 를 Base64(URL-safe) 로 감싼 문자열로 내보낸다.
+// 일자가 비어 있는 행(정렬상 맨 뒤)은 ":id" 로 내보내고, 그 뒤로는 일자가 빈 행끼리 ID 순으로 이어서 읽는다.
+record HistoryCursor(LocalDate date, Long id) {
+
+    static HistoryCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null; // 첫 페이지
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            LocalDate date = sep == 0 ? null : LocalDate.parse(raw.substring(0, sep));
+            return new HistoryCursor(date, Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("올바르지 않은 커서입니다: " + token);
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(((date != null ? date.toString() : "") + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,192 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Inventory.RawItemStockAsOfResponseDto;
+import com.mini_mes_3m_back.entity.InventoryMovement;
+import com.mini_mes_3m_back.entity.InventoryMovement.MovementType;
+import com.mini_mes_3m_back.entity.InventorySnapshot;
+import com.mini_mes_3m_back.entity.RawInbound;
+import com.mini_mes_3m_back.entity.RawOutbound;
+import com.mini_mes_3m_back.entity.RawsItem;
+import com.mini_mes_3m_back.repository.InventoryMovementJdbcRepository;
+import com.mini_mes_3m_back.repository.InventoryMovementRepository;
+import com.mini_mes_3m_back.repository.InventorySnapshotRepository;
+import com.mini_mes_3m_back.repository.RawsItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// 원자재 재고 수불 원장 + 일자별 스냅샷 관리
+// 특정 일자 재고 = 가장 가까운 이전 스냅샷 + (스냅샷 다음날 ~ 기준일) 수불 합계
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryLedgerService {
+
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final InventoryMovementJdbcRepository inventoryMovementJdbcRepository;
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+    private final RawsItemRepository rawsItemRepository;
+
+    // --- 입고 수불 기록 (재고 증가와 같은 트랜잭션에서 호출) ---
+    @Transactional
+    public void recordInbound(RawInbound inbound, int balanceAfter) {
+        record(inbound.getRawsItem(), MovementType.INBOUND, inbound.getQty(),
+                inbound.getInboundDate(), inbound.getRawInboundNum(), balanceAfter);
+    }
+
+    // --- 대량 입고 수불 기록 (JDBC 배치) ---
+    // @param balances 품목 ID -> 모든 입고 반영 후 재고량. 각 행의 반영 직후 재고는 입력 순서대로 역산한다.
+    @Transactional
+    public void recordInbounds(List<RawInbound> inbounds, Map<Long, Integer> balances) {
+        Map<Long, Integer> running = new HashMap<>();
+        for (RawInbound inbound : inbounds) {
+            running.merge(inbound.getRawsItem().getRawsItemId(), -inbound.getQty(), Integer::sum);
+        }
+        running.replaceAll((rawsItemId, negativeTotal) -> balances.getOrDefault(rawsItemId, 0) + negativeTotal);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<InventoryMovement> movements = new ArrayList<>(inbounds.size());
+        Map<Long, LocalDate> earliestDate = new HashMap<>();
+        for (RawInbound inbound : inbounds) {
+            Long rawsItemId = inbound.getRawsItem().getRawsItemId();
+            int balanceAfter = running.merge(rawsItemId, inbound.getQty(), Integer::sum);
+            movements.add(InventoryMovement.builder()
+                    .rawsItem(inbound.getRawsItem())
+                    .movementType(MovementType.INBOUND)
+                    .qty(inbound.getQty())
+                    .balanceAfter(balanceAfter)
+                    .movementDate(inbound.getInboundDate())
+                    .documentNum(inbound.getRawInboundNum())
+                    .createdAt(now)
+                    .build());
+            earliestDate.merge(rawsItemId, inbound.getInboundDate(), (a, b) -> a.isBefore(b) ? a : b);
+        }
+        inventoryMovementJdbcRepository.batchInsert(movements);
+
+        // 소급 입고가 있는 품목만 스냅샷 무효화 (품목당 한 번)
+        LocalDate today = LocalDate.now();
+        earliestDate.forEach((rawsItemId, date) -> {
+            if (date.isBefore(today)) {
+                inventorySnapshotRepository.deleteFromDate(rawsItemId, date);
+            }
+        });
+    }
+
+    // --- 출고 수불 기록 (재고 차감과 같은 트랜잭션에서 호출) ---
+    @Transactional
+    public void recordOutbound(RawOutbound outbound, int balanceAfter) {
+        record(outbound.getRawsItem(), MovementType.OUTBOUND, -outbound.getQty(),
+                outbound.getShippedAt(), outbound.getRawOutboundMOUTNum(), balanceAfter);
+    }
+
+    // --- 재고 조정 수불 기록 (qty는 부호 있는 증감량) ---
+    @Transactional
+    public void recordAdjustment(RawsItem rawsItem, int qty, LocalDate movementDate, int balanceAfter) {
+        record(rawsItem, MovementType.ADJUSTMENT, qty, movementDate, null, balanceAfter);
+    }
+
+    private void record(RawsItem rawsItem, MovementType type, int qty, LocalDate movementDate,
+                        String documentNum, int balanceAfter) {
+        inventoryMovementRepository.save(InventoryMovement.builder()
+                .rawsItem(rawsItem)
+                .movementType(type)
+                .qty(qty)
+                .balanceAfter(balanceAfter)
+                .movementDate(movementDate)
+                .documentNum(documentNum)
+                .build());
+
+        // 이미 마감된 일자로 소급 등록된 경우, 그 일자 이후 스냅샷은 틀려지므로 삭제
+        // (조회는 더 이전 스냅샷 + 수불로 계산되고, 다음 스냅샷 작업이 소급 일자부터 수불 일자별로 다시 만듦)
+        if (movementDate.isBefore(LocalDate.now())) {
+            inventorySnapshotRepository.deleteFromDate(rawsItem.getRawsItemId(), movementDate);
+        }
+    }
+
+    // --- 특정 일자(마감 기준) 원자재 재고 조회 ---
+    @Transactional(readOnly = true)
+    public RawItemStockAsOfResponseDto getStockAsOf(Long rawsItemId, LocalDate date) {
+        RawsItem rawsItem = rawsItemRepository.findById(rawsItemId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 원자재 품목입니다. ID: " + rawsItemId));
+
+        return new RawItemStockAsOfResponseDto(
+                rawsItem.getRawsItemId(),
+                rawsItem.getItemCode(),
+                rawsItem.getItemName(),
+                date,
+                calculateStockAsOf(rawsItemId, date)
+        );
+    }
+
+    private int calculateStockAsOf(Long rawsItemId, LocalDate date) {
+        Optional<InventorySnapshot> snapshot = inventorySnapshotRepository
+                .findFirstByRawsItem_RawsItemIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(rawsItemId, date);
+
+        if (snapshot.isPresent()) {
+            InventorySnapshot s = snapshot.get();
+            return Math.toIntExact(s.getQty() + inventoryMovementRepository.sumQtyBetween(rawsItemId, s.getSnapshotDate(), date));
+        }
+        return Math.toIntExact(inventoryMovementRepository.sumQtyUpTo(rawsItemId, date));
+    }
+
+    // --- 일 마감 스냅샷 생성 (전날 이후 수불이 기록된 품목만) ---
+    // 수불이 없는 품목은 이전 스냅샷이 그대로 유효하므로 만들지 않는다.
+    // 소급 수불(수불 일자 < 기준일)이 있던 품목은 삭제된 스냅샷을 소급 일자부터 수불이 있던 일자마다 다시 만든다. (오래된 순)
+    @Scheduled(cron = "${inventory.snapshot.cron:0 10 0 * * *}")
+    @Transactional
+    public void takeDailySnapshots() {
+        LocalDate snapshotDate = LocalDate.now().minusDays(1);
+        OffsetDateTime since = snapshotDate.atStartOfDay().atZone(ZoneId.systemDefault()).toOffsetDateTime();
+
+        List<Object[]> recorded = inventoryMovementRepository.findEarliestMovementDatesRecordedSince(since);
+        int created = 0;
+        for (Object[] row : recorded) {
+            Long rawsItemId = (Long) row[0];
+            LocalDate earliest = (LocalDate) row[1];
+            List<LocalDate> dates = new ArrayList<>();
+            if (earliest.isBefore(snapshotDate)) {
+                dates.addAll(inventoryMovementRepository.findMovementDatesBetween(rawsItemId, earliest, snapshotDate.minusDays(1)));
+            }
+            dates.add(snapshotDate);
+            for (LocalDate date : dates) {
+                if (inventorySnapshotRepository.existsByRawsItem_RawsItemIdAndSnapshotDate(rawsItemId, date)) {
+                    continue;
+                }
+                // 앞 일자 스냅샷을 먼저 저장하므로 다음 일자는 그 스냅샷 + 하루치 수불로 계산됨
+                inventorySnapshotRepository.save(InventorySnapshot.builder()
+                        .rawsItem(rawsItemRepository.getReferenceById(rawsItemId))
+                        .snapshotDate(date)
+                        .qty(calculateStockAsOf(rawsItemId, date))
+                        .build());
+                created++;
+            }
+        }
+        log.info("재고 스냅샷 생성 완료: 기준일={}, 생성={}건", snapshotDate, created);
+    }
+
+    // --- 원장 도입 전 입고/출고 이력 이관 (원장이 비어 있을 때만) ---
+    @Transactional
+    public void backfillIfEmpty() {
+        if (inventoryMovementRepository.count() > 0) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        int inbound = inventoryMovementRepository.backfillFromRawInbound(now);
+        int outbound = inventoryMovementRepository.backfillFromRawOutbound(now);
+        int adjustment = inventoryMovementRepository.backfillOpeningAdjustments(LocalDate.now(), now);
+        if (inbound + outbound + adjustment > 0) {
+            log.info("재고 수불 원장 이관 완료: 입고={}건, 출고={}건, 기초조정={}건", inbound, outbound, adjustment);
+        }
+    }
+}
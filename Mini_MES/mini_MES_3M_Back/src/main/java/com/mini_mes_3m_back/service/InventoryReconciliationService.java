@@ -0,0 +1,240 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Inventory.InventoryDriftDto;
+import com.mini_mes_3m_back.dto.Inventory.InventoryReconciliationReportDto;
+import com.mini_mes_3m_back.entity.Inventory;
+import com.mini_mes_3m_back.event.RawInventoryChangedEvent;
+import com.mini_mes_3m_back.repository.InventoryReconciliationJdbcRepository;
+import com.mini_mes_3m_back.repository.InventoryReconciliationJdbcRepository.ItemTotals;
+import com.mini_mes_3m_back.repository.InventoryReconciliationJdbcRepository.MovementTable;
+import com.mini_mes_3m_back.repository.InventoryRepository;
+import com.mini_mes_3m_back.repository.RawsItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 원자재 재고 정합성 점검: inventory.qty == 입고 합계(취소 제외) - 출고 합계 인지 품목별로 확인
+// - raw_inbound / raw_outbound 를 PK 구간(청크)으로 나눠 여러 스레드가 동시에 품목별 합계를 집계한다.
+// - 메모리에는 품목별 합계만 유지하므로 수불 행이 수천만 건이어도 힙 사용량은 품목 수에 비례한다.
+// - correct=true 이면 불일치 품목만 재고 행을 잠그고 다시 계산한 뒤 보정하고, 차이를 조정 수불로 남긴다.
+// - 입고 로트 잔여 수량(FEFO) 합계도 같이 점검한다. 어느 로트가 틀렸는지 알 수 없으므로 로트는 자동 보정하지 않고
+//   lotDrift 로만 보고한다. (재고량만 보정하면 로트 합계와 더 벌어질 수 있으므로 보정 후 값도 다시 보고)
+@Slf4j
+@Service
+public class InventoryReconciliationService {
+
+    private final InventoryReconciliationJdbcRepository reconciliationJdbcRepository;
+    private final InventoryRepository inventoryRepository;
+    private final RawsItemRepository rawsItemRepository;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private static final int INVENTORY_PAGE_SIZE = 5000;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public InventoryReconciliationService(InventoryReconciliationJdbcRepository reconciliationJdbcRepository,
+                                          InventoryRepository inventoryRepository,
+                                          RawsItemRepository rawsItemRepository,
+                                          InventoryLedgerService inventoryLedgerService,
+                                          ApplicationEventPublisher eventPublisher,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${inventory.reconciliation.chunk-size:50000}") int chunkSize,
+                                          @Value("${inventory.reconciliation.parallelism:0}") int parallelism) {
+        this.reconciliationJdbcRepository = reconciliationJdbcRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.rawsItemRepository = rawsItemRepository;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    // 주기 실행 (기본값 "-" 는 비활성화, 점검만 하고 보정은 하지 않음)
+    @Scheduled(cron = "${inventory.reconciliation.cron:-}")
+    public void scheduledReconcile() {
+        InventoryReconciliationReportDto report = reconcile(false);
+        if (report.getDriftCount() > 0) {
+            log.warn("재고 정합성 점검: 불일치 품목 {}건", report.getDriftCount());
+        }
+    }
+
+    // --- 재고 정합성 점검 (+ 선택적 보정) ---
+    public InventoryReconciliationReportDto reconcile(boolean correct) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("재고 정합성 점검이 이미 실행 중입니다.");
+        }
+        try {
+            return doReconcile(correct);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private InventoryReconciliationReportDto doReconcile(boolean correct) {
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        long start = System.nanoTime();
+
+        Map<Long, Long> inboundSums = new ConcurrentHashMap<>();
+        Map<Long, Long> outboundSums = new ConcurrentHashMap<>();
+        Map<Long, Long> lotRemainingSums = new ConcurrentHashMap<>();
+        int chunks;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.addAll(submitChunks(executor, MovementTable.RAW_INBOUND, inboundSums));
+            futures.addAll(submitChunks(executor, MovementTable.RAW_OUTBOUND, outboundSums));
+            futures.addAll(submitChunks(executor, MovementTable.RAW_INBOUND_LOT_REMAINING, lotRemainingSums));
+            chunks = futures.size();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 정합성 점검이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("재고 정합성 점검 중 오류가 발생했습니다.", e.getCause());
+        }
+
+        // inventory 는 품목 수만큼이므로 keyset 페이지로 순서대로 읽음
+        Map<Long, Long> inventoryQtys = new HashMap<>();
+        Long after = 0L;
+        while (after != null) {
+            after = reconciliationJdbcRepository.findInventoryQtyPage(after, INVENTORY_PAGE_SIZE, inventoryQtys);
+        }
+
+        Set<Long> rawsItemIds = new HashSet<>(inventoryQtys.keySet());
+        rawsItemIds.addAll(inboundSums.keySet());
+        rawsItemIds.addAll(outboundSums.keySet());
+
+        List<InventoryDriftDto> drifts = new ArrayList<>();
+        for (Long rawsItemId : rawsItemIds) {
+            long in = inboundSums.getOrDefault(rawsItemId, 0L);
+            long out = outboundSums.getOrDefault(rawsItemId, 0L);
+            long lotRemaining = lotRemainingSums.getOrDefault(rawsItemId, 0L);
+            Long actual = inventoryQtys.get(rawsItemId);
+            long expected = in - out;
+            long drift = (actual != null ? actual : 0L) - expected;
+            if (drift != 0 || lotRemaining != expected) {
+                drifts.add(new InventoryDriftDto(rawsItemId, actual, in, out, expected, drift, false,
+                        lotRemaining, lotRemaining - expected));
+            }
+        }
+        drifts.sort((a, b) -> Long.compare(a.getRawsItemId(), b.getRawsItemId()));
+
+        int corrected = 0;
+        if (correct) {
+            for (InventoryDriftDto drift : drifts) {
+                if (drift.getDrift() == 0) {
+                    continue; // 로트만 불일치 (보고만 함)
+                }
+                try {
+                    ItemTotals totals = transactionTemplate.execute(status -> correctItem(drift.getRawsItemId()));
+                    if (totals != null) {
+                        long expected = totals.inboundQty() - totals.outboundQty();
+                        drift.setCorrected(true);
+                        drift.setLotRemainingQty(totals.lotRemainingQty());
+                        drift.setLotDrift(totals.lotRemainingQty() - expected);
+                        corrected++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("재고 보정 실패: rawsItemId={}", drift.getRawsItemId(), e);
+                }
+            }
+        }
+        int lotDriftCount = (int) drifts.stream().filter(d -> d.getLotDrift() != 0).count();
+        int inventoryDriftCount = (int) drifts.stream().filter(d -> d.getDrift() != 0).count();
+        if (lotDriftCount > 0) {
+            log.warn("재고 정합성 점검: 입고 로트 잔여 합계 불일치 품목 {}건 (자동 보정하지 않음)", lotDriftCount);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("재고 정합성 점검 완료: 품목 {}건, 불일치 {}건, 로트 불일치 {}건, 보정 {}건, {}ms",
+                rawsItemIds.size(), inventoryDriftCount, lotDriftCount, corrected, elapsedMillis);
+
+        return new InventoryReconciliationReportDto(
+                startedAt,
+                elapsedMillis,
+                parallelism,
+                chunks,
+                rawsItemIds.size(),
+                inventoryDriftCount,
+                lotDriftCount,
+                corrected,
+                drifts
+        );
+    }
+
+    // 테이블 PK 범위를 chunkSize 구간으로 나눠 구간마다 집계 작업 제출
+    private List<Future<?>> submitChunks(ExecutorService executor, MovementTable table, Map<Long, Long> sums) {
+        List<Future<?>> futures = new ArrayList<>();
+        long[] range = reconciliationJdbcRepository.findIdRange(table);
+        if (range == null) {
+            return futures;
+        }
+        for (long from = range[0] - 1; from < range[1]; from += chunkSize) {
+            long fromExclusive = from;
+            long toInclusive = Math.min(from + chunkSize, range[1]);
+            futures.add(executor.submit(() -> {
+                Map<Long, Long> local = new HashMap<>();
+                reconciliationJdbcRepository.sumQtyByItemInIdRange(table, fromExclusive, toInclusive, local);
+                local.forEach((rawsItemId, qty) -> sums.merge(rawsItemId, qty, Long::sum));
+            }));
+        }
+        return futures;
+    }
+
+    // 불일치 품목 하나 보정: 재고 행과 입고 로트를 잠근 상태에서 합계를 한 문장으로 다시 계산하므로
+    // 점검 이후 발생한 입출고도 반영되고, 계산하는 동안 입고/FEFO 출고가 끼어들지 않는다.
+    // 보정했으면 다시 계산한 합계, 보정할 필요가 없었으면 null
+    private ItemTotals correctItem(Long rawsItemId) {
+        Optional<Inventory> locked = inventoryRepository.findByRawsItemIdForUpdate(rawsItemId);
+        reconciliationJdbcRepository.lockInboundLots(rawsItemId);
+        ItemTotals totals = reconciliationJdbcRepository.sumItemTotals(rawsItemId);
+        int expectedQty = Math.toIntExact(totals.inboundQty() - totals.outboundQty());
+
+        int delta;
+        if (locked.isPresent()) {
+            Inventory inventory = locked.get();
+            delta = expectedQty - inventory.getQty();
+            if (delta == 0) {
+                return null; // 점검 이후 이미 맞춰짐
+            }
+            inventory.setQty(expectedQty);
+        } else {
+            if (expectedQty == 0) {
+                return null;
+            }
+            delta = expectedQty;
+            inventoryRepository.increaseQty(rawsItemId, expectedQty, OffsetDateTime.now());
+        }
+
+        inventoryLedgerService.recordAdjustment(rawsItemRepository.getReferenceById(rawsItemId), delta, LocalDate.now(), expectedQty);
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofItem(rawsItemId));
+        return totals;
+    }
+}
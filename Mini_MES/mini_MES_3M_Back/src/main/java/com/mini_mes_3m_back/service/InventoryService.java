@@ -1,42 +1,93 @@
 package com.mini_mes_3m_back.service;
 
+import com.mini_mes_3m_back.dto.Inventory.RawInventoryConsistencyReportDto;
 import com.mini_mes_3m_back.dto.Inventory.RawItemInventoryResponseDto;
-import com.mini_mes_3m_back.entity.Inventory;
+import com.mini_mes_3m_back.event.RawInventoryChangedEvent;
+import com.mini_mes_3m_back.repository.InventoryJdbcRepository;
 import com.mini_mes_3m_back.repository.InventoryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
+    private final InventoryJdbcRepository inventoryJdbcRepository;
+    private final RawInventoryReadModel rawInventoryReadModel;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public InventoryService(InventoryRepository inventoryRepository)
+    public InventoryService(InventoryRepository inventoryRepository, InventoryJdbcRepository inventoryJdbcRepository,
+                            RawInventoryReadModel rawInventoryReadModel, ApplicationEventPublisher eventPublisher)
     {
         this.inventoryRepository = inventoryRepository;
+        this.inventoryJdbcRepository = inventoryJdbcRepository;
+        this.rawInventoryReadModel = rawInventoryReadModel;
+        this.eventPublisher = eventPublisher;
     }
 
     // --- 원자재 재고 현황 조회 ---
-    @Transactional(readOnly = true)
+    // DB 조회 없이 메모리 읽기 모델에서 필터링 (거래 중인 품목/매입처만)
     public List<RawItemInventoryResponseDto> getRawItemInventoryStatus(String keyword) {
-        List<Inventory> inventories = inventoryRepository.searchActiveInventories(keyword);
-
-        return inventories.stream()
-                .filter(i -> i.getRawItem() != null && i.getRawItem().getSupplier() != null && i.getRawItem().getSupplier().getActive()) // 방어적 코드
-                .map(i -> new RawItemInventoryResponseDto(
-                        i.getInventoryId(),
-                        i.getRawItem().getRawsItemId(),
-                        i.getRawItem().getSupplier().getName(),
-                        i.getRawItem().getItemCode(),
-                        i.getRawItem().getItemName(),
-                        i.getRawItem().getSpec(),
-                        i.getRawItem().getManufacturer(),
-                        i.getQty(), // 현재 재고량
-                        null // RawsItem에 단위 필드가 명확하다면 i.getRawItem().getUnit() 사용
+        return rawInventoryReadModel.searchActive(keyword).stream()
+                .map(row -> new RawItemInventoryResponseDto(
+                        row.getInventoryId(),
+                        row.getRawsItemId(),
+                        row.getSupplierName(),
+                        row.getItemCode(),
+                        row.getItemName(),
+                        row.getSpec(),
+                        row.getManufacturer(),
+                        row.getQty(), // 현재 재고량
+                        null // RawsItem에 단위 필드가 명확하다면 사용
                 ))
                 .collect(Collectors.toList());
     }
+
+    // --- 원자재 재고 읽기 모델 정합성 점검 ---
+    public RawInventoryConsistencyReportDto checkReadModelConsistency(boolean repair) {
+        return rawInventoryReadModel.checkConsistency(repair);
+    }
+
+    // --- 원자재 재고 증가 (입고) ---
+    // 동시에 여러 건이 입고되어도 DB에서 qty = qty + n 으로 더하므로 갱신 손실이 없음
+    @Transactional
+    public int increaseStock(Long rawsItemId, int qty) {
+        inventoryRepository.increaseQty(rawsItemId, qty, OffsetDateTime.now());
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofItem(rawsItemId));
+        return getCurrentQty(rawsItemId);
+    }
+
+    // --- 원자재 재고 일괄 증가 (대량 입고) ---
+    // 품목별로 미리 합산한 증가량을 배치 upsert 한 번 + 재고 조회 한 번으로 처리
+    // @return 품목 ID -> 반영 후 재고량
+    @Transactional
+    public Map<Long, Integer> increaseStocks(Map<Long, Integer> qtyByRawsItemId) {
+        inventoryJdbcRepository.batchIncreaseQty(qtyByRawsItemId, OffsetDateTime.now());
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofItems(qtyByRawsItemId.keySet()));
+        return inventoryJdbcRepository.findQtyByRawsItemIds(qtyByRawsItemId.keySet());
+    }
+
+    // --- 원자재 재고 차감 (출고) ---
+    // 재고가 충분할 때만 차감하는 조건부 UPDATE 한 문장으로 처리 (재고 확인과 차감 사이에 다른 출고가 끼어들 수 없음)
+    @Transactional
+    public int decreaseStock(Long rawsItemId, int qty) {
+        int updated = inventoryRepository.decreaseQtyIfAvailable(rawsItemId, qty, OffsetDateTime.now());
+        if (updated == 0) {
+            int currentQty = getCurrentQty(rawsItemId);
+            throw new IllegalArgumentException("출고 수량이 현재 재고량(" + currentQty + ")보다 많습니다.");
+        }
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofItem(rawsItemId));
+        return getCurrentQty(rawsItemId);
+    }
+
+    private int getCurrentQty(Long rawsItemId) {
+        return inventoryRepository.findQtyByRawsItemId(rawsItemId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 원자재의 재고 정보가 없습니다. ID: " + rawsItemId));
+    }
 }
\ No newline at end of file
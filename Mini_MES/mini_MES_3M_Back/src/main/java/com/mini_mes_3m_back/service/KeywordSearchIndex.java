@@ -0,0 +1,257 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent.Target;
+import com.mini_mes_3m_back.repository.SearchIndexJdbcRepository;
+import com.mini_mes_3m_back.util.HangulChosung;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// 거래처 / 수주품목 / 입고 LOT / 출고 / 원자재 품목 키워드 검색용 메모리 색인
+// - 서버 기동 시 PK 순으로 한 번 적재하고, 이후에는 엔티티 변경 이벤트가 커밋된 뒤 해당 행만 다시 읽어 반영한다.
+// - 검색 결과는 "키워드를 포함하는 행 ID" 이고, 활성/취소 여부 등 나머지 조건과 정렬은 기존처럼 DB 조회에서 처리한다.
+// - 색인이 아직 준비되지 않았거나 결과가 너무 많으면 Optional.empty() 를 돌려주며, 호출 측은 기존 LIKE 조회를 그대로 쓴다.
+// - 거래처명/품목명은 초성 필드도 함께 색인해서 초성(ㅎㄷ)·혼합(현ㄷ) 입력도 찾는다. (HangulChosung)
+@Slf4j
+@Component
+public class KeywordSearchIndex {
+
+    // 색인별 필드 위치 (SearchIndexJdbcRepository 의 컬럼 순서와 같음)
+    private static final int PARTNER_NAME = 0;
+    private static final int PARTNER_NAME_CHOSUNG = 1;
+
+    private static final int SALES_ITEM_NAME = 0;
+    private static final int SALES_ITEM_CODE = 1;
+    private static final int SALES_ITEM_PARTNER_NAME = 2;
+    private static final int SALES_ITEM_COATING_METHOD = 3;
+    private static final int SALES_ITEM_CLASSIFICATION = 4;
+    private static final int SALES_ITEM_NAME_CHOSUNG = 5;
+
+    private static final int DOC_NUM = 0;  // LOT / OUT 번호 (입고/출고일자는 DateRangeKeyword 범위 조건으로 DB 에서 검색)
+
+    private static final int RAWS_ITEM_CODE = 0;
+    private static final int RAWS_ITEM_NAME = 1;
+    private static final int RAWS_ITEM_MANUFACTURER = 2;
+    private static final int RAWS_ITEM_NAME_CHOSUNG = 3;
+
+    private static final int LOAD_PAGE_SIZE = 10000;
+
+    private final SearchIndexJdbcRepository searchIndexJdbcRepository;
+    private final boolean enabled;
+    private final int maxIds;
+
+    private final Map<Target, NgramIndex> indexes = new EnumMap<>(Target.class);
+    private volatile boolean ready = false;
+
+    public KeywordSearchIndex(SearchIndexJdbcRepository searchIndexJdbcRepository,
+                              @Value("${search.index.enabled:true}") boolean enabled,
+                              @Value("${search.index.max-ids:5000}") int maxIds) {
+        this.searchIndexJdbcRepository = searchIndexJdbcRepository;
+        this.enabled = enabled;
+        this.maxIds = maxIds;
+        for (Target target : Target.values()) {
+            indexes.put(target, new NgramIndex());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reloadAll();
+        }
+    }
+
+    // --- 변경 반영: 트랜잭션 안에서 발행되면 커밋 이후에, 밖에서 발행되면 바로 ---
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSearchIndexChanged(SearchIndexChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // 전체 적재 중에도 반영한다 (DB 현재 값을 다시 읽으므로 적재 페이지와 순서가 바뀌어도 결과는 같음)
+        NgramIndex index = indexes.get(event.getTarget());
+        if (!event.getIds().isEmpty()) {
+            Set<Long> found = new HashSet<>();
+            searchIndexJdbcRepository.loadByIds(event.getTarget(), event.getIds(), (id, parentId, fields) -> {
+                index.put(id, parentId, fields);
+                found.add(id);
+            });
+            event.getIds().stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(index::remove); // 삭제된 행
+        }
+        if (!event.getOutboundOUTNums().isEmpty()) {
+            searchIndexJdbcRepository.loadSalesOutboundsByNums(event.getOutboundOUTNums(), index::put);
+        }
+    }
+
+    // --- 0. 거래처 (업체명) ---
+    public Optional<Set<Long>> searchPartnerIds(String keyword) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return limited(searchPartnerNames(keyword));
+    }
+
+    // --- 1. 수주품목 (품목명, 품목번호, 거래처명) ---
+    public Optional<Set<Long>> searchSalesItemIds(String keyword) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        if (!HangulChosung.hasChosung(keyword)) {
+            return limited(indexes.get(Target.SALES_ITEM).search(keyword, maxIds,
+                    SALES_ITEM_NAME, SALES_ITEM_CODE, SALES_ITEM_PARTNER_NAME));
+        }
+        // 초성 입력: 품목명 초성 + 초성이 맞는 거래처의 품목
+        return withPartnerChildren(searchSalesItemNames(keyword), keyword);
+    }
+
+    // --- 2. 입고 LOT (거래처명, 품목번호, 품목명, LOT 번호, 도장방식) ---
+    public Optional<Set<Long>> searchSalesInboundIds(String keyword) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Set<Long> itemIds = new LinkedHashSet<>(searchSalesItemNames(keyword, SALES_ITEM_CODE, SALES_ITEM_COATING_METHOD));
+        Set<Long> partnerIds = searchPartnerNames(keyword);
+        if (itemIds.size() > maxIds || partnerIds.size() > maxIds) {
+            return Optional.empty(); // 중간 결과가 잘렸으면 하위 문서 목록도 불완전
+        }
+        itemIds.addAll(indexes.get(Target.SALES_ITEM).childrenOf(partnerIds, maxIds));
+        if (itemIds.size() > maxIds) {
+            return Optional.empty();
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(indexes.get(Target.SALES_INBOUND).search(keyword, maxIds, DOC_NUM));
+        ids.addAll(indexes.get(Target.SALES_INBOUND).childrenOf(itemIds, maxIds));
+        return limited(ids);
+    }
+
+    // --- 3. 출고 (거래처명, 품목명, 품목번호, OUT 번호, 분류) ---
+    public Optional<Set<Long>> searchSalesOutboundIds(String keyword) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Set<Long> itemIds = searchSalesItemNames(keyword, SALES_ITEM_PARTNER_NAME, SALES_ITEM_CODE, SALES_ITEM_CLASSIFICATION);
+        if (HangulChosung.hasChosung(keyword)) {
+            // 초성 입력은 품목에 복사된 거래처명 대신 거래처 색인의 초성으로 찾음
+            Optional<Set<Long>> withPartners = withPartnerChildren(itemIds, keyword);
+            if (withPartners.isEmpty()) {
+                return Optional.empty();
+            }
+            itemIds = withPartners.get();
+        }
+        if (itemIds.size() > maxIds) {
+            return Optional.empty();
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(indexes.get(Target.SALES_OUTBOUND).search(keyword, maxIds, DOC_NUM));
+        ids.addAll(indexes.get(Target.SALES_OUTBOUND).childrenOf(itemIds, maxIds));
+        return limited(ids);
+    }
+
+    // --- 4. 원자재 품목 (매입처명, 품목번호, 품목명, 제조사) ---
+    public Optional<Set<Long>> searchRawsItemIds(String keyword) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Set<Long> ids = new LinkedHashSet<>(searchName(Target.RAWS_ITEM, keyword, RAWS_ITEM_NAME, RAWS_ITEM_NAME_CHOSUNG,
+                RAWS_ITEM_CODE, RAWS_ITEM_MANUFACTURER));
+        Set<Long> supplierIds = searchPartnerNames(keyword);
+        if (supplierIds.size() > maxIds) {
+            return Optional.empty();
+        }
+        ids.addAll(indexes.get(Target.RAWS_ITEM).childrenOf(supplierIds, maxIds));
+        return limited(ids);
+    }
+
+    // --- 통합 검색용: 검색 결과 ID 를 색인 필드로 관련도(GlobalSearchService.relevance)를 매겨 상위 limit 건만 ---
+    // DB 에서는 이 ID 만 읽으므로, PK 순으로 잘라서 읽을 때처럼 완전 일치/앞부분 일치 결과가 빠지지 않는다.
+    public List<Long> topPartnerIds(Collection<Long> ids, String keyword, int limit) {
+        return indexes.get(Target.PARTNER).top(ids, limit,
+                (parentId, fields) -> GlobalSearchService.relevance(keyword, fields[PARTNER_NAME]));
+    }
+
+    public List<Long> topSalesItemIds(Collection<Long> ids, String keyword, int limit) {
+        return indexes.get(Target.SALES_ITEM).top(ids, limit,
+                (parentId, fields) -> GlobalSearchService.relevance(keyword,
+                        fields[SALES_ITEM_CODE], fields[SALES_ITEM_NAME], fields[SALES_ITEM_PARTNER_NAME]));
+    }
+
+    public List<Long> topRawsItemIds(Collection<Long> ids, String keyword, int limit) {
+        NgramIndex partners = indexes.get(Target.PARTNER);
+        return indexes.get(Target.RAWS_ITEM).top(ids, limit,
+                (supplierId, fields) -> GlobalSearchService.relevance(keyword, fields[RAWS_ITEM_CODE],
+                        fields[RAWS_ITEM_NAME], fields[RAWS_ITEM_MANUFACTURER], partners.field(supplierId, PARTNER_NAME)));
+    }
+
+    private Set<Long> searchPartnerNames(String keyword) {
+        return searchName(Target.PARTNER, keyword, PARTNER_NAME, PARTNER_NAME_CHOSUNG);
+    }
+
+    private Set<Long> searchSalesItemNames(String keyword, int... otherFields) {
+        return searchName(Target.SALES_ITEM, keyword, SALES_ITEM_NAME, SALES_ITEM_NAME_CHOSUNG, otherFields);
+    }
+
+    // 이름 필드 검색
+    // 입력에 초성 글자가 있으면(ㅎㄷㄷㅇ, 현ㄷ) 초성 필드 색인에서 후보를 찾고 원래 이름과 한 글자씩 대조한다. (코드 등 나머지 필드는 초성과 무관)
+    // 없으면 이름 + 나머지 필드에서 부분 문자열 검색
+    private Set<Long> searchName(Target target, String keyword, int nameField, int chosungField, int... otherFields) {
+        NgramIndex index = indexes.get(target);
+        if (HangulChosung.hasChosung(keyword)) {
+            String query = keyword.trim();
+            return index.search(HangulChosung.toChosung(query), maxIds,
+                    fields -> HangulChosung.matches(fields[nameField], query), chosungField);
+        }
+        int[] fields = new int[otherFields.length + 1];
+        fields[0] = nameField;
+        System.arraycopy(otherFields, 0, fields, 1, otherFields.length);
+        return index.search(keyword, maxIds, fields);
+    }
+
+    // 품목 ID 에 거래처명이 맞는 거래처의 품목을 더함 (중간 결과가 잘렸으면 empty)
+    private Optional<Set<Long>> withPartnerChildren(Set<Long> itemIds, String keyword) {
+        Set<Long> partnerIds = searchPartnerNames(keyword);
+        if (itemIds.size() > maxIds || partnerIds.size() > maxIds) {
+            return Optional.empty();
+        }
+        Set<Long> ids = new LinkedHashSet<>(itemIds);
+        ids.addAll(indexes.get(Target.SALES_ITEM).childrenOf(partnerIds, maxIds));
+        return limited(ids);
+    }
+
+    // 결과가 너무 많으면 IN 조회보다 기존 LIKE 조회가 낫다
+    private Optional<Set<Long>> limited(Set<Long> ids) {
+        return ids.size() > maxIds ? Optional.empty() : Optional.of(ids);
+    }
+
+    private void reloadAll() {
+        ready = false;
+        long started = System.currentTimeMillis();
+        for (Target target : Target.values()) {
+            NgramIndex index = indexes.get(target);
+            index.clear();
+            long afterId = 0;
+            do {
+                afterId = searchIndexJdbcRepository.loadPage(target, afterId, LOAD_PAGE_SIZE, index::put);
+            } while (afterId > 0);
+        }
+        ready = true;
+        log.info("키워드 검색 색인 적재 완료 ({}ms): 거래처={}, 수주품목={}, 입고={}, 출고={}, 원자재={}",
+                System.currentTimeMillis() - started,
+                indexes.get(Target.PARTNER).size(), indexes.get(Target.SALES_ITEM).size(),
+                indexes.get(Target.SALES_INBOUND).size(), indexes.get(Target.SALES_OUTBOUND).size(),
+                indexes.get(Target.RAWS_ITEM).size());
+    }
+}
@@ -0,0 +1,350 @@
+package com.mini_mes_3m_back.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// 부분 문자열 검색용 메모리 역색인 (한 종류의 문서 = 한 인덱스)
+// - 문서의 각 필드를 소문자로 바꿔 1글자(unigram) + 2글자(bigram) 조각으로 나누고, 조각별로 문서 ID 목록(정렬된 long 배열)을 유지한다.
+// - 검색어의 bigram 목록을 교집합한 뒤, 후보 문서의 원문에 검색어가 실제로 들어 있는지 확인해서 LIKE '%kw%' 와 같은 결과를 돌려준다.
+// - 문서마다 상위 ID(예: 입고 LOT -> 수주품목)를 함께 저장해서 상위 문서의 검색 결과를 하위 문서로 넓힐 수 있다.
+// 쓰기는 한 번에 하나, 읽기는 동시에 (ReadWriteLock). 외부에서 ID 목록 배열을 고치지 않도록 검색 결과는 항상 새 배열로 돌려준다.
+final class NgramIndex {
+
+    private record Doc(Long parentId, String[] fields) {}
+
+    // 문서 관련도 계산 (fields 는 소문자로 바꾼 값)
+    @FunctionalInterface
+    interface Scorer {
+        double score(Long parentId, String[] fields);
+    }
+
+    private record Scored(long id, double score) {}
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<Long, Set<Long>> children = new HashMap<>(); // 상위 ID -> 하위 문서 ID
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // --- 문서 추가/교체 ---
+    void put(long id, Long parentId, String[] rawFields) {
+        String[] fields = new String[rawFields.length];
+        for (int i = 0; i < rawFields.length; i++) {
+            fields[i] = normalize(rawFields[i]);
+        }
+        Doc doc = new Doc(parentId, fields);
+
+        lock.writeLock().lock();
+        try {
+            Doc previous = docs.put(id, doc);
+            Set<String> oldGrams = previous != null ? grams(previous.fields()) : Set.of();
+            Set<String> newGrams = grams(fields);
+            for (String gram : oldGrams) {
+                if (!newGrams.contains(gram)) {
+                    removePosting(gram, id);
+                }
+            }
+            for (String gram : newGrams) {
+                if (!oldGrams.contains(gram)) {
+                    postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+                }
+            }
+            Long oldParentId = previous != null ? previous.parentId() : null;
+            if (oldParentId != null && !oldParentId.equals(parentId)) {
+                unlinkChild(oldParentId, id);
+            }
+            if (parentId != null) {
+                children.computeIfAbsent(parentId, p -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- 문서 삭제 ---
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Doc previous = docs.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : grams(previous.fields())) {
+                removePosting(gram, id);
+            }
+            if (previous.parentId() != null) {
+                unlinkChild(previous.parentId(), id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            children.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 지정한 필드 중 하나라도 keyword 를 포함하는 문서 ID
+     * @param keyword 검색어 (대소문자 무시)
+     * @param limit 최대 개수. 결과가 limit 을 넘으면 limit + 1 개에서 멈춘다 (호출 측에서 "너무 많음" 판단용)
+     * @param fieldIndexes 검사할 필드 위치
+     */
+    Set<Long> search(String keyword, int limit, int... fieldIndexes) {
+        return search(keyword, limit, fields -> true, fieldIndexes);
+    }
+
+    /**
+     * 위와 같되, 후보 문서의 필드 전체가 verify 도 통과해야 함
+     * (초성/완성형 혼합 검색처럼 한 필드의 포함 여부만으로 판단할 수 없을 때 원래 이름과 대조하는 용도)
+     */
+    Set<Long> search(String keyword, int limit, Predicate<String[]> verify, int... fieldIndexes) {
+        String kw = normalize(keyword);
+        Set<Long> result = new LinkedHashSet<>();
+        if (kw.isEmpty()) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(kw);
+            for (long id : candidates) {
+                Doc doc = docs.get(id);
+                if (doc != null && containsInAny(doc.fields(), kw, fieldIndexes) && verify.test(doc.fields())) {
+                    result.add(id);
+                    if (result.size() > limit) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 상위 ID 목록에 딸린 하위 문서 ID (limit + 1 개에서 멈춤)
+    Set<Long> childrenOf(Set<Long> parentIds, int limit) {
+        Set<Long> result = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Long parentId : parentIds) {
+                Set<Long> ids = children.get(parentId);
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    result.add(id);
+                    if (result.size() > limit) {
+                        return result;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ids 를 scorer 점수 내림차순(같으면 ID 순)으로 정렬한 상위 limit 개 (색인에 없는 ID 는 제외)
+    List<Long> top(Collection<Long> ids, int limit, Scorer scorer) {
+        List<Scored> scored = new ArrayList<>(ids.size());
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                Doc doc = docs.get(id);
+                if (doc != null) {
+                    scored.add(new Scored(id, scorer.score(doc.parentId(), doc.fields())));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scored.stream()
+                .sorted(Comparator.comparingDouble(Scored::score).reversed().thenComparingLong(Scored::id))
+                .limit(limit)
+                .map(Scored::id)
+                .toList();
+    }
+
+    // 문서 한 건의 필드 값 (소문자, 없으면 null)
+    String field(Long id, int fieldIndex) {
+        lock.readLock().lock();
+        try {
+            Doc doc = id != null ? docs.get(id) : null;
+            return doc != null && fieldIndex < doc.fields().length ? doc.fields()[fieldIndex] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 검색어의 조각 목록을 모두 가진 문서 ID (짧은 목록부터 교집합)
+    private long[] candidates(String kw) {
+        Set<String> queryGrams = new LinkedHashSet<>();
+        if (kw.length() == 1) {
+            queryGrams.add(kw);
+        } else {
+            for (int i = 0; i + 2 <= kw.length(); i++) {
+                queryGrams.add(kw.substring(i, i + 2));
+            }
+        }
+
+        Postings[] lists = new Postings[queryGrams.size()];
+        int n = 0;
+        for (String gram : queryGrams) {
+            Postings p = postings.get(gram);
+            if (p == null) {
+                return new long[0]; // 어떤 문서에도 없는 조각
+            }
+            lists[n++] = p;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+        long[] current = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int currentSize = current.length;
+        for (int i = 1; i < lists.length && currentSize > 0; i++) {
+            currentSize = intersect(current, currentSize, lists[i]);
+        }
+        return Arrays.copyOf(current, currentSize);
+    }
+
+    // current[0..size) 중 other 에도 있는 ID 만 앞으로 모음 (other 가 훨씬 길면 이진 탐색)
+    private static int intersect(long[] current, int size, Postings other) {
+        int kept = 0;
+        if ((long) size * 8 < other.size) {
+            int from = 0;
+            for (int i = 0; i < size; i++) {
+                int pos = Arrays.binarySearch(other.ids, from, other.size, current[i]);
+                if (pos >= 0) {
+                    current[kept++] = current[i];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+        } else {
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; ) {
+                if (current[i] == other.ids[j]) {
+                    current[kept++] = current[i];
+                    i++;
+                    j++;
+                } else if (current[i] < other.ids[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return kept;
+    }
+
+    private void removePosting(String gram, long id) {
+        Postings p = postings.get(gram);
+        if (p != null && p.remove(id) && p.size == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    private void unlinkChild(Long parentId, long id) {
+        Set<Long> ids = children.get(parentId);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                children.remove(parentId);
+            }
+        }
+    }
+
+    private static boolean containsInAny(String[] fields, String kw, int[] fieldIndexes) {
+        for (int f : fieldIndexes) {
+            if (f < fields.length && fields[f].contains(kw)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 문서 필드 전체의 1글자 + 2글자 조각 (필드 경계를 넘는 조각은 만들지 않음)
+    private static Set<String> grams(String[] fields) {
+        Set<String> grams = new HashSet<>();
+        for (String field : fields) {
+            for (int i = 0; i < field.length(); i++) {
+                grams.add(field.substring(i, i + 1));
+                if (i + 2 <= field.length()) {
+                    grams.add(field.substring(i, i + 2));
+                }
+            }
+        }
+        return grams;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 조각 하나의 문서 ID 목록. 새 행은 ID 가 커지는 순서로 들어오므로 대부분 끝에 붙이기만 한다.
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mini_mes_3m_back.service;
 
+import com.mini_mes_3m_back.dto.Etc.SlicePageDto;
 import com.mini_mes_3m_back.dto.operation.OperationRequestDto;
 import com.mini_mes_3m_back.dto.operation.OperationResponseDto;
 import com.mini_mes_3m_back.entity.Operations;
@@ -20,18 +21,19 @@ import java.util.stream.Collectors;
 public class OperationService {
 
     private final OperationsRepository operationsRepository;
+    private final ApproximateCountCache approximateCountCache;
+    private final OperationsCache operationsCache;
 
-    // 공정 코드 중복 확인 로직
-    @Transactional(readOnly = true)
+    // 공정 코드 중복 확인 로직 (입력 중 확인용, 공정 캐시에서 조회)
     public boolean isCodeDuplicate(String code) {
-        return operationsRepository.existsByCode(code);
+        return operationsCache.findByCode(code).isPresent();
     }
 
     // 새로운 공정 등록 로직
     @Transactional
     public void registerNewProcess(OperationRequestDto dto) {
-        // 1. 중복 확인 (2중 체크)
-        if (isCodeDuplicate(dto.getCode())) {
+        // 1. 중복 확인 (2중 체크, 저장 직전에는 DB 기준)
+        if (operationsRepository.existsByCode(dto.getCode())) {
             throw new IllegalArgumentException("이미 존재하는 공정 코드입니다." + dto.getCode());
         }
 
@@ -43,6 +45,7 @@ public class OperationService {
                 .standardTime(dto.getStandardTime())
                 .build();
         operationsRepository.save(newOperation);
+        operationsCache.invalidate();
     }
 
     // 공정 목록 조회 및 검색 (페이징 포함)
@@ -68,6 +71,27 @@ public class OperationService {
         return new PageImpl<>(dtoList, pageable, entityPage.getTotalElements());
     }
 
+    // 공정 목록 조회 및 검색 (COUNT 없는 Slice 방식, 무한 스크롤용)
+    // 페이지마다 size + 1 건 조회 한 번으로 다음 페이지 여부를 판단하고, 전체 건수는 ApproximateCountCache 의 근사값을 붙인다.
+    @Transactional(readOnly = true)
+    public SlicePageDto<OperationResponseDto> scrollProcesses(int page, int limit, String searchType, String searchTerm) {
+        Pageable pageable = PageRequest.of(Math.max(page - 1, 0), limit, Sort.by(Sort.Direction.ASC, "operationId"));
+        Specification<Operations> spec = buildSearchSpecification(searchType, searchTerm);
+
+        Slice<Operations> slice = operationsRepository.findBy(spec, q -> q.slice(pageable));
+        ApproximateCountCache.ApproximateCount total = approximateCountCache.get("operations", searchType + "|" + searchTerm,
+                () -> operationsRepository.count(buildSearchSpecification(searchType, searchTerm)));
+
+        return SlicePageDto.<OperationResponseDto>builder()
+                .items(slice.getContent().stream().map(OperationResponseDto::fromEntity).toList())
+                .page(page)
+                .size(limit)
+                .hasNext(slice.hasNext())
+                .approximateTotal(total.total())
+                .approximateTotalAt(total.countedAt())
+                .build();
+    }
+
     /**
      * JpaSpecificationExecutor를 위한 동적 검색 조건 빌더
      */
@@ -110,6 +134,8 @@ public class OperationService {
             }
         }
 
+        operationsCache.invalidate();
+
         // 3. Entity의 update 로직 호출 (Setter 대신 메서드를 통해 안전하게 업데이트)
         // 💡 주의: Operations Entity에 update() 메서드가 필요합니다.
         existingOperation.update(
@@ -135,21 +161,13 @@ public class OperationService {
 
         // 2. 삭제
         operationsRepository.deleteById(operationId);
+        operationsCache.invalidate();
     }
-    // 수주품목 등록에서 공정 등록할때
-    @Transactional(readOnly = true)
+    // 수주품목 등록에서 공정 등록할때 (공정 캐시에서 조회)
     public List<OperationResponseDto> getAllOperations() {
-        return operationsRepository.findAll().stream()
-                .map(op -> new OperationResponseDto (
-
-                        op.getOperationId(),
-                        op.getCode(),
-                        op.getName(),
-                        op.getDescription(),
-                        op.getStandardTime(),
-                        op.getStatus()
-                        ))
-            .collect(Collectors.toList());
+        return operationsCache.getAll().stream()
+                .map(OperationsCache.Entry::toDto)
+                .collect(Collectors.toList());
     }
 
 }
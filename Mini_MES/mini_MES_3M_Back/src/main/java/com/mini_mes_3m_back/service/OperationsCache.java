@@ -0,0 +1,112 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.operation.OperationResponseDto;
+import com.mini_mes_3m_back.entity.Operations;
+import com.mini_mes_3m_back.event.OperationsChangedEvent;
+import com.mini_mes_3m_back.repository.OperationsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 공정(Operations) 마스터 전체를 메모리에 두는 읽기 캐시
+// - 공정은 건수가 적고 거의 바뀌지 않지만, 공정 목록 화면과 수주품목 등록/수정(공정 검증)마다 전체를 다시 읽고 있었다.
+// - 전체를 불변 스냅샷(ID별, 코드별)으로 들고 있고, 읽을 때 잠금 없이 현재 스냅샷을 그대로 쓴다.
+// - 공정 등록/수정/삭제/상태 변경 시 invalidate() 로 버전을 올리면, 다음 읽기에서 DB 를 다시 읽어 새 스냅샷을 만든다.
+//   (버전은 변경 시점과 트랜잭션 종료 시점에 두 번 올리므로, 커밋 전 값으로 만든 스냅샷은 쓰이지 않는다)
+// 변경 중인 트랜잭션 안에서 방금 바꾼 값을 읽어야 하면 캐시 대신 저장소를 직접 조회한다.
+// invalidate() 는 OperationsChangedEvent 도 발행해서, 공정명을 담아 둔 검색 결과 캐시(SearchResultCache)도 커밋 이후 비운다.
+@Slf4j
+@Component
+public class OperationsCache {
+
+    // 공정 한 건 (불변)
+    public record Entry(Long operationId, String code, String name, String description, Integer standardTime,
+                        Operations.OperationStatus status, Integer operationOrder) {
+
+        public OperationResponseDto toDto() {
+            return new OperationResponseDto(operationId, code, name, description, standardTime, status);
+        }
+    }
+
+    private record Snapshot(long version, List<Entry> all, Map<Long, Entry> byId, Map<String, Entry> byCode) {}
+
+    private final OperationsRepository operationsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public OperationsCache(OperationsRepository operationsRepository, ApplicationEventPublisher eventPublisher) {
+        this.operationsRepository = operationsRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // 전체 공정 (공정 ID 순)
+    public List<Entry> getAll() {
+        return current().all();
+    }
+
+    public Optional<Entry> findById(Long operationId) {
+        return Optional.ofNullable(current().byId().get(operationId));
+    }
+
+    public Optional<Entry> findByCode(String code) {
+        return Optional.ofNullable(current().byCode().get(code));
+    }
+
+    // 공정 변경 알림: 지금 한 번, 트랜잭션이 끝날 때(커밋/롤백) 한 번 더 버전을 올림
+    public void invalidate() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+        eventPublisher.publishEvent(new OperationsChangedEvent());
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    // 현재 버전의 스냅샷, 없거나 지난 버전이면 DB 에서 다시 만듦
+    private Snapshot current() {
+        Snapshot cached = snapshot.get();
+        long expected = version.get();
+        if (cached != null && cached.version() == expected) {
+            return cached;
+        }
+        Snapshot loaded = load(expected);
+        // 읽는 도중 버전이 바뀌었으면 이번 결과는 이번 호출에만 쓰고 담지 않음
+        if (version.get() == expected) {
+            snapshot.compareAndSet(cached, loaded);
+        }
+        return loaded;
+    }
+
+    private Snapshot load(long forVersion) {
+        List<Entry> all = operationsRepository.findAll().stream()
+                .map(op -> new Entry(op.getOperationId(), op.getCode(), op.getName(), op.getDescription(),
+                        op.getStandardTime(), op.getStatus(), op.getOperationOrder()))
+                .sorted(Comparator.comparing(Entry::operationId))
+                .toList();
+        log.debug("공정 캐시 적재: version={}, 공정 {}건", forVersion, all.size());
+        return new Snapshot(forVersion, all,
+                all.stream().collect(Collectors.toUnmodifiableMap(Entry::operationId, Function.identity())),
+                all.stream().collect(Collectors.toUnmodifiableMap(Entry::code, Function.identity(), (a, b) -> a)));
+    }
+}
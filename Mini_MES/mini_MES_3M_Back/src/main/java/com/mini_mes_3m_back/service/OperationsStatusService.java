@@ -20,10 +20,18 @@ import java.util.stream.Collectors;
 public class OperationsStatusService {
 
     private final OperationsRepository operationsRepository;
+    private final OperationsCache operationsCache;
 
-    // ✅ 1. 공정 상태 목록 조회
+    // ✅ 1. 공정 상태 목록 조회 (공정 캐시에서 조회)
     @Transactional(readOnly = true)
     public List<OperationResponseDto> getAllOperations() {
+        return operationsCache.getAll().stream()
+                .map(OperationsCache.Entry::toDto)
+                .collect(Collectors.toList());
+    }
+
+    // 변경 직후 목록: 아직 커밋 전이므로 캐시가 아닌 현재 트랜잭션에서 다시 읽음
+    private List<OperationResponseDto> findAllInTransaction() {
         return operationsRepository.findAll().stream()
                 .map(OperationResponseDto::fromEntity)
                 .collect(Collectors.toList());
@@ -38,6 +46,7 @@ public class OperationsStatusService {
             throw new IllegalStateException("완료된 공정은 수정할 수 없습니다.");
         }
 
+        operationsCache.invalidate();
         operations.update(
                 dto.getCode(),
                 dto.getName(),
@@ -47,18 +56,19 @@ public class OperationsStatusService {
         );
 
         // Dirty Checking으로 자동 반영됨, save() 생략 가능
-        return getAllOperations(); // 수정 후 전체 리스트 반환
+        return findAllInTransaction(); // 수정 후 전체 리스트 반환
     }
 
     // ✅ 3. 공정 순서 변경
     public List<OperationResponseDto> updateOrder(List<OperationStatusDto> orderList) {
+        operationsCache.invalidate();
         for (OperationStatusDto dto : orderList) {
             Operations op = operationsRepository.findById(dto.getId())
                     .orElseThrow(() -> new RuntimeException("공정을 찾을 수 없습니다."));
             op.setOperationOrder(dto.getOrder());
         }
 
-        return getAllOperations(); // 순서 변경 후 전체 리스트 반환
+        return findAllInTransaction(); // 순서 변경 후 전체 리스트 반환
     }
 
     // ✅ 4. 다음 공정 시작
@@ -70,9 +80,10 @@ public class OperationsStatusService {
             throw new IllegalStateException("이미 완료된 공정입니다.");
         }
 
+        operationsCache.invalidate();
         op.setStartTime(OffsetDateTime.now());
         op.setStatus(Operations.OperationStatus.IN_PROGRESS);
 
-        return getAllOperations(); // 상태 변경 후 전체 리스트 반환
+        return findAllInTransaction(); // 상태 변경 후 전체 리스트 반환
     }
 }
@@ -0,0 +1,62 @@
+package com.mini_mes_3m_back.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// 낙관적 잠금(@Version) 충돌 시 트랜잭션을 처음부터 다시 실행하는 실행기
+// - 작업 전체를 매번 새 트랜잭션으로 실행하므로, 재시도 때는 최신 값을 다시 읽고 다시 검증한다.
+// - 호출하는 쪽은 @Transactional 이 없어야 한다 (바깥 트랜잭션에 묶이면 재시도가 의미 없음).
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   @Value("${optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${optimistic-retry.backoff-millis:20}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new IllegalStateException("다른 작업과 동시에 처리되어 저장하지 못했습니다. 다시 시도해 주세요.", e);
+                }
+                log.debug("낙관적 잠금 충돌, 재시도 {}/{}", attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // 같은 로트를 노리는 요청끼리 다시 부딪히지 않도록 시도 횟수에 비례한 짧은 무작위 대기
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 대기 중 중단되었습니다.", e);
+        }
+    }
+}
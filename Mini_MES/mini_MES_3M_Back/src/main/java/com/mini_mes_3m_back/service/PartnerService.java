@@ -2,7 +2,9 @@ package com.mini_mes_3m_back.service;
 
 import com.mini_mes_3m_back.dto.Partner.*;
 import com.mini_mes_3m_back.entity.Partner;
+import com.mini_mes_3m_back.event.RawInventoryChangedEvent;
 import com.mini_mes_3m_back.repository.PartnerRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,9 +15,11 @@ import java.util.stream.Collectors;
 public class PartnerService {
 
     private final PartnerRepository partnerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PartnerService(PartnerRepository partnerRepository) {
+    public PartnerService(PartnerRepository partnerRepository, ApplicationEventPublisher eventPublisher) {
         this.partnerRepository = partnerRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -101,6 +105,7 @@ public class PartnerService {
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 거래처입니다. ID: " + partnerId));
         p.setActive(newStatus);
         Partner updated = partnerRepository.save(p);
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofSupplier(partnerId)); // 매입처 거래 상태 → 원자재 재고 현황 갱신
 
         return new PartnerPartialResponseDto(
                 updated.getPartnerId(),
@@ -131,6 +136,7 @@ public class PartnerService {
         p.setActive(request.getActive());
 
         Partner updated = partnerRepository.save(p);
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofSupplier(partnerId)); // 매입처명/거래 상태 → 원자재 재고 현황 갱신
 
         return new PartnerDetailResponseDto(
                 updated.getPartnerId(),
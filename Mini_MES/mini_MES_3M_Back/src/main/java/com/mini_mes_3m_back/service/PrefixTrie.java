@@ -0,0 +1,221 @@
+package com.mini_mes_3m_back.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 자동완성용 접두어 트라이
+// - 항목마다 여러 개의 키(전체 이름, 띄어쓰기 단위 단어, 코드 등)를 등록하고, 키의 모든 접두어 노드에 점수 상위 topK 항목을 캐시한다.
+// - 조회는 접두어 길이만큼 노드를 따라간 뒤 캐시된 목록을 잘라서 돌려주므로 항목 수와 무관하다.
+// - 점수가 오르는 변경(사용/최근 수정)은 경로의 캐시를 바로 고치고, 삭제/점수 하락은 그 항목이 상위 목록에 있던 노드만 dirty 로 표시한다.
+//   dirty 노드는 다음 조회 때 자기 노드에서 끝나는 항목 + 자식 노드들의 상위 목록을 합쳐 다시 채운다. (하위 트리 전체를 훑지 않음)
+// 트라이 하나당 항목 수천~수만 건 규모를 가정하며, 모든 연산은 이 객체 단위로 직렬화한다.
+final class PrefixTrie<T> {
+
+    static final class Entry<T> {
+        private final long id;
+        private final Set<String> keys;
+        private final T value;
+        private double score;
+
+        private Entry(long id, Set<String> keys, T value, double score) {
+            this.id = id;
+            this.keys = keys;
+            this.value = value;
+            this.score = score;
+        }
+
+        long id() { return id; }
+        T value() { return value; }
+        double score() { return score; }
+    }
+
+    private static final class Node<T> {
+        private final Map<Character, Node<T>> children = new HashMap<>();
+        private final Set<Long> terminalIds = new HashSet<>(); // 키가 이 노드에서 끝나는 항목
+        private final List<Entry<T>> top = new ArrayList<>();  // 하위 트리 점수 상위 topK
+        private boolean dirty;
+    }
+
+    // 점수 내림차순, 같으면 ID 내림차순(최근 등록 우선)
+    private final Comparator<Entry<?>> ranking = Comparator.<Entry<?>>comparingDouble(e -> e.score).reversed()
+            .thenComparing(Comparator.<Entry<?>>comparingLong(e -> e.id).reversed());
+
+    private final int topK;
+    private final Node<T> root = new Node<>();
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+
+    PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    // --- 항목 등록/교체 ---
+    synchronized void put(long id, List<String> rawKeys, T value, double score) {
+        Entry<T> previous = entries.get(id);
+        if (previous != null) {
+            removeEntry(previous);
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String rawKey : rawKeys) {
+            String key = normalize(rawKey);
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        Entry<T> entry = new Entry<>(id, keys, value, score);
+        entries.put(id, entry);
+        for (String key : keys) {
+            Node<T> node = root;
+            offer(node, entry);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+                offer(node, entry);
+            }
+            node.terminalIds.add(id);
+        }
+    }
+
+    synchronized void remove(long id) {
+        Entry<T> entry = entries.get(id);
+        if (entry != null) {
+            removeEntry(entry);
+        }
+    }
+
+    // --- 점수 올리기 (선택/사용 기록) ---
+    synchronized boolean raiseScore(long id, double score) {
+        Entry<T> entry = entries.get(id);
+        if (entry == null) {
+            return false;
+        }
+        if (score <= entry.score) {
+            return true;
+        }
+        entry.score = score;
+        for (String key : entry.keys) {
+            Node<T> node = root;
+            offer(node, entry);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.get(key.charAt(i));
+                offer(node, entry);
+            }
+        }
+        return true;
+    }
+
+    synchronized Entry<T> get(long id) {
+        return entries.get(id);
+    }
+
+    // --- 접두어로 시작하는 키를 가진 항목 상위 limit 건 (limit 은 topK 이하) ---
+    synchronized List<Entry<T>> top(String prefix, int limit) {
+        Node<T> node = root;
+        String key = normalize(prefix);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        if (node.dirty) {
+            repair(node);
+        }
+        return List.copyOf(node.top.subList(0, Math.min(limit, node.top.size())));
+    }
+
+    synchronized void clear() {
+        root.children.clear();
+        root.terminalIds.clear();
+        root.top.clear();
+        root.dirty = false;
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // 노드 캐시에 항목 반영 (이미 있으면 재정렬, 없으면 끼워 넣고 topK 초과분 제거)
+    private void offer(Node<T> node, Entry<T> entry) {
+        if (node.dirty) {
+            return; // 다음 조회 때 어차피 다시 계산
+        }
+        node.top.removeIf(e -> e.id == entry.id);
+        int pos = 0;
+        while (pos < node.top.size() && ranking.compare(node.top.get(pos), entry) < 0) {
+            pos++;
+        }
+        if (pos < topK) {
+            node.top.add(pos, entry);
+            if (node.top.size() > topK) {
+                node.top.remove(node.top.size() - 1);
+            }
+        }
+    }
+
+    private void removeEntry(Entry<T> entry) {
+        entries.remove(entry.id);
+        for (String key : entry.keys) {
+            List<Node<T>> path = new ArrayList<>(key.length() + 1);
+            Node<T> node = root;
+            path.add(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                if (node != null) {
+                    path.add(node);
+                }
+            }
+            if (node != null) {
+                node.terminalIds.remove(entry.id);
+            }
+            for (Node<T> n : path) {
+                if (n.top.removeIf(e -> e.id == entry.id)) {
+                    n.dirty = true; // 빠진 자리를 하위 트리에서 다시 채워야 함
+                }
+            }
+            // 더 이상 아무 키도 지나가지 않는 꼬리 노드 정리
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node<T> n = path.get(i);
+                if (!n.children.isEmpty() || !n.terminalIds.isEmpty()) {
+                    break;
+                }
+                path.get(i - 1).children.remove(key.charAt(i - 1));
+            }
+        }
+    }
+
+    // 캐시 재계산: 하위 트리의 상위 topK 는 "이 노드에서 끝나는 항목 + 각 자식의 상위 topK" 안에 모두 들어 있다.
+    // dirty 는 삭제된 항목의 경로를 따라서만 생기므로 dirty 인 자식만 먼저 고치고, 나머지 자식은 캐시를 그대로 쓴다.
+    // 비용은 (자식 수 x topK + 끝나는 항목 수) 로, 하위 트리 항목 수와 무관하다.
+    private void repair(Node<T> node) {
+        Map<Long, Entry<T>> candidates = new HashMap<>();
+        for (Long id : node.terminalIds) {
+            Entry<T> entry = entries.get(id);
+            if (entry != null) {
+                candidates.put(id, entry);
+            }
+        }
+        for (Node<T> child : node.children.values()) {
+            if (child.dirty) {
+                repair(child);
+            }
+            child.top.forEach(e -> candidates.putIfAbsent(e.id, e)); // 키가 여러 개인 항목은 여러 자식에 있을 수 있음
+        }
+        node.top.clear();
+        candidates.values().stream()
+                .sorted(ranking)
+                .limit(topK)
+                .forEach(node.top::add);
+        node.dirty = false;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,227 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Inventory.RawInventoryConsistencyReportDto;
+import com.mini_mes_3m_back.dto.Inventory.RawInventoryRowDto;
+import com.mini_mes_3m_back.event.RawInventoryChangedEvent;
+import com.mini_mes_3m_back.event.RawInventoryRowChangedEvent;
+import com.mini_mes_3m_back.repository.InventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// 원자재 재고 현황 읽기 모델 (메모리)
+// - 서버 기동 시 inventory + 품목 + 매입처를 한 번 적재하고, 이후에는 변경 이벤트가 커밋된 뒤 해당 행만 다시 읽는다.
+// - 품목 단위 갱신은 품목별 잠금(ITEM_LOCK_STRIPES 개로 나눔)만 잡으므로, 다른 품목의 입고/출고 갱신끼리는 서로 기다리지 않는다.
+//   매입처 단위 갱신과 전체 재적재는 모든 품목 갱신을 막고 혼자 실행한다.
+// - 재고 현황/출고 가능 품목 조회는 MySQL 조회 없이 여기서 필터링한다.
+// - 행이 바뀔 때마다 RawInventoryRowChangedEvent(이전 행, 새 행)를 발행한다. (재고 알림 등 후속 처리용)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RawInventoryReadModel {
+
+    private final InventoryRepository inventoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // rawsItemId -> 행
+    private final ConcurrentHashMap<Long, RawInventoryRowDto> rows = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    private static final int ITEM_LOCK_STRIPES = 64;
+
+    // 같은 품목의 갱신은 "DB 읽기 + 반영"을 한 번에 하나씩만 수행한다.
+    // 커밋마다 그 뒤에 갱신이 한 번씩 실행되므로, 품목마다 마지막으로 실행된 갱신이 항상 최신 커밋 상태를 반영하게 된다.
+    // 품목 단위 갱신은 읽기 잠금 + 품목 잠금, 매입처 단위 갱신/전체 재적재는 쓰기 잠금
+    private final ReentrantReadWriteLock refreshLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] itemLocks = new ReentrantLock[ITEM_LOCK_STRIPES];
+    // 행 변경 이벤트는 갱신 잠금을 놓은 뒤 발행한다. (리스너가 느려도 다음 갱신/재적재를 막지 않도록)
+    // 같은 품목의 발행 순서가 갱신 순서와 같도록 갱신 잠금 안에서 publishLock 을 잡고 나와서 발행한다.
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    {
+        for (int i = 0; i < ITEM_LOCK_STRIPES; i++) {
+            itemLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadAll();
+    }
+
+    // 트랜잭션 안에서 발행되면 커밋 이후에, 트랜잭션 밖에서 발행되면 바로 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRawInventoryChanged(RawInventoryChangedEvent event) {
+        if (!event.getRawsItemIds().isEmpty()) {
+            refreshItems(event.getRawsItemIds());
+        }
+        if (event.getSupplierId() != null) {
+            refreshSupplier(event.getSupplierId());
+        }
+    }
+
+    // 입고/출고/품목 수정: 해당 품목 잠금만 잡고 다시 읽음 (잠금은 번호 순으로 잡아 교착 방지)
+    private void refreshItems(Set<Long> rawsItemIds) {
+        List<ReentrantLock> locks = rawsItemIds.stream()
+                .map(id -> Math.floorMod(id.hashCode(), ITEM_LOCK_STRIPES))
+                .distinct()
+                .sorted()
+                .map(stripe -> itemLocks[stripe])
+                .toList();
+        List<RawInventoryRowChangedEvent> changes = new ArrayList<>();
+        refreshLock.readLock().lock();
+        locks.forEach(ReentrantLock::lock);
+        try {
+            Map<Long, RawInventoryRowDto> fresh = inventoryRepository.findReadModelRowsByRawsItemIds(rawsItemIds)
+                    .stream()
+                    .collect(Collectors.toMap(RawInventoryRowDto::getRawsItemId, r -> r));
+            for (Long rawsItemId : rawsItemIds) {
+                apply(rawsItemId, fresh.get(rawsItemId), changes); // null 이면 재고 행이 아직 없는 품목
+            }
+            publishLock.lock();
+        } finally {
+            locks.forEach(ReentrantLock::unlock);
+            refreshLock.readLock().unlock();
+        }
+        publishAndUnlock(changes);
+    }
+
+    // 매입처 정보/거래 상태 변경: 매입처의 모든 품목에 영향이 있으므로 혼자 실행
+    private void refreshSupplier(Long supplierId) {
+        List<RawInventoryRowChangedEvent> changes = new ArrayList<>();
+        refreshLock.writeLock().lock();
+        try {
+            inventoryRepository.findReadModelRowsBySupplierId(supplierId)
+                    .forEach(row -> apply(row.getRawsItemId(), row, changes));
+            publishLock.lock();
+        } finally {
+            refreshLock.writeLock().unlock();
+        }
+        publishAndUnlock(changes);
+    }
+
+    // 행 하나 교체 + 변경 내용 기록 (품목 하나당 O(1))
+    private void apply(Long rawsItemId, RawInventoryRowDto row, List<RawInventoryRowChangedEvent> changes) {
+        RawInventoryRowDto previous = (row != null) ? rows.put(rawsItemId, row) : rows.remove(rawsItemId);
+        if (previous != null || row != null) {
+            changes.add(new RawInventoryRowChangedEvent(previous, row, false));
+        }
+    }
+
+    // 갱신 잠금 밖에서 발행 (호출 전에 publishLock 을 잡고 있어야 함)
+    private void publishAndUnlock(List<RawInventoryRowChangedEvent> changes) {
+        try {
+            changes.forEach(eventPublisher::publishEvent);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    // --- 거래 중인 품목의 재고 행 검색 (매입처명, 품목 번호, 품목명) ---
+    public List<RawInventoryRowDto> searchActive(String keyword) {
+        ensureLoaded();
+        String lowerKeyword = (keyword == null || keyword.isBlank()) ? null : keyword.trim().toLowerCase();
+        return rows.values().stream()
+                .filter(RawInventoryRowDto::isVisible)
+                .filter(row -> lowerKeyword == null || row.matches(lowerKeyword))
+                .sorted(Comparator.comparing(RawInventoryRowDto::getRawsItemId))
+                .collect(Collectors.toList());
+    }
+
+    // --- 읽기 모델 ↔ 테이블 정합성 점검 (repair=true 이면 테이블 기준으로 전체 재적재) ---
+    public RawInventoryConsistencyReportDto checkConsistency(boolean repair) {
+        ensureLoaded();
+        Map<Long, RawInventoryRowDto> table = inventoryRepository.findAllReadModelRows().stream()
+                .collect(Collectors.toMap(RawInventoryRowDto::getRawsItemId, r -> r));
+        Map<Long, RawInventoryRowDto> model = Map.copyOf(rows);
+
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        table.forEach((rawsItemId, expected) -> {
+            RawInventoryRowDto actual = model.get(rawsItemId);
+            if (actual == null) {
+                missing.add(rawsItemId);
+            } else if (!sameValues(expected, actual)) {
+                stale.add(rawsItemId);
+            }
+        });
+        Set<Long> extra = new HashSet<>(model.keySet());
+        extra.removeAll(table.keySet());
+
+        boolean consistent = missing.isEmpty() && stale.isEmpty() && extra.isEmpty();
+        if (!consistent) {
+            log.warn("원자재 재고 읽기 모델 불일치: 누락={}, 값 불일치={}, 초과={}", missing, stale, extra);
+        }
+        boolean repaired = !consistent && repair;
+        if (repaired) {
+            reloadAll();
+        }
+
+        return new RawInventoryConsistencyReportDto(
+                OffsetDateTime.now(),
+                table.size(),
+                model.size(),
+                missing.stream().sorted().toList(),
+                stale.stream().sorted().toList(),
+                extra.stream().sorted().toList(),
+                consistent,
+                repaired
+        );
+    }
+
+    private void reloadAll() {
+        List<RawInventoryRowDto> all;
+        refreshLock.writeLock().lock();
+        try {
+            all = inventoryRepository.findAllReadModelRows();
+            rows.clear();
+            all.forEach(row -> rows.put(row.getRawsItemId(), row));
+            loaded = true;
+            publishLock.lock();
+        } finally {
+            refreshLock.writeLock().unlock();
+        }
+        log.info("원자재 재고 읽기 모델 적재 완료: {}건", all.size());
+        // 전체 적재 시에는 알림 없이 상태만 맞추도록 initialLoad 로 발행
+        publishAndUnlock(all.stream().map(row -> new RawInventoryRowChangedEvent(null, row, true)).toList());
+    }
+
+    // 기동 완료 전에 조회가 들어오는 경우 대비
+    private void ensureLoaded() {
+        if (!loaded) {
+            reloadAll();
+        }
+    }
+
+    private static boolean sameValues(RawInventoryRowDto a, RawInventoryRowDto b) {
+        return Objects.equals(a.getInventoryId(), b.getInventoryId())
+                && Objects.equals(a.getSupplierId(), b.getSupplierId())
+                && Objects.equals(a.getSupplierName(), b.getSupplierName())
+                && Objects.equals(a.getSupplierActive(), b.getSupplierActive())
+                && Objects.equals(a.getItemCode(), b.getItemCode())
+                && Objects.equals(a.getItemName(), b.getItemName())
+                && Objects.equals(a.getSpec(), b.getSpec())
+                && Objects.equals(a.getManufacturer(), b.getManufacturer())
+                && Objects.equals(a.getItemActive(), b.getItemActive())
+                && Objects.equals(a.getQty(), b.getQty())
+                && Objects.equals(a.getMinStockQty(), b.getMinStockQty())
+                && Objects.equals(a.getMaxStockQty(), b.getMaxStockQty());
+    }
+}
@@ -1,20 +1,26 @@
 package com.mini_mes_3m_back.service;
 
+import com.mini_mes_3m_back.dto.RawItemInbound.RawInboundBatchRegisterRequestDto;
 import com.mini_mes_3m_back.dto.RawItemInbound.RawInboundRegisterRequestDto;
 import com.mini_mes_3m_back.dto.RawItemInbound.RawInboundResponseDto;
 import com.mini_mes_3m_back.dto.RawItemInbound.RawItemInboundEligibleItemDto;
-import com.mini_mes_3m_back.entity.Inventory;
 import com.mini_mes_3m_back.entity.RawInbound;
 import com.mini_mes_3m_back.entity.RawsItem;
-import com.mini_mes_3m_back.repository.InventoryRepository;
+import com.mini_mes_3m_back.repository.RawInboundJdbcRepository;
 import com.mini_mes_3m_back.repository.RawInboundRepository;
 import com.mini_mes_3m_back.repository.RawsItemRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,12 +28,20 @@ public class RawItemInboundService {
 
     private final RawsItemRepository rawsItemRepository;
     private final RawInboundRepository rawInboundRepository;
-    private final InventoryRepository inventoryRepository;
+    private final RawInboundJdbcRepository rawInboundJdbcRepository;
+    private final InventoryService inventoryService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final DocumentNumberService documentNumberService;
+    private final KeywordSearchIndex keywordSearchIndex;
 
-    public RawItemInboundService(RawsItemRepository rawsItemRepository, RawInboundRepository rawInboundRepository, InventoryRepository inventoryRepository) {
+    public RawItemInboundService(RawsItemRepository rawsItemRepository, RawInboundRepository rawInboundRepository, RawInboundJdbcRepository rawInboundJdbcRepository, InventoryService inventoryService, InventoryLedgerService inventoryLedgerService, DocumentNumberService documentNumberService, KeywordSearchIndex keywordSearchIndex) {
         this.rawsItemRepository = rawsItemRepository;
         this.rawInboundRepository = rawInboundRepository;
-        this.inventoryRepository = inventoryRepository;
+        this.rawInboundJdbcRepository = rawInboundJdbcRepository;
+        this.inventoryService = inventoryService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.documentNumberService = documentNumberService;
+        this.keywordSearchIndex = keywordSearchIndex;
     }
 
     // --- 1. 원자재 품목 목록 조회 (입고 등록용) ---
@@ -35,7 +49,10 @@ public class RawItemInboundService {
     public List<RawItemInboundEligibleItemDto> getInboundEligibleRawsItems(String keyword) {
         List<RawsItem> rawsItems;
         if (keyword != null && !keyword.trim().isEmpty()) {
-            rawsItems = rawsItemRepository.searchActiveRawsItemsForInbound(keyword);
+            // 색인에서 키워드가 들어 있는 품목 ID 를 찾고, 색인을 쓸 수 없으면 기존 LIKE 검색
+            rawsItems = keywordSearchIndex.searchRawsItemIds(keyword)
+                    .map(ids -> ids.isEmpty() ? List.<RawsItem>of() : rawsItemRepository.findActiveRawsItemsForInboundByIds(ids))
+                    .orElseGet(() -> rawsItemRepository.searchActiveRawsItemsForInbound(keyword));
         } else {
             rawsItems = rawsItemRepository.findActiveRawsItemsForInboundEligible();
         }
@@ -75,15 +92,11 @@ public class RawItemInboundService {
 
         RawInbound savedInbound = rawInboundRepository.save(rawInbound);
 
-        // --- 재고 업데이트 로직 (Inventory 엔티티 사용) ---
-        Inventory inventory = inventoryRepository.findByRawItem(rawsItem) // 해당 RawsItem의 재고 엔티티를 찾음
-                .orElseGet(() -> Inventory.builder() // 없으면 새로 생성 (Builder 패턴 사용)
-                        .rawItem(rawsItem)
-                        .qty(0) // 기본 수량 0
-                        .build());
+        // --- 재고 업데이트 (재고 행이 없으면 생성, 있으면 DB에서 원자적으로 증가) ---
+        int balanceAfter = inventoryService.increaseStock(rawsItem.getRawsItemId(), request.getQty());
 
-        inventory.setQty(inventory.getQty() + request.getQty()); // 기존 재고에 입고 수량 더하기
-        inventoryRepository.save(inventory); // Inventory 엔티티 업데이트 또는 새로 생성
+        // --- 수불 원장 기록 ---
+        inventoryLedgerService.recordInbound(savedInbound, balanceAfter);
 
         return new RawInboundResponseDto(
                 savedInbound.getRawInboundId(),
@@ -97,11 +110,79 @@ public class RawItemInboundService {
         );
     }
 
+    // --- 3. 원자재 품목 일괄 입고 등록 (트럭 1대분 등) ---
+    // 전체를 한 트랜잭션으로 처리하며, 건수와 무관하게 DB 왕복은 품목 조회 1 + 발번(블록) + 입고 배치 + 재고 배치 + 원장 배치 수준
+    @Transactional
+    public List<RawInboundResponseDto> registerRawInboundBatch(RawInboundBatchRegisterRequestDto request) {
+        List<RawInboundRegisterRequestDto> lines = request.getLines();
+
+        // 품목 한 번에 조회
+        Map<Long, RawsItem> rawsItems = rawsItemRepository.findAllById(
+                        lines.stream().map(RawInboundRegisterRequestDto::getRawsItemId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(RawsItem::getRawsItemId, Function.identity()));
+        for (RawInboundRegisterRequestDto line : lines) {
+            if (!rawsItems.containsKey(line.getRawsItemId())) {
+                throw new IllegalArgumentException("존재하지 않는 원자재 품목입니다. ID: " + line.getRawsItemId());
+            }
+        }
+
+        // 입고 일자별로 번호를 한 번에 발번 (MINC-yyyyMMdd-001 ...)
+        Map<LocalDate, Iterator<String>> numbersByDate = new LinkedHashMap<>();
+        lines.stream()
+                .collect(Collectors.groupingBy(RawInboundRegisterRequestDto::getInboundDate, LinkedHashMap::new, Collectors.counting()))
+                .forEach((date, count) -> numbersByDate.put(date, generateRawInboundNums(date, count.intValue()).iterator()));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<RawInbound> inbounds = new ArrayList<>(lines.size());
+        Map<Long, Integer> qtyByRawsItemId = new LinkedHashMap<>(); // 품목별 재고 증가량 합산
+        for (RawInboundRegisterRequestDto line : lines) {
+            inbounds.add(RawInbound.builder()
+                    .rawsItem(rawsItems.get(line.getRawsItemId()))
+                    .qty(line.getQty())
+                    .inboundDate(line.getInboundDate())
+                    .manufacturingDate(line.getManufacturingDate())
+                    .rawInboundNum(numbersByDate.get(line.getInboundDate()).next())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            qtyByRawsItemId.merge(line.getRawsItemId(), line.getQty(), Integer::sum);
+        }
+
+        rawInboundJdbcRepository.batchInsert(inbounds);
+        Map<String, Long> ids = rawInboundJdbcRepository.findIdsByRawInboundNums(
+                inbounds.stream().map(RawInbound::getRawInboundNum).toList());
+
+        // --- 재고 업데이트 (품목별 합산 후 배치 upsert) + 수불 원장 기록 ---
+        Map<Long, Integer> balances = inventoryService.increaseStocks(qtyByRawsItemId);
+        inventoryLedgerService.recordInbounds(inbounds, balances);
+
+        return inbounds.stream()
+                .map(inbound -> new RawInboundResponseDto(
+                        ids.get(inbound.getRawInboundNum()),
+                        inbound.getRawInboundNum(),
+                        inbound.getRawsItem().getRawsItemId(),
+                        inbound.getRawsItem().getItemName(),
+                        inbound.getQty(),
+                        inbound.getInboundDate(),
+                        inbound.getManufacturingDate(),
+                        inbound.getCreatedAt()
+                ))
+                .collect(Collectors.toList());
+    }
+
     // --- 입고 번호 자동 부여 헬퍼 메서드 ---
     private String generateRawInboundNum(LocalDate inboundDate) {
-        String datePrefix = inboundDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String prefix = "MINC-" + datePrefix + "-";
-        long count = rawInboundRepository.countByRawInboundNumStartingWith(prefix);
-        return prefix + String.format("%03d", count + 1); // 001, 002 형식으로 부여
+        String prefix = "MINC-" + inboundDate.format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "-";
+        // 시퀀스 테이블 기반 발번 (count 쿼리는 해당 일자 시퀀스가 처음 만들어질 때 한 번만 실행)
+        return documentNumberService.nextNumber(DocumentNumberService.MINC, inboundDate,
+                () -> rawInboundRepository.countByRawInboundNumStartingWith(prefix)); // 001, 002 형식으로 부여
+    }
+
+    // --- 입고 번호 일괄 부여 헬퍼 메서드 ---
+    private List<String> generateRawInboundNums(LocalDate inboundDate, int count) {
+        String prefix = "MINC-" + inboundDate.format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "-";
+        return documentNumberService.nextNumbers(DocumentNumberService.MINC, inboundDate, count,
+                () -> rawInboundRepository.countByRawInboundNumStartingWith(prefix));
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.entity.RawInbound;
+import com.mini_mes_3m_back.entity.RawOutbound;
+import com.mini_mes_3m_back.entity.RawOutboundLot;
+import com.mini_mes_3m_back.repository.InventoryRepository;
+import com.mini_mes_3m_back.repository.RawInboundRepository;
+import com.mini_mes_3m_back.repository.RawOutboundLotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 원자재 입고 로트 단위 잔여 수량 관리 (FEFO: 제조일자가 오래된 로트부터 출고)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RawLotService {
+
+    private static final int FEFO_LOT_PAGE_SIZE = 20; // FEFO 할당 시 한 번에 읽는 로트 수
+
+    private final RawInboundRepository rawInboundRepository;
+    private final RawOutboundLotRepository rawOutboundLotRepository;
+    private final InventoryRepository inventoryRepository;
+
+    /**
+     * 출고 수량을 제조일자가 오래된 로트부터 차감하고, 차감 내역을 출고에 연결한다.
+     * 로트는 필요한 수량이 채워질 때까지만 페이지 단위로 잠금 조회한다.
+     */
+    @Transactional
+    public List<RawOutboundLot> consumeFefo(RawOutbound outbound) {
+        Long rawsItemId = outbound.getRawsItem().getRawsItemId();
+        int needed = outbound.getQty();
+        List<RawOutboundLot> consumed = new ArrayList<>();
+
+        Pageable pageable = PageRequest.of(0, FEFO_LOT_PAGE_SIZE);
+        List<RawInbound> touched = new ArrayList<>();
+        while (needed > 0) {
+            Slice<RawInbound> slice = rawInboundRepository.findOpenLotsFefoForUpdate(rawsItemId, pageable);
+            for (RawInbound lot : slice) {
+                int take = Math.min(needed, lot.getRemainingQty());
+                touched.add(lot);
+                consumed.add(RawOutboundLot.builder()
+                        .rawOutbound(outbound)
+                        .rawInbound(lot)
+                        .qty(take)
+                        .build());
+                needed -= take;
+                if (needed == 0) {
+                    break;
+                }
+            }
+            if (needed == 0 || !slice.hasNext()) {
+                break;
+            }
+            pageable = slice.nextPageable();
+        }
+
+        if (needed > 0) {
+            // 재고 합계는 충분한데 로트 잔여 수량이 모자라면 데이터 불일치 (재고 점검 필요)
+            throw new IllegalStateException("출고 가능한 입고 로트 잔여 수량이 부족합니다. (부족 수량: " + needed + ")");
+        }
+
+        // 페이지를 모두 읽은 뒤에 차감 (차감 중에 다음 페이지 범위가 바뀌지 않도록)
+        for (int i = 0; i < touched.size(); i++) {
+            RawInbound lot = touched.get(i);
+            int remaining = lot.getRemainingQty() - consumed.get(i).getQty();
+            lot.setRemainingQty(remaining);
+            if (remaining == 0) {
+                lot.setIsOutboundProcessed(true);
+            }
+        }
+
+        List<RawOutboundLot> saved = rawOutboundLotRepository.saveAll(consumed);
+        outbound.getLots().addAll(saved);
+        return saved;
+    }
+
+    // --- 잔여 수량 컬럼 도입 전 데이터 초기화 ---
+    // 현재 재고량을 최신 제조일자 로트부터 채워 넣는다 (그동안 출고가 오래된 로트부터 나갔다고 간주).
+    @Transactional
+    public void backfillRemainingQty() {
+        List<Long> rawsItemIds = rawInboundRepository.findRawsItemIdsWithoutRemainingQty();
+        for (Long rawsItemId : rawsItemIds) {
+            int left = inventoryRepository.findQtyByRawsItemId(rawsItemId).orElse(0);
+            for (RawInbound lot : rawInboundRepository.findByRawsItem_RawsItemIdOrderByManufacturingDateDescRawInboundIdDesc(rawsItemId)) {
+                int remaining = Boolean.TRUE.equals(lot.getIsCancelled()) ? 0 : Math.min(lot.getQty(), left);
+                left -= remaining;
+                lot.setRemainingQty(remaining);
+                lot.setIsOutboundProcessed(remaining == 0);
+            }
+        }
+        if (!rawsItemIds.isEmpty()) {
+            log.info("원자재 입고 로트 잔여 수량 초기화 완료: 품목 {}건", rawsItemIds.size());
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.mini_mes_3m_back.service;
 
 import com.mini_mes_3m_back.dto.RawOutbound.RawOutboundEligibleItemDto;
+import com.mini_mes_3m_back.dto.RawOutbound.RawOutboundLotDto;
 import com.mini_mes_3m_back.dto.RawOutbound.RawOutboundRegisterRequestDto;
 import com.mini_mes_3m_back.dto.RawOutbound.RawOutboundResponseDto;
-import com.mini_mes_3m_back.entity.Inventory;
 import com.mini_mes_3m_back.entity.RawOutbound;
+import com.mini_mes_3m_back.entity.RawOutboundLot;
 import com.mini_mes_3m_back.entity.RawsItem;
-import com.mini_mes_3m_back.repository.InventoryRepository;
 import com.mini_mes_3m_back.repository.RawOutboundRepository;
 import com.mini_mes_3m_back.repository.RawsItemRepository;
 import org.springframework.stereotype.Service;
@@ -22,30 +22,35 @@ public class RawOutboundService {
 
     private final RawsItemRepository rawsItemRepository;
     private final RawOutboundRepository rawOutboundRepository;
-    private final InventoryRepository inventoryRepository;
+    private final RawInventoryReadModel rawInventoryReadModel;
+    private final InventoryService inventoryService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final RawLotService rawLotService;
+    private final DocumentNumberService documentNumberService;
 
-    public RawOutboundService(RawsItemRepository rawsItemRepository, RawOutboundRepository rawOutboundRepository, InventoryRepository inventoryRepository) {
+    public RawOutboundService(RawsItemRepository rawsItemRepository, RawOutboundRepository rawOutboundRepository, RawInventoryReadModel rawInventoryReadModel, InventoryService inventoryService, InventoryLedgerService inventoryLedgerService, RawLotService rawLotService, DocumentNumberService documentNumberService) {
         this.rawsItemRepository = rawsItemRepository;
         this.rawOutboundRepository = rawOutboundRepository;
-        this.inventoryRepository = inventoryRepository;
+        this.rawInventoryReadModel = rawInventoryReadModel;
+        this.inventoryService = inventoryService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.rawLotService = rawLotService;
+        this.documentNumberService = documentNumberService;
     }
 
     // --- 1. 출고 등록 가능한 원자재 품목 목록 조회 ---
-    @Transactional(readOnly = true)
+    // DB 조회 없이 메모리 읽기 모델에서 필터링 (거래 중인 품목/매입처만)
     public List<RawOutboundEligibleItemDto> getOutboundEligibleRawsItems(String keyword) {
-        List<Inventory> inventories = inventoryRepository.searchActiveInventories(keyword);
-
-        return inventories.stream()
-                .filter(i -> i.getRawItem() != null && i.getRawItem().getSupplier() != null && i.getRawItem().getSupplier().getActive())
-                .map(i -> new RawOutboundEligibleItemDto(
-                        i.getRawItem().getRawsItemId(),
-                        i.getInventoryId(),
-                        i.getRawItem().getSupplier().getName(),
-                        i.getRawItem().getItemCode(),
-                        i.getRawItem().getItemName(),
-                        i.getRawItem().getSpec(),
-                        i.getRawItem().getManufacturer(),
-                        i.getQty(), // 현재 재고량
+        return rawInventoryReadModel.searchActive(keyword).stream()
+                .map(row -> new RawOutboundEligibleItemDto(
+                        row.getRawsItemId(),
+                        row.getInventoryId(),
+                        row.getSupplierName(),
+                        row.getItemCode(),
+                        row.getItemName(),
+                        row.getSpec(),
+                        row.getManufacturer(),
+                        row.getQty(), // 현재 재고량
                         // RawsItem의 unit 필드가 있다면 사용하거나 spec에서 파싱
                         // i.getRawItem().getUnit() 또는 i.getRawItem().getSpec().split("/").length > 1 ? i.getRawItem().getSpec().split("/")[1].trim() : null
                         null // TODO: RawsItem에 단위 필드를 추가하는 것이 더 명확
@@ -59,13 +64,8 @@ public class RawOutboundService {
         RawsItem rawsItem = rawsItemRepository.findById(request.getRawsItemId())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 원자재 품목입니다. ID: " + request.getRawsItemId()));
 
-        Inventory inventory = inventoryRepository.findByRawItem(rawsItem)
-                .orElseThrow(() -> new IllegalArgumentException("해당 원자재의 재고 정보가 없습니다. ID: " + request.getRawsItemId()));
-
-        // 출고 수량이 현재 재고량보다 많은지 확인
-        if (request.getQty() > inventory.getQty()) {
-            throw new IllegalArgumentException("출고 수량이 현재 재고량(" + inventory.getQty() + ")보다 많습니다.");
-        }
+        // 재고 차감: 재고가 충분할 때만 차감되는 조건부 UPDATE (부족하면 IllegalArgumentException)
+        int balanceAfter = inventoryService.decreaseStock(rawsItem.getRawsItemId(), request.getQty());
 
         // 출고 번호 생성 (MOUT-yyyyMMdd-001)
         String rawOutboundNum = generateRawOutboundNum(request.getOutboundDate()); // request.getOutboundDate() 대신 request.getShippedAt()
@@ -80,9 +80,11 @@ public class RawOutboundService {
 
         RawOutbound savedOutbound = rawOutboundRepository.save(rawOutbound);
 
-        // --- 재고 업데이트 (Inventory 엔티티 qty 차감) ---
-        inventory.setQty(inventory.getQty() - request.getQty());
-        inventoryRepository.save(inventory);
+        // --- 입고 로트 차감 (제조일자가 오래된 로트부터, FEFO) ---
+        List<RawOutboundLot> lots = rawLotService.consumeFefo(savedOutbound);
+
+        // --- 수불 원장 기록 ---
+        inventoryLedgerService.recordOutbound(savedOutbound, balanceAfter);
 
         return new RawOutboundResponseDto(
                 savedOutbound.getRawOutboundId(),
@@ -91,15 +93,24 @@ public class RawOutboundService {
                 savedOutbound.getRawsItem().getItemName(),
                 savedOutbound.getQty(),
                 savedOutbound.getShippedAt(), // outboundDate 대신 shippedAt
-                savedOutbound.getCreatedAt()
+                savedOutbound.getCreatedAt(),
+                lots.stream()
+                        .map(lot -> new RawOutboundLotDto(
+                                lot.getRawInbound().getRawInboundId(),
+                                lot.getRawInbound().getRawInboundNum(),
+                                lot.getRawInbound().getManufacturingDate(),
+                                lot.getQty(),
+                                lot.getRawInbound().getRemainingQty()
+                        ))
+                        .collect(Collectors.toList())
         );
     }
 
     // --- 출고 번호 자동 부여 헬퍼 메서드 ---
     private String generateRawOutboundNum(LocalDate shippedAt) { // outboundDate 대신 shippedAt
-        String datePrefix = shippedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String prefix = "MOUT-" + datePrefix + "-";
-        long count = rawOutboundRepository.countByRawOutboundMOUTNumStartingWith(prefix); // rawOutboundNum 대신 rawOutboundMOUTNum
-        return prefix + String.format("%03d", count + 1);
+        String prefix = "MOUT-" + shippedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "-";
+        // 시퀀스 테이블 기반 발번 (count 쿼리는 해당 일자 시퀀스가 처음 만들어질 때 한 번만 실행)
+        return documentNumberService.nextNumber(DocumentNumberService.MOUT, shippedAt,
+                () -> rawOutboundRepository.countByRawOutboundMOUTNumStartingWith(prefix)); // rawOutboundNum 대신 rawOutboundMOUTNum
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Inventory.RawInventoryRowDto;
+import com.mini_mes_3m_back.dto.Inventory.RawStockAlertDto;
+import com.mini_mes_3m_back.event.RawInventoryRowChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 원자재 재고 부족/과잉 알림
+// - 재고 읽기 모델의 행 변경 이벤트마다 해당 품목 하나만 판정한다 (품목 수와 무관하게 변경 1건당 O(1)).
+// - 상태가 바뀔 때만(정상 → 부족, 부족 → 정상 등) 알림을 만들어 피드에 쌓고 SSE 구독자에게 보낸다.
+// - SSE 전송은 전용 스레드 하나에서 순서대로 한다. 느리거나 끊긴 구독자가 재고 변경(커밋 후 처리)을 막지 않도록.
+@Slf4j
+@Service
+public class RawStockAlertService {
+
+    public static final String LOW = "LOW";       // 최소 재고 이하
+    public static final String OVER = "OVER";     // 최대 재고 초과
+    public static final String NORMAL = "NORMAL"; // 정상 (복귀)
+
+    private static final int FEED_CAPACITY = 500;           // 피드에 보관할 최근 알림 수
+    private static final long SSE_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    private final ConcurrentHashMap<Long, String> levels = new ConcurrentHashMap<>();          // rawsItemId -> 현재 상태
+    private final ConcurrentHashMap<Long, RawStockAlertDto> activeAlerts = new ConcurrentHashMap<>(); // 부족/과잉 상태인 품목의 최근 알림
+    private final Deque<RawStockAlertDto> feed = new ArrayDeque<>();
+    // 알림 ID 는 서버 기동 시각(epoch millis × 1000)부터 시작해서 재시작 후에도 이전 ID 보다 커지게 한다.
+    // (afterId 로 이어받던 클라이언트가 재시작 후 알림을 놓치지 않도록, 값은 JavaScript 안전 정수 범위 안)
+    private final AtomicLong alertSeq = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService pushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "raw-stock-alert-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener
+    public void onRowChanged(RawInventoryRowChangedEvent event) {
+        RawInventoryRowDto row = event.getCurrent();
+        if (row == null) {
+            levels.remove(event.getPrevious().getRawsItemId());
+            activeAlerts.remove(event.getPrevious().getRawsItemId());
+            return;
+        }
+
+        // 거래 종료된 품목/매입처는 알림 대상에서 제외
+        String newLevel = row.isVisible() ? evaluate(row) : NORMAL;
+        String oldLevel = levels.put(row.getRawsItemId(), newLevel);
+        if (oldLevel == null) {
+            oldLevel = NORMAL;
+        }
+
+        if (event.isInitialLoad()) {
+            // 기동 시에는 현재 상태만 맞추고 알림은 보내지 않음
+            if (!NORMAL.equals(newLevel)) {
+                activeAlerts.put(row.getRawsItemId(), toAlert(0L, row, newLevel));
+            } else {
+                activeAlerts.remove(row.getRawsItemId());
+            }
+            return;
+        }
+        if (oldLevel.equals(newLevel)) {
+            return;
+        }
+
+        RawStockAlertDto alert = toAlert(alertSeq.incrementAndGet(), row, newLevel);
+        if (NORMAL.equals(newLevel)) {
+            activeAlerts.remove(row.getRawsItemId());
+        } else {
+            activeAlerts.put(row.getRawsItemId(), alert);
+        }
+        synchronized (feed) {
+            feed.addLast(alert);
+            if (feed.size() > FEED_CAPACITY) {
+                feed.removeFirst();
+            }
+        }
+        if (!emitters.isEmpty()) {
+            try {
+                pushExecutor.execute(() -> push(alert));
+            } catch (RejectedExecutionException e) {
+                log.debug("종료 중이라 재고 알림 전송 생략: alertId={}", alert.getAlertId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pushExecutor.shutdownNow();
+    }
+
+    // --- 알림 피드 조회 (afterId 이후 알림만, 오래된 순) ---
+    public List<RawStockAlertDto> getAlerts(Long afterId, int limit) {
+        long after = (afterId != null) ? afterId : 0L;
+        List<RawStockAlertDto> result = new ArrayList<>();
+        synchronized (feed) {
+            for (RawStockAlertDto alert : feed) {
+                if (alert.getAlertId() > after) {
+                    result.add(alert);
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // --- 현재 부족/과잉 상태인 품목 목록 ---
+    public List<RawStockAlertDto> getActiveAlerts() {
+        return activeAlerts.values().stream()
+                .sorted(Comparator.comparing(RawStockAlertDto::getRawsItemId))
+                .toList();
+    }
+
+    // --- 실시간 알림 구독 (SSE) ---
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        return emitter;
+    }
+
+    private void push(RawStockAlertDto alert) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(alert.getAlertId()))
+                        .name("raw-stock-alert")
+                        .data(alert));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter); // 끊긴 구독자
+            }
+        }
+    }
+
+    private static String evaluate(RawInventoryRowDto row) {
+        int qty = row.getQty() != null ? row.getQty() : 0;
+        if (row.getMinStockQty() != null && qty <= row.getMinStockQty()) {
+            return LOW;
+        }
+        if (row.getMaxStockQty() != null && qty > row.getMaxStockQty()) {
+            return OVER;
+        }
+        return NORMAL;
+    }
+
+    private static RawStockAlertDto toAlert(Long alertId, RawInventoryRowDto row, String level) {
+        return new RawStockAlertDto(
+                alertId,
+                row.getRawsItemId(),
+                row.getSupplierName(),
+                row.getItemCode(),
+                row.getItemName(),
+                level,
+                row.getQty(),
+                row.getMinStockQty(),
+                row.getMaxStockQty(),
+                OffsetDateTime.now()
+        );
+    }
+}
@@ -5,8 +5,10 @@ import com.mini_mes_3m_back.dto.RawsItem.*; // 모든 RawsItem DTO 임포트
 import com.mini_mes_3m_back.dto.RawsItem.RawsItemDetailResponseDto;
 import com.mini_mes_3m_back.entity.Partner;
 import com.mini_mes_3m_back.entity.RawsItem;
+import com.mini_mes_3m_back.event.RawInventoryChangedEvent;
 import com.mini_mes_3m_back.repository.PartnerRepository; // PartnerRepository 임포트
 import com.mini_mes_3m_back.repository.RawsItemRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,10 +21,12 @@ public class RawsItemService {
 
     private final RawsItemRepository rawsItemRepository;
     private final PartnerRepository partnerRepository; // PartnerRepository 주입
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RawsItemService(RawsItemRepository rawsItemRepository, PartnerRepository partnerRepository) {
+    public RawsItemService(RawsItemRepository rawsItemRepository, PartnerRepository partnerRepository, ApplicationEventPublisher eventPublisher) {
         this.rawsItemRepository = rawsItemRepository;
         this.partnerRepository = partnerRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // --- 1. 원자재 품목 등록 ---
@@ -136,6 +140,7 @@ public class RawsItemService {
         rawsItem.setActive(request.getActive());
 
         RawsItem updatedRawsItem = rawsItemRepository.save(rawsItem);
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofItem(rawsItemId)); // 재고 현황 읽기 모델 갱신
 
         // DTO의 필드에 맞춰 매핑
         return new RawsItemResponseDto( // DTO 이름 변경!
@@ -163,6 +168,7 @@ public class RawsItemService {
 
         rawsItem.setActive(newStatus);
         RawsItem updatedRawsItem = rawsItemRepository.save(rawsItem);
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofItem(rawsItemId)); // 재고 현황 읽기 모델 갱신
 
         return new RawsItemPartialResponseDto(
                 updatedRawsItem.getRawsItemId(),
@@ -175,6 +181,31 @@ public class RawsItemService {
         );
     }
 
+    // --- 6. 원자재 품목 최소/최대 재고 설정 (부족/과잉 알림 기준) ---
+    @Transactional
+    public RawsItemStockThresholdResponseDto updateRawsItemStockThresholds(Long rawsItemId, RawsItemStockThresholdRequestDto request) {
+        RawsItem rawsItem = rawsItemRepository.findById(rawsItemId)
+                .orElseThrow(() -> new NoSuchElementException("존재하지 않는 원자재 품목입니다. ID: " + rawsItemId));
+
+        if (request.getMinStockQty() != null && request.getMaxStockQty() != null
+                && request.getMinStockQty() > request.getMaxStockQty()) {
+            throw new IllegalArgumentException("최소 재고는 최대 재고보다 클 수 없습니다.");
+        }
+
+        rawsItem.setMinStockQty(request.getMinStockQty());
+        rawsItem.setMaxStockQty(request.getMaxStockQty());
+        RawsItem updatedRawsItem = rawsItemRepository.save(rawsItem);
+        eventPublisher.publishEvent(RawInventoryChangedEvent.ofItem(rawsItemId)); // 기준이 바뀌면 알림 상태도 다시 판정
+
+        return new RawsItemStockThresholdResponseDto(
+                updatedRawsItem.getRawsItemId(),
+                updatedRawsItem.getItemCode(),
+                updatedRawsItem.getItemName(),
+                updatedRawsItem.getMinStockQty(),
+                updatedRawsItem.getMaxStockQty()
+        );
+    }
+
     // --- 검색 기능 (필요시 추가) ---
     // 예: 품목명 또는 품목번호로 검색하는 메서드
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Etc.RepositoryMethodMetricsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 저장소 메서드 호출 통계 (지연 시간 히스토그램, 반환 행 수, 실행 SQL 문 수)
+// - 저장소/메서드/키워드 유무(none | empty | present)별로 모은다. 같은 검색이라도 키워드가 비면 전체 조회가 되므로 따로 본다.
+// - 기준 시간(metrics.repository.slow-query-millis)을 넘긴 호출은 실행된 SQL 과 함께 WARN 로그로 남긴다.
+// 수집은 RepositoryInstrumentationPostProcessor 가 저장소 빈을 감싸서 호출마다 record() 를 부르는 방식이며, 서버 재시작 시 초기화된다.
+@Slf4j
+@Component
+public class RepositoryMetrics {
+
+    // 히스토그램 구간 상한 (ms), 마지막 구간은 그 이상 전부
+    private static final long[] BUCKET_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private record Key(String repository, String method, String keyword) {}
+
+    private static final class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rowCalls = new LongAdder();   // 행 수를 알 수 있었던 호출 수
+        private final LongAdder totalRows = new LongAdder();
+        private final AtomicLong maxRows = new AtomicLong();
+        private final LongAdder totalStatements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_MILLIS.length + 1];
+
+        private Stats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+    }
+
+    private final long slowQueryNanos;
+    private final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+
+    public RepositoryMetrics(@Value("${metrics.repository.slow-query-millis:300}") long slowQueryMillis) {
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+    }
+
+    /**
+     * 호출 한 건 기록
+     * @param rows 돌려준 행 수 (알 수 없으면 -1)
+     * @param sqls 실행된 SQL (앞에서부터 몇 개만, 느린 호출 로그용)
+     */
+    public void record(String repository, String method, String keyword, long nanos, long rows,
+                       int statements, List<String> sqls, boolean failed) {
+        Stats s = stats.computeIfAbsent(new Key(repository, method, keyword), k -> new Stats());
+        s.calls.increment();
+        if (failed) {
+            s.errors.increment();
+        }
+        s.totalNanos.add(nanos);
+        s.maxNanos.accumulateAndGet(nanos, Math::max);
+        s.buckets[bucketOf(nanos)].increment();
+        if (rows >= 0) {
+            s.rowCalls.increment();
+            s.totalRows.add(rows);
+            s.maxRows.accumulateAndGet(rows, Math::max);
+        }
+        s.totalStatements.add(statements);
+        s.maxStatements.accumulateAndGet(statements, Math::max);
+
+        if (nanos >= slowQueryNanos) {
+            log.warn("느린 저장소 호출 {}ms: {}.{} (keyword={}, rows={}, sql {}건) {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), repository, method, keyword, rows, statements, sqls);
+        }
+    }
+
+    /**
+     * 현재까지의 통계
+     * @param sort totalTime(기본) | p95 | calls | rows | statements 내림차순
+     */
+    public List<RepositoryMethodMetricsDto> snapshot(String sort) {
+        Comparator<RepositoryMethodMetricsDto> order = switch (sort == null ? "totalTime" : sort) {
+            case "totalTime" -> Comparator.comparingDouble(RepositoryMethodMetricsDto::getTotalMillis);
+            case "p95" -> Comparator.comparingLong(RepositoryMethodMetricsDto::getP95Millis);
+            case "calls" -> Comparator.comparingLong(RepositoryMethodMetricsDto::getCalls);
+            case "rows" -> Comparator.comparingDouble(RepositoryMethodMetricsDto::getAvgRows);
+            case "statements" -> Comparator.comparingDouble(RepositoryMethodMetricsDto::getAvgStatements);
+            default -> throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + sort);
+        };
+        return stats.entrySet().stream()
+                .map(e -> toDto(e.getKey(), e.getValue()))
+                .sorted(order.reversed())
+                .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private static RepositoryMethodMetricsDto toDto(Key key, Stats s) {
+        long calls = s.calls.sum();
+        long rowCalls = s.rowCalls.sum();
+        long[] counts = new long[s.buckets.length];
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = s.buckets[i].sum();
+            histogram.put(i < BUCKET_MILLIS.length ? "<=" + BUCKET_MILLIS[i] + "ms" : ">" + BUCKET_MILLIS[BUCKET_MILLIS.length - 1] + "ms", counts[i]);
+        }
+        double totalMillis = s.totalNanos.sum() / 1_000_000.0;
+        return RepositoryMethodMetricsDto.builder()
+                .repository(key.repository())
+                .method(key.method())
+                .keyword(key.keyword())
+                .calls(calls)
+                .errors(s.errors.sum())
+                .totalMillis(totalMillis)
+                .avgMillis(calls == 0 ? 0 : totalMillis / calls)
+                .maxMillis(s.maxNanos.get() / 1_000_000.0)
+                .p50Millis(percentile(counts, calls, 0.50, s.maxNanos.get()))
+                .p95Millis(percentile(counts, calls, 0.95, s.maxNanos.get()))
+                .p99Millis(percentile(counts, calls, 0.99, s.maxNanos.get()))
+                .latencyHistogram(histogram)
+                .avgRows(rowCalls == 0 ? 0 : (double) s.totalRows.sum() / rowCalls)
+                .maxRows(s.maxRows.get())
+                .avgStatements(calls == 0 ? 0 : (double) s.totalStatements.sum() / calls)
+                .maxStatements(s.maxStatements.get())
+                .build();
+    }
+
+    // 누적 건수가 처음으로 calls * ratio 이상이 되는 구간의 상한 (마지막 구간이면 최대값)
+    private static long percentile(long[] counts, long calls, double ratio, long maxNanos) {
+        if (calls == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(calls * ratio);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_MILLIS.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return BUCKET_MILLIS[i];
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+    }
+
+    private static int bucketOf(long nanos) {
+        for (int i = 0; i < BUCKET_MILLIS.length; i++) {
+            if (nanos <= TimeUnit.MILLISECONDS.toNanos(BUCKET_MILLIS[i])) {
+                return i;
+            }
+        }
+        return BUCKET_MILLIS.length;
+    }
+}
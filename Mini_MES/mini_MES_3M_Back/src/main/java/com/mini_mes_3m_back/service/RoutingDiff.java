@@ -0,0 +1,73 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.entity.SalesItemOperation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// 수주품목 공정 순서(라우팅) 비교
+// 저장된 공정 행과 요청한 공정 ID 순서를 비교해서, 같은 공정은 기존 행을 그대로 쓰고(순서만 바뀌면 seq UPDATE)
+// 새 공정만 INSERT, 빠진 공정만 DELETE 하도록 계획을 만든다. (전체 삭제 후 재등록하지 않음)
+// 같은 공정이 여러 번 있으면 저장된 seq 순서대로 앞에서부터 짝을 짓는다.
+public final class RoutingDiff {
+
+    // 요청 순서의 한 단계: 기존 행을 재사용하면 existing, 새로 넣을 공정이면 existing == null
+    public record Step(Long operationId, SalesItemOperation existing) {}
+
+    /**
+     * @param steps 요청 순서 그대로의 단계 (index + 1 = 새 seq)
+     * @param deletes 요청에 없어 삭제할 기존 행
+     * @param insertedOperationIds 새로 넣을 공정 ID (중복 제거, 공정 엔티티 조회용)
+     */
+    public record Plan(List<Step> steps, List<SalesItemOperation> deletes, List<Long> insertedOperationIds) {
+
+        // 바뀐 것이 없으면 (공정 구성, 순서 모두 같음) true
+        public boolean isUnchanged() {
+            if (!deletes.isEmpty() || !insertedOperationIds.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < steps.size(); i++) {
+                if (!Integer.valueOf(i + 1).equals(steps.get(i).existing().getSeq())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private RoutingDiff() {
+    }
+
+    public static Plan plan(List<SalesItemOperation> stored, List<Long> requestedOperationIds) {
+        Map<Long, Deque<SalesItemOperation>> storedByOperation = new HashMap<>();
+        stored.stream()
+                .sorted(Comparator.comparing(SalesItemOperation::getSeq, Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(sio -> storedByOperation
+                        .computeIfAbsent(sio.getOperations().getOperationId(), id -> new ArrayDeque<>())
+                        .add(sio));
+
+        List<Step> steps = new ArrayList<>(requestedOperationIds.size());
+        LinkedHashSet<Long> inserted = new LinkedHashSet<>();
+        for (Long operationId : requestedOperationIds) {
+            if (operationId == null) {
+                throw new IllegalArgumentException("작업 공정 ID 에 null 이 있습니다.");
+            }
+            Deque<SalesItemOperation> candidates = storedByOperation.get(operationId);
+            SalesItemOperation existing = candidates != null ? candidates.pollFirst() : null;
+            if (existing == null) {
+                inserted.add(operationId);
+            }
+            steps.add(new Step(operationId, existing));
+        }
+
+        List<SalesItemOperation> deletes = new ArrayList<>();
+        storedByOperation.values().forEach(deletes::addAll); // 짝을 못 찾은 기존 행
+        return new Plan(steps, deletes, List.copyOf(inserted));
+    }
+}
@@ -1,5 +1,6 @@
 package com.mini_mes_3m_back.service;
 
+import com.mini_mes_3m_back.dto.Etc.CursorPageDto;
 import com.mini_mes_3m_back.dto.SalesHistoryOutboundDto.SalesHistoryOutboundDto;
 import com.mini_mes_3m_back.dto.SalesHistoryOutboundDto.SalesHistoryOutboundUpdateDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundDetailResponseDto;
@@ -10,9 +11,12 @@ import com.mini_mes_3m_back.repository.SalesHistoryOutboundRepository;
 import com.mini_mes_3m_back.repository.SalesInboundRepository;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -22,6 +26,10 @@ public class SalesHistoryOutboundService {
     private final SalesHistoryOutboundRepository salesHistoryOutboundRepository;
     private final SalesInboundRepository inboundRepository;
     private final SalesInboundRepository salesInboundRepository;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final KeywordSearchIndex keywordSearchIndex;
+
+    private static final int MAX_SCROLL_SIZE = 200;
 
     /**
      * 키워드 기반 출고 이력 조회 (DTO 반환)
@@ -29,9 +37,17 @@ public class SalesHistoryOutboundService {
      * @return SalesHistoryOutboundDto 리스트
      */
     public List<SalesHistoryOutboundDto> searchOutboundHistory(String keyword) {
+        // 키워드 안의 날짜/월/기간(2025-10, 2025-10-01~2025-10-15)은 출고일자 범위 조건으로 분리
+        DateRangeKeyword search = DateRangeKeyword.parse(keyword);
         List<SalesOutbound> outbounds;
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            outbounds = outboundRepository.findActiveOutboundsWithSearch(keyword);
+        if (search.hasText()) {
+            // 색인에서 키워드가 들어 있는 출고 ID 를 찾고, 색인을 쓸 수 없으면 기존 LIKE 검색
+            outbounds = keywordSearchIndex.searchSalesOutboundIds(search.getText())
+                    .map(ids -> ids.isEmpty() ? List.<SalesOutbound>of()
+                            : outboundRepository.findActiveOutboundsByIds(ids, search.getFrom(), search.getTo()))
+                    .orElseGet(() -> outboundRepository.findActiveOutboundsWithSearch(search.getText(), search.getFrom(), search.getTo()));
+        } else if (search.hasDateRange()) {
+            outbounds = outboundRepository.findActiveOutboundsWithSearch(null, search.getFrom(), search.getTo());
         } else {
             outbounds = outboundRepository.findAllWithFetch(); // fetch join 포함
         }
@@ -42,6 +58,45 @@ public class SalesHistoryOutboundService {
                 .toList();
     }
 
+    /**
+     * 출고 이력 커서 조회: (출고일, ID) 내림차순으로 size 건씩
+     * 다음 페이지는 응답의 nextCursor 를 넘겨서 조회하며, 몇 번째 페이지든 커서 위치부터 size + 1 건만 읽는다.
+     * @param keyword 검색 키워드 (날짜/월/기간 포함 가능, 선택)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기 (1 ~ 200)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<SalesHistoryOutboundDto> scrollOutboundHistory(String keyword, String cursor, int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_SCROLL_SIZE + " 사이여야 합니다.");
+        }
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        LocalDate cursorDate = after != null ? after.date() : null;
+        Long cursorId = after != null ? after.id() : null;
+        Pageable limit = PageRequest.of(0, size + 1); // 한 건 더 읽어서 다음 페이지 존재 여부 판단
+
+        DateRangeKeyword search = DateRangeKeyword.parse(keyword);
+        List<SalesOutbound> rows;
+        if (search.hasText()) {
+            rows = keywordSearchIndex.searchSalesOutboundIds(search.getText())
+                    .map(ids -> ids.isEmpty() ? List.<SalesOutbound>of()
+                            : outboundRepository.scrollActiveOutboundsByIds(ids, search.getFrom(), search.getTo(), cursorDate, cursorId, limit))
+                    .orElseGet(() -> outboundRepository.scrollActiveOutbounds(search.getText(), search.getFrom(), search.getTo(), cursorDate, cursorId, limit));
+        } else {
+            rows = outboundRepository.scrollActiveOutbounds(null, search.getFrom(), search.getTo(), cursorDate, cursorId, limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<SalesOutbound> page = hasNext ? rows.subList(0, size) : rows;
+        SalesOutbound last = page.isEmpty() ? null : page.get(page.size() - 1);
+        // 출고일이 비어 있는 행(맨 뒤)에서 끝나면 일자 없는 커서로 이어서 읽음
+        return CursorPageDto.<SalesHistoryOutboundDto>builder()
+                .items(page.stream().map(this::convertToDto).toList())
+                .nextCursor(hasNext ? new HistoryCursor(last.getShippedAt(), last.getOutboundId()).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
     /**
      * 출고 엔티티를 DTO로 변환
      */
@@ -61,8 +116,12 @@ public class SalesHistoryOutboundService {
     }
 
     // --- 출고 이력 수정 ---
-    @Transactional
+    // 입고 로트 잔여 수량을 함께 바꾸므로 낙관적 잠금 충돌 시 자동 재시도
     public SalesHistoryOutboundDto updateSalesOutbound(Long outboundId, SalesHistoryOutboundUpdateDto request) {
+        return optimisticRetryExecutor.execute(() -> doUpdateSalesOutbound(outboundId, request));
+    }
+
+    private SalesHistoryOutboundDto doUpdateSalesOutbound(Long outboundId, SalesHistoryOutboundUpdateDto request) {
         SalesOutbound salesOutbound = salesHistoryOutboundRepository.findById(outboundId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 출고 이력입니다. ID: " + outboundId));
 
@@ -79,7 +138,12 @@ public class SalesHistoryOutboundService {
         salesOutbound.setShippedAt(request.getShippedAt());
 
         SalesInbound salesInbound = salesOutbound.getInbound();
-        salesInbound.setRemainingQty(salesInbound.getRemainingQty() + updateQty);
+        int remaining = salesInbound.getRemainingQty() + updateQty;
+        if (remaining < salesInbound.getReservedQty()) { // 다른 예약분까지 출고할 수는 없음
+            throw new IllegalArgumentException("출고 수량이 잔여 수량보다 많습니다.");
+        }
+        salesInbound.setRemainingQty(remaining);
+        salesInbound.setIsOutboundProcessed(remaining <= 0);
         salesInboundRepository.save(salesInbound);
 
         SalesOutbound updatedOutbound = salesHistoryOutboundRepository.save(salesOutbound);
@@ -0,0 +1,371 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.salesItem.SalesItemImportResultDto;
+import com.mini_mes_3m_back.dto.salesItem.SalesItemImportRowErrorDto;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent;
+import com.mini_mes_3m_back.repository.SalesItemImportJdbcRepository;
+import com.mini_mes_3m_back.repository.SalesItemImportJdbcRepository.ItemRow;
+import com.mini_mes_3m_back.repository.SalesItemImportJdbcRepository.PartnerRow;
+import com.mini_mes_3m_back.util.HangulChosung;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// 수주품목 + 공정 순서 대량 등록 (CSV / XLSX)
+// - 파일을 한 행씩 읽어(SpreadsheetRowReader) 검증하고, 500행씩 묶어 JDBC 배치로 저장한다. (행마다 saveAndFlush 하지 않음)
+// - 품목번호가 이미 있으면 수정, 없으면 등록 (거래 상태/이미지는 건드리지 않음)
+// - 거래처는 거래처명으로, 공정은 공정 코드로 메모리 조회표(거래처 전체 / OperationsCache)에서 찾는다.
+// - 공정 열이 비어 있으면 기존 공정 순서를 그대로 두고, 값이 있으면 저장된 순서와 다를 때만 새로 저장한다.
+// 묶음마다 따로 커밋하므로, 저장에 실패한 묶음만 결과의 실패 행으로 돌려주고 나머지는 등록된다.
+// 파일 중간에서 읽기 오류(닫히지 않은 따옴표, 깨진 시트 XML 등)가 나면 거기서 멈추고, 그때까지 저장한 건수와 함께
+// 결과의 fileError 로 돌려준다. (앞 묶음은 이미 커밋되었으므로 요청 실패로 응답하지 않음)
+// 품목번호 중복 확인은 "조회 후 등록"이라, 같은 품목번호를 두 파일이 동시에 등록하지 않도록 대량 등록은 한 번에 하나만 실행한다.
+@Slf4j
+@Service
+public class SalesItemImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ERRORS = 1000;
+
+    private static final int MAX_ITEM_CODE_LENGTH = 20;
+    private static final int MAX_ITEM_NAME_LENGTH = 100;
+    private static final int MAX_CLASSIFICATION_LENGTH = 20;
+
+    private enum Column { ITEM_CODE, ITEM_NAME, PARTNER_NAME, CLASSIFICATION, PRICE, COLOR, COATING_METHOD, REMARK, OPERATIONS }
+
+    // 머리글 이름 (소문자, 공백/밑줄 제거 후 비교)
+    private static final Map<String, Column> HEADERS = Map.ofEntries(
+            Map.entry("itemcode", Column.ITEM_CODE), Map.entry("품목번호", Column.ITEM_CODE),
+            Map.entry("itemname", Column.ITEM_NAME), Map.entry("품목명", Column.ITEM_NAME),
+            Map.entry("partnername", Column.PARTNER_NAME), Map.entry("거래처명", Column.PARTNER_NAME),
+            Map.entry("classification", Column.CLASSIFICATION), Map.entry("분류", Column.CLASSIFICATION),
+            Map.entry("price", Column.PRICE), Map.entry("단가", Column.PRICE),
+            Map.entry("color", Column.COLOR), Map.entry("색상", Column.COLOR),
+            Map.entry("coatingmethod", Column.COATING_METHOD), Map.entry("도장방식", Column.COATING_METHOD),
+            Map.entry("remark", Column.REMARK), Map.entry("비고", Column.REMARK),
+            Map.entry("operationcodes", Column.OPERATIONS), Map.entry("operations", Column.OPERATIONS),
+            Map.entry("공정", Column.OPERATIONS), Map.entry("공정코드", Column.OPERATIONS)
+    );
+
+    private static final Set<Column> REQUIRED = Set.of(Column.ITEM_CODE, Column.ITEM_NAME, Column.PARTNER_NAME, Column.CLASSIFICATION);
+
+    // 검증을 통과한 행 (operationIds == null 이면 공정 순서 유지)
+    private record ImportRow(int row, String itemCode, Long partnerId, String partnerName, String itemName,
+                             String classification, Integer price, String color, String coatingMethod,
+                             String remark, List<Long> operationIds) {}
+
+    private record ChunkResult(int inserted, int updated, int routingsChanged) {}
+
+    private final SalesItemImportJdbcRepository salesItemImportJdbcRepository;
+    private final OperationsCache operationsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public SalesItemImportService(SalesItemImportJdbcRepository salesItemImportJdbcRepository,
+                                  OperationsCache operationsCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.salesItemImportJdbcRepository = salesItemImportJdbcRepository;
+        this.operationsCache = operationsCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 파일의 첫 행은 머리글: 품목번호, 품목명, 거래처명, 분류 (필수) / 단가, 색상, 도장방식, 비고, 공정 (선택)
+     * 공정은 공정 코드를 순서대로 쉼표(,), > 또는 | 로 구분 (예: "OP10>OP20>OP30")
+     * @param csvCharset CSV 문자 집합 (엑셀에서 저장한 CSV 는 보통 UTF-8 또는 MS949)
+     */
+    public SalesItemImportResultDto importFile(MultipartFile file, Charset csvCharset) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("등록할 파일이 없습니다.");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("다른 대량 등록이 진행 중입니다. 끝난 뒤 다시 시도하세요.");
+        }
+        try {
+            return doImport(file, csvCharset);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SalesItemImportResultDto doImport(MultipartFile file, Charset csvCharset) {
+        long started = System.currentTimeMillis();
+        ImportJob job = new ImportJob(partnersByName());
+        String fileError = null;
+        try (InputStream in = file.getInputStream()) {
+            SpreadsheetRowReader.read(in, file.getOriginalFilename(), csvCharset, job::accept);
+        } catch (IllegalArgumentException | IOException | UncheckedIOException e) {
+            if (job.header == null) {
+                // 머리글도 읽기 전이면 저장한 행이 없으므로 요청 자체를 실패로
+                if (e instanceof IllegalArgumentException illegalArgument) {
+                    throw illegalArgument;
+                }
+                throw new RuntimeException("파일을 읽지 못했습니다.", e);
+            }
+            fileError = (e instanceof IllegalArgumentException ? "" : "파일을 읽지 못했습니다: ") + e.getMessage();
+            log.warn("수주품목 대량 등록 파일 읽기 중단 ({}행 이후): {}", job.totalRows, fileError);
+        }
+        if (job.header == null) {
+            throw new IllegalArgumentException("머리글 행이 없습니다.");
+        }
+        job.flush(); // 읽기 오류가 났어도 그 앞까지 검증을 통과한 행은 저장
+
+        log.info("수주품목 대량 등록 ({}ms): 행={}, 등록={}, 수정={}, 공정 순서={}, 실패={}",
+                System.currentTimeMillis() - started, job.totalRows, job.inserted, job.updated, job.routingsChanged, job.failed);
+        return SalesItemImportResultDto.builder()
+                .totalRows(job.totalRows)
+                .inserted(job.inserted)
+                .updated(job.updated)
+                .routingsChanged(job.routingsChanged)
+                .failed(job.failed)
+                .errors(job.errors)
+                .errorsTruncated(job.failed > job.errors.size())
+                .fileError(fileError)
+                .elapsedMillis(System.currentTimeMillis() - started)
+                .build();
+    }
+
+    // 거래처명(소문자) -> 거래처 (같은 이름이 여러 건일 수 있음)
+    private Map<String, List<PartnerRow>> partnersByName() {
+        return salesItemImportJdbcRepository.findAllPartners().stream()
+                .filter(p -> p.name() != null)
+                .collect(Collectors.groupingBy(p -> p.name().trim().toLowerCase(Locale.ROOT)));
+    }
+
+    // --- 파일 한 건 처리 상태 ---
+    private final class ImportJob {
+
+        private final Map<String, List<PartnerRow>> partners;
+        private Map<Column, Integer> header;
+        private final Set<String> seenItemCodes = new HashSet<>(); // 파일 안 중복 확인 (소문자)
+        private List<ImportRow> pending = new ArrayList<>(CHUNK_SIZE);
+
+        private int totalRows;
+        private int inserted;
+        private int updated;
+        private int routingsChanged;
+        private int failed;
+        private final List<SalesItemImportRowErrorDto> errors = new ArrayList<>();
+
+        private ImportJob(Map<String, List<PartnerRow>> partners) {
+            this.partners = partners;
+        }
+
+        private void accept(int rowNumber, List<String> cells) {
+            if (cells.stream().allMatch(c -> c == null || c.isBlank())) {
+                return; // 빈 행
+            }
+            if (header == null) {
+                header = parseHeader(cells);
+                return;
+            }
+            totalRows++;
+            String itemCode = cell(cells, Column.ITEM_CODE);
+            try {
+                ImportRow row = validate(rowNumber, cells);
+                if (!seenItemCodes.add(row.itemCode().toLowerCase(Locale.ROOT))) {
+                    throw new IllegalArgumentException("파일 안에서 품목번호가 중복됩니다. (앞의 행만 등록)");
+                }
+                pending.add(row);
+            } catch (IllegalArgumentException e) {
+                fail(rowNumber, itemCode, e.getMessage());
+            }
+            if (pending.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<ImportRow> chunk = pending;
+            pending = new ArrayList<>(CHUNK_SIZE);
+            try {
+                ChunkResult result = transactionTemplate.execute(status -> writeChunk(chunk));
+                inserted += result.inserted();
+                updated += result.updated();
+                routingsChanged += result.routingsChanged();
+            } catch (RuntimeException e) {
+                // 묶음 트랜잭션은 롤백되었으므로 이 묶음의 행만 실패로 남기고 다음 묶음을 계속 처리
+                log.warn("수주품목 대량 등록 묶음 저장 실패 ({}~{}행)", chunk.get(0).row(), chunk.get(chunk.size() - 1).row(), e);
+                String cause = e instanceof DataAccessException dataAccess
+                        ? dataAccess.getMostSpecificCause().getMessage() : e.getMessage();
+                String message = "저장 실패: " + cause;
+                chunk.forEach(row -> fail(row.row(), row.itemCode(), message));
+            }
+        }
+
+        private void fail(int rowNumber, String itemCode, String message) {
+            failed++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new SalesItemImportRowErrorDto(rowNumber, itemCode, message));
+            }
+        }
+
+        private Map<Column, Integer> parseHeader(List<String> cells) {
+            Map<Column, Integer> columns = new EnumMap<>(Column.class);
+            for (int i = 0; i < cells.size(); i++) {
+                String name = cells.get(i) == null ? "" : cells.get(i).replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+                Column column = HEADERS.get(name);
+                if (column != null) {
+                    columns.putIfAbsent(column, i);
+                }
+            }
+            List<Column> missing = REQUIRED.stream().filter(c -> !columns.containsKey(c)).sorted().toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("필수 열이 없습니다: " + missing
+                        + " (품목번호, 품목명, 거래처명, 분류)");
+            }
+            return columns;
+        }
+
+        private ImportRow validate(int rowNumber, List<String> cells) {
+            String itemCode = required(cells, Column.ITEM_CODE, "품목번호", MAX_ITEM_CODE_LENGTH);
+            String itemName = required(cells, Column.ITEM_NAME, "품목명", MAX_ITEM_NAME_LENGTH);
+            String classification = required(cells, Column.CLASSIFICATION, "분류", MAX_CLASSIFICATION_LENGTH);
+            PartnerRow partner = resolvePartner(required(cells, Column.PARTNER_NAME, "거래처명", Integer.MAX_VALUE));
+
+            return new ImportRow(rowNumber, itemCode, partner.partnerId(), partner.name(), itemName, classification,
+                    parsePrice(cell(cells, Column.PRICE)),
+                    blankToNull(cell(cells, Column.COLOR)),
+                    blankToNull(cell(cells, Column.COATING_METHOD)),
+                    blankToNull(cell(cells, Column.REMARK)),
+                    resolveOperations(cell(cells, Column.OPERATIONS)));
+        }
+
+        // 등록 폼(/partners/active)과 같게 거래 중인 거래처만, 같은 이름이 여러 건이면 고객사(customer) 거래처 중에서 찾음
+        private PartnerRow resolvePartner(String name) {
+            List<PartnerRow> named = partners.getOrDefault(name.toLowerCase(Locale.ROOT), List.of());
+            List<PartnerRow> found = named.stream().filter(PartnerRow::active).toList();
+            if (found.isEmpty() && !named.isEmpty()) {
+                throw new IllegalArgumentException("거래 중지된 거래처입니다: " + name);
+            }
+            if (found.size() > 1) {
+                found = found.stream().filter(p -> "customer".equalsIgnoreCase(p.partnerType())).toList();
+            }
+            if (found.isEmpty()) {
+                throw new IllegalArgumentException("등록되지 않은 거래처입니다: " + name);
+            }
+            if (found.size() > 1) {
+                throw new IllegalArgumentException("같은 이름의 거래처가 여러 건입니다: " + name);
+            }
+            return found.get(0);
+        }
+
+        private List<Long> resolveOperations(String value) {
+            if (value == null || value.isBlank()) {
+                return null; // 공정 순서 유지 (새 품목은 공정 없음)
+            }
+            List<Long> operationIds = new ArrayList<>();
+            for (String code : value.split("[,>|]")) {
+                String trimmed = code.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                operationIds.add(operationsCache.findByCode(trimmed)
+                        .orElseThrow(() -> new IllegalArgumentException("등록되지 않은 공정 코드입니다: " + trimmed))
+                        .operationId());
+            }
+            return operationIds;
+        }
+
+        private String required(List<String> cells, Column column, String label, int maxLength) {
+            String value = cell(cells, column);
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException(label + "이(가) 비어 있습니다.");
+            }
+            String trimmed = value.trim();
+            if (trimmed.length() > maxLength) {
+                throw new IllegalArgumentException(label + "은(는) " + maxLength + "자 이하여야 합니다: " + trimmed);
+            }
+            return trimmed;
+        }
+
+        private String cell(List<String> cells, Column column) {
+            Integer index = header != null ? header.get(column) : null;
+            return index != null && index < cells.size() ? cells.get(index) : null;
+        }
+    }
+
+    // --- 묶음 저장 (한 트랜잭션) ---
+    private ChunkResult writeChunk(List<ImportRow> rows) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<String> itemCodes = rows.stream().map(ImportRow::itemCode).toList();
+        Map<String, Long> existing = salesItemImportJdbcRepository.findIdsByItemCodes(itemCodes);
+
+        List<ItemRow> inserts = new ArrayList<>();
+        List<ItemRow> updates = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Long salesItemId = existing.get(row.itemCode());
+            ItemRow item = new ItemRow(salesItemId, row.partnerId(), row.partnerName(), row.itemCode(), row.itemName(),
+                    HangulChosung.toChosung(row.itemName()), row.classification(), row.price(), row.color(),
+                    row.coatingMethod(), row.remark(), row.operationIds() != null ? row.operationIds().size() : 0);
+            (salesItemId == null ? inserts : updates).add(item);
+        }
+        salesItemImportJdbcRepository.batchInsertItems(inserts, now);
+        salesItemImportJdbcRepository.batchUpdateItems(updates);
+        Map<String, Long> ids = inserts.isEmpty() ? existing : salesItemImportJdbcRepository.findIdsByItemCodes(itemCodes);
+
+        // 공정 순서: 요청한 순서가 저장된 순서와 다른 품목만 다시 저장
+        Map<Long, List<Long>> requested = new LinkedHashMap<>();
+        rows.stream()
+                .filter(row -> row.operationIds() != null)
+                .forEach(row -> requested.put(ids.get(row.itemCode()), row.operationIds()));
+        Map<Long, List<Long>> stored = salesItemImportJdbcRepository.findRoutings(requested.keySet());
+        Map<Long, List<Long>> changed = new HashMap<>();
+        requested.forEach((salesItemId, operationIds) -> {
+            if (!operationIds.equals(stored.getOrDefault(salesItemId, List.of()))) {
+                changed.put(salesItemId, operationIds);
+            }
+        });
+        salesItemImportJdbcRepository.replaceRoutings(changed, now);
+
+        // 엔티티 리스너를 거치지 않았으므로 검색 색인/자동완성/검색 결과 캐시 갱신 이벤트를 직접 발행 (커밋 이후 반영)
+        eventPublisher.publishEvent(SearchIndexChangedEvent.ofIds(SearchIndexChangedEvent.Target.SALES_ITEM, ids.values()));
+        return new ChunkResult(inserts.size(), updates.size(), changed.size());
+    }
+
+    private static Integer parsePrice(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            int price = Integer.parseInt(value.trim().replace(",", ""));
+            if (price < 0) {
+                throw new IllegalArgumentException("단가는 0 이상이어야 합니다: " + value);
+            }
+            return price;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("단가는 정수여야 합니다: " + value);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
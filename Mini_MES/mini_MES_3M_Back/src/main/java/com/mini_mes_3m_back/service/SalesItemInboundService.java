@@ -1,5 +1,6 @@
 package com.mini_mes_3m_back.service;
 
+import com.mini_mes_3m_back.dto.Etc.CursorPageDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundDetailResponseDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundHistoryResponseDto;
 import com.mini_mes_3m_back.dto.SalesInbound.SalesInboundUpdateRequestDto;
@@ -10,6 +11,8 @@ import com.mini_mes_3m_back.entity.SalesInbound;
 import com.mini_mes_3m_back.entity.SalesItem;
 import com.mini_mes_3m_back.repository.SalesInboundRepository;
 import com.mini_mes_3m_back.repository.SalesItemRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,18 +26,36 @@ public class SalesItemInboundService {
 
     private final SalesItemRepository salesItemRepository;
     private final SalesInboundRepository salesInboundRepository;
+    private final DocumentNumberService documentNumberService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final KeywordSearchIndex keywordSearchIndex;
+    private final SearchResultCache searchResultCache;
 
-    public SalesItemInboundService(SalesItemRepository salesItemRepository, SalesInboundRepository salesInboundRepository) {
+    private static final int MAX_SCROLL_SIZE = 200;
+
+    public SalesItemInboundService(SalesItemRepository salesItemRepository, SalesInboundRepository salesInboundRepository, DocumentNumberService documentNumberService, OptimisticRetryExecutor optimisticRetryExecutor, KeywordSearchIndex keywordSearchIndex, SearchResultCache searchResultCache) {
         this.salesItemRepository = salesItemRepository;
         this.salesInboundRepository = salesInboundRepository;
+        this.documentNumberService = documentNumberService;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.keywordSearchIndex = keywordSearchIndex;
+        this.searchResultCache = searchResultCache;
     }
 
     // --- 1. 수주대상 품목 목록 조회 (입고 등록용) ---
-    @Transactional(readOnly = true)
+    // 같은 키워드 검색은 SearchResultCache 에서 바로 돌려줌 (미스일 때만 읽기 전용 트랜잭션으로 조회)
     public List<SalesItemInboundListResponseDto> getInboundEligibleSalesItems(String keyword) {
+        return searchResultCache.getOrLoad(SearchResultCache.Kind.SALES_ITEMS_FOR_INBOUND, keyword, null,
+                () -> loadInboundEligibleSalesItems(keyword));
+    }
+
+    private List<SalesItemInboundListResponseDto> loadInboundEligibleSalesItems(String keyword) {
         List<SalesItem> salesItems;
         if (keyword != null && !keyword.trim().isEmpty()) {
-            salesItems = salesItemRepository.searchActiveSalesItems(keyword);
+            // 색인에서 키워드가 들어 있는 품목 ID 를 찾고, 색인을 쓸 수 없으면 기존 LIKE 검색
+            salesItems = keywordSearchIndex.searchSalesItemIds(keyword)
+                    .map(ids -> ids.isEmpty() ? List.<SalesItem>of() : salesItemRepository.findActiveSalesItemsByIds(ids))
+                    .orElseGet(() -> salesItemRepository.searchActiveSalesItems(keyword));
         } else {
             salesItems = salesItemRepository.findActiveSalesItemsWithActivePartner();
         }
@@ -50,7 +71,7 @@ public class SalesItemInboundService {
                         si.getClassification(),
                         si.getRemark()
                 ))
-                .collect(Collectors.toList());
+                .toList();
     }
 
     // --- 2. 수주대상 품목 입고 등록 ---
@@ -86,34 +107,86 @@ public class SalesItemInboundService {
     }
 
     // --- 3. 입고 이력 목록 조회 ---
-    @Transactional(readOnly = true)
+    // 같은 키워드 검색은 SearchResultCache 에서 바로 돌려줌 (미스일 때만 읽기 전용 트랜잭션으로 조회)
     public List<SalesInboundHistoryResponseDto> getSalesInboundHistory(String keyword) {
-        List<SalesInbound> salesInbounds = salesInboundRepository.findActiveSalesInboundsWithSearch(keyword);
+        return searchResultCache.getOrLoad(SearchResultCache.Kind.SALES_INBOUND_HISTORY, keyword, null,
+                () -> loadSalesInboundHistory(keyword));
+    }
+
+    private List<SalesInboundHistoryResponseDto> loadSalesInboundHistory(String keyword) {
+        // 키워드 안의 날짜/월/기간(2025-10, 2025-10-01~2025-10-15)은 입고일자 범위 조건으로 분리
+        DateRangeKeyword search = DateRangeKeyword.parse(keyword);
+        List<SalesInbound> salesInbounds;
+        if (search.hasText()) {
+            // 색인에서 키워드가 들어 있는 입고 ID 를 찾고, 색인을 쓸 수 없으면 기존 LIKE 검색
+            salesInbounds = keywordSearchIndex.searchSalesInboundIds(search.getText())
+                    .map(ids -> ids.isEmpty() ? List.<SalesInbound>of()
+                            : salesInboundRepository.findActiveSalesInboundsByIds(ids, search.getFrom(), search.getTo()))
+                    .orElseGet(() -> salesInboundRepository.findActiveSalesInboundsWithSearch(search.getText(), search.getFrom(), search.getTo()));
+        } else {
+            salesInbounds = salesInboundRepository.findActiveSalesInboundsWithSearch(null, search.getFrom(), search.getTo());
+        }
 
         return salesInbounds.stream()
-                .map(si -> {
-                    // SalesItem과 Partner는 이미 fetch join으로 가져왔으므로 null 체크 불필요
-                    // 만약 Partner.name이 엔티티에 없다면 si.item.partner.name()
-                    String customerName = (si.getItem().getPartner() != null) ? si.getItem().getPartner().getName() : si.getItem().getPartnerName();
-
-                    return new SalesInboundHistoryResponseDto(
-                            si.getInboundId(),
-                            si.getItem().getSalesItemId(),
-                            customerName, // 거래처명
-                            si.getItem().getItemCode(),
-                            si.getItem().getItemName(),
-                            si.getItem().getClassification(),
-                            si.getItem().getCoatingMethod(),
-                            si.getInboundLOTNum(),
-                            si.getQty(),
-                            si.getReceivedAt(),
-                            si.getItem().getRemark(), // SalesItem의 비고
-                            si.getIsCancelled(),
-                            si.getCreatedAt(),
-                            si.getIsOutboundProcessed()
-                    );
-                })
-                .collect(Collectors.toList());
+                .map(this::toHistoryDto)
+                .toList();
+    }
+
+    // --- 3-1. 입고 이력 커서 조회 ---
+    // (입고일, ID) 내림차순으로 size 건씩. 다음 페이지는 응답의 nextCursor 를 넘겨서 조회한다.
+    // 몇 번째 페이지든 인덱스에서 커서 위치부터 size + 1 건만 읽으므로 테이블 크기와 무관하다.
+    @Transactional(readOnly = true)
+    public CursorPageDto<SalesInboundHistoryResponseDto> scrollSalesInboundHistory(String keyword, String cursor, int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_SCROLL_SIZE + " 사이여야 합니다.");
+        }
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        LocalDate cursorDate = after != null ? after.date() : null;
+        Long cursorId = after != null ? after.id() : null;
+        Pageable limit = PageRequest.of(0, size + 1); // 한 건 더 읽어서 다음 페이지 존재 여부 판단
+
+        DateRangeKeyword search = DateRangeKeyword.parse(keyword);
+        List<SalesInbound> rows;
+        if (search.hasText()) {
+            rows = keywordSearchIndex.searchSalesInboundIds(search.getText())
+                    .map(ids -> ids.isEmpty() ? List.<SalesInbound>of()
+                            : salesInboundRepository.scrollActiveSalesInboundsByIds(ids, search.getFrom(), search.getTo(), cursorDate, cursorId, limit))
+                    .orElseGet(() -> salesInboundRepository.scrollActiveSalesInbounds(search.getText(), search.getFrom(), search.getTo(), cursorDate, cursorId, limit));
+        } else {
+            rows = salesInboundRepository.scrollActiveSalesInbounds(null, search.getFrom(), search.getTo(), cursorDate, cursorId, limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<SalesInbound> page = hasNext ? rows.subList(0, size) : rows;
+        SalesInbound last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageDto.<SalesInboundHistoryResponseDto>builder()
+                .items(page.stream().map(this::toHistoryDto).collect(Collectors.toList()))
+                .nextCursor(hasNext ? new HistoryCursor(last.getReceivedAt(), last.getInboundId()).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private SalesInboundHistoryResponseDto toHistoryDto(SalesInbound si) {
+        // SalesItem과 Partner는 이미 fetch join으로 가져왔으므로 null 체크 불필요
+        // 만약 Partner.name이 엔티티에 없다면 si.item.partner.name()
+        String customerName = (si.getItem().getPartner() != null) ? si.getItem().getPartner().getName() : si.getItem().getPartnerName();
+
+        return new SalesInboundHistoryResponseDto(
+                si.getInboundId(),
+                si.getItem().getSalesItemId(),
+                customerName, // 거래처명
+                si.getItem().getItemCode(),
+                si.getItem().getItemName(),
+                si.getItem().getClassification(),
+                si.getItem().getCoatingMethod(),
+                si.getInboundLOTNum(),
+                si.getQty(),
+                si.getReceivedAt(),
+                si.getItem().getRemark(), // SalesItem의 비고
+                si.getIsCancelled(),
+                si.getCreatedAt(),
+                si.getIsOutboundProcessed()
+        );
     }
 
     // --- 4. 입고 이력 상세 조회 ---
@@ -145,8 +218,12 @@ public class SalesItemInboundService {
     }
 
     // --- 5. 입고 이력 수정 ---
-    @Transactional
+    // 출고/예약과 같은 로트를 동시에 바꿀 수 있으므로 낙관적 잠금 충돌 시 자동 재시도
     public SalesInboundDetailResponseDto updateSalesInbound(Long inboundId, SalesInboundUpdateRequestDto request) {
+        return optimisticRetryExecutor.execute(() -> doUpdateSalesInbound(inboundId, request));
+    }
+
+    private SalesInboundDetailResponseDto doUpdateSalesInbound(Long inboundId, SalesInboundUpdateRequestDto request) {
         SalesInbound salesInbound = salesInboundRepository.findById(inboundId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 입고 이력입니다. ID: " + inboundId));
 
@@ -166,7 +243,11 @@ public class SalesItemInboundService {
         salesInbound.setQty(request.getQty());
         salesInbound.setReceivedAt(request.getReceivedAt());
 
-        salesInbound.setRemainingQty(salesInbound.getRemainingQty() - updateQty);
+        int remaining = salesInbound.getRemainingQty() - updateQty;
+        if (remaining < salesInbound.getReservedQty()) { // 이미 출고/예약된 수량보다 적게 줄일 수 없음
+            throw new IllegalArgumentException("입고 수량을 이미 출고 또는 예약된 수량보다 적게 수정할 수 없습니다.");
+        }
+        salesInbound.setRemainingQty(remaining);
 
         SalesInbound updatedInbound = salesInboundRepository.save(salesInbound);
 
@@ -197,9 +278,9 @@ public class SalesItemInboundService {
 
     // --- LOT 번호 자동 부여 헬퍼 메서드 ---
     private String generateLotNumber(LocalDate receivedAt) { // inboundDate -> receivedAt으로 변경
-        String datePrefix = receivedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String prefix = "LOT-" + datePrefix + "-";
-        long count = salesInboundRepository.countByInboundLOTNumStartingWith(prefix); // inboundLOTNum 필드명에 맞게 변경!
-        return prefix + String.format("%03d", count + 1); // 001, 002 형식으로 부여
+        String prefix = "LOT-" + receivedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "-";
+        // 시퀀스 테이블 기반 발번 (count 쿼리는 해당 일자 시퀀스가 처음 만들어질 때 한 번만 실행)
+        return documentNumberService.nextNumber(DocumentNumberService.LOT, receivedAt,
+                () -> salesInboundRepository.countByInboundLOTNumStartingWith(prefix)); // 001, 002 형식으로 부여
     }
 }
\ No newline at end of file
@@ -2,17 +2,24 @@ package com.mini_mes_3m_back.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mini_mes_3m_back.dto.Etc.SlicePageDto;
 import com.mini_mes_3m_back.dto.Partner.PartnerSelectResponseDto;
 import com.mini_mes_3m_back.dto.operation.OperationDto;
+import com.mini_mes_3m_back.dto.salesItem.SalesItemDetailRowDto;
 import com.mini_mes_3m_back.dto.salesItem.SalesItemDetailViewDto;
 import com.mini_mes_3m_back.dto.salesItem.SalesItemRegisterDto;
 import com.mini_mes_3m_back.dto.salesItem.SalesItemSearchDto;
 import com.mini_mes_3m_back.entity.*;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent;
 import com.mini_mes_3m_back.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,7 +27,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.util.*;
 import java.io.IOException;
 import java.nio.file.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,8 +36,12 @@ public class SalesItemService {
     private final SalesItemRepository salesItemRepository;
     private final PartnerRepository partnerRepository;
     private final OperationsRepository operationsRepository;
-    private final SalesItemOperationRepository salesItemOperationRepository;
+    private final OperationsCache operationsCache;
     private final ObjectMapper objectMapper;
+    private final KeywordSearchIndex keywordSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final ApproximateCountCache approximateCountCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${file.upload-dir}")
     private String uploadDir;
@@ -114,31 +124,8 @@ public class SalesItemService {
         // 3. 공정 매핑 로직 (변환된 List<Long> 사용)
         // =========================================================
 
-        // 변환된 operationIdList 사용
-        if (operationIdList != null && !operationIdList.isEmpty()) {
-            // findAllById는 List<Long>을 받습니다.
-            List<Operations> operations = operationsRepository.findAllById(operationIdList);
-            List<SalesItemOperation> itemOperations = new ArrayList<>();
-            for (int i = 0; i < operations.size(); i++) {
-                // 주의: findAllById는 순서를 보장하지 않습니다.
-                // 순서를 유지하려면 operationIdList를 기준으로 DB에서 가져온 operations를 매핑해야 합니다.
-                // 현재 로직은 단순 findAllById 후 순서대로 매핑하므로 순서가 꼬일 수 있습니다.
-                // 프론트에서 보낸 순서대로 (operationIdList의 순서) 매핑이 되려면
-                // 아래 로직을 Map을 사용하여 수정해야 합니다. (일단 기존 로직의 흐름은 유지)
-
-                SalesItemOperation sio = new SalesItemOperation();
-                sio.setSalesItem(salesItem);
-                sio.setOperations(operations.get(i));
-                sio.setSeq(i + 1); // seq 설정
-                itemOperations.add(sio);
-            }
-
-            salesItem.updateOperations(itemOperations);
-            salesItem.setTotalOperations(itemOperations.size());
-        } else {
-            salesItem.updateOperations(Collections.emptyList());
-            salesItem.setTotalOperations(0);
-        }
+        // 요청한 순서대로 공정 행 구성 (기존 품목이면 바뀐 공정만 반영)
+        applyRouting(salesItem, operationIdList);
 
         SalesItem saved = salesItemRepository.saveAndFlush(salesItem);
         return mapToRegisterDto(saved);
@@ -166,10 +153,99 @@ public class SalesItemService {
     // -------------------
     // 2️⃣ 목록 조회
     // -------------------
-    @Transactional(readOnly = true)
+    // 같은 키워드/페이지 검색은 SearchResultCache 에서 바로 돌려줌 (미스일 때만 읽기 전용 트랜잭션으로 조회)
     public Page<SalesItemDetailViewDto> getSalesItems(String keyword, Pageable pageable) {
-        Page<SalesItem> page = salesItemRepository.searchByKeyword(keyword, pageable);
-        return page.map(this::mapToDetailDto);
+        return searchResultCache.getOrLoad(SearchResultCache.Kind.SALES_ITEM_PAGE, keyword, pageable,
+                () -> loadSalesItems(keyword, pageable));
+    }
+
+    // 목록은 ID 페이지 조회 -> ID 로 품목/거래처/공정을 평탄화해서 한 번에 조회 (품목마다 거래처/공정을 따로 읽지 않음)
+    private Page<SalesItemDetailViewDto> loadSalesItems(String keyword, Pageable pageable) {
+        Page<Long> ids;
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            // 색인에서 키워드가 들어 있는 품목 ID 를 찾고, 색인을 쓸 수 없으면 기존 LIKE 검색
+            ids = keywordSearchIndex.searchSalesItemIds(keyword)
+                    .map(found -> found.isEmpty() ? Page.<Long>empty(pageable) : salesItemRepository.findIdsBySalesItemIdIn(found, pageable))
+                    .orElseGet(() -> salesItemRepository.searchIdsByKeyword(keyword, pageable));
+        } else {
+            ids = salesItemRepository.searchIdsByKeyword(keyword, pageable);
+        }
+        return new PageImpl<>(loadDetailViews(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    // 목록 조회 - COUNT 없는 Slice 방식 (무한 스크롤용)
+    // 페이지마다 size + 1 건 조회 한 번으로 다음 페이지 여부를 판단하고, 전체 건수는 ApproximateCountCache 의 근사값을 붙인다.
+    public SlicePageDto<SalesItemDetailViewDto> scrollSalesItems(String keyword, Pageable pageable) {
+        Slice<SalesItemDetailViewDto> slice = searchResultCache.getOrLoad(SearchResultCache.Kind.SALES_ITEM_SLICE, keyword, pageable,
+                () -> loadSalesItemSlice(keyword, pageable));
+        ApproximateCountCache.ApproximateCount total = approximateCountCache.get("sales-items", keyword,
+                () -> countSalesItems(keyword));
+        return SlicePageDto.<SalesItemDetailViewDto>builder()
+                .items(slice.getContent())
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .hasNext(slice.hasNext())
+                .approximateTotal(total.total())
+                .approximateTotalAt(total.countedAt())
+                .build();
+    }
+
+    private Slice<SalesItemDetailViewDto> loadSalesItemSlice(String keyword, Pageable pageable) {
+        Slice<Long> ids;
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            ids = keywordSearchIndex.searchSalesItemIds(keyword)
+                    .map(found -> found.isEmpty() ? new SliceImpl<Long>(List.of(), pageable, false) : salesItemRepository.findIdSliceBySalesItemIdIn(found, pageable))
+                    .orElseGet(() -> salesItemRepository.searchIdSliceByKeyword(keyword, pageable));
+        } else {
+            ids = salesItemRepository.searchIdSliceByKeyword(keyword, pageable);
+        }
+        return new SliceImpl<>(loadDetailViews(ids.getContent()), pageable, ids.hasNext());
+    }
+
+    // ID 목록 -> 상세 DTO (ID 순서 유지, 공정은 seq 순)
+    private List<SalesItemDetailViewDto> loadDetailViews(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SalesItemDetailViewDto> views = new HashMap<>();
+        for (SalesItemDetailRowDto row : salesItemRepository.findDetailRowsBySalesItemIdIn(ids)) {
+            SalesItemDetailViewDto view = views.computeIfAbsent(row.getSalesItemId(), id -> new SalesItemDetailViewDto(
+                    row.getSalesItemId(),
+                    row.getPartnerId(),
+                    row.getPartnerName(),
+                    row.getItemCode(),
+                    row.getItemName(),
+                    row.getPrice(),
+                    row.getColor(),
+                    row.getClassification(),
+                    row.getCoatingMethod(),
+                    row.getRemark(),
+                    row.getActive(),
+                    row.getImagePath(),
+                    new ArrayList<>()));
+            if (row.getOperationId() != null) {
+                view.getOperations().add(new OperationDto(
+                        row.getOperationId(),
+                        row.getOperationCode(),
+                        row.getOperationName(),
+                        row.getOperationDescription(),
+                        row.getStandardTime()));
+            }
+        }
+        return ids.stream()
+                .map(views::get)
+                .filter(Objects::nonNull) // 조회 사이에 삭제된 품목
+                .toList();
+    }
+
+    // 색인을 쓸 수 있으면 찾은 ID 수가 곧 전체 건수 (색인 결과는 활성 여부와 무관하게 목록 조회와 같은 범위)
+    private long countSalesItems(String keyword) {
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            return keywordSearchIndex.searchSalesItemIds(keyword)
+                    .map(ids -> (long) ids.size())
+                    .orElseGet(() -> salesItemRepository.countSearchByKeyword(keyword));
+        }
+        return salesItemRepository.countSearchByKeyword(keyword);
     }
 
     // 추가: 검색에 사용될 전체 리스트 조회 메서드
@@ -212,7 +288,7 @@ public class SalesItemService {
         // =========================================================
         // 2. 기존 로직 (Item 조회 및 업데이트)
         // =========================================================
-        SalesItem item = salesItemRepository.findById(id)
+        SalesItem item = salesItemRepository.findByIdWithRouting(id)
                 .orElseThrow(() -> new NoSuchElementException("SalesItem not found: " + id));
 
         // 💡 2-1. 파일 처리 로직 추가
@@ -235,38 +311,46 @@ public class SalesItemService {
         item.setRemark(dto.getRemark());
 
         // =========================================================
-        // 3. 공정 수정 (기존 로직 유지)
+        // 3. 공정 수정: 저장된 공정과 비교해서 바뀐 단계만 INSERT/DELETE/seq UPDATE (RoutingDiff)
         // =========================================================
-        // ... (제공해주신 공정 수정 로직) ...
-        List<SalesItemOperation> itemOps = Collections.emptyList();
+        applyRouting(item, operationIdList);
 
-        if (operationIdList != null && !operationIdList.isEmpty()) {
-            List<Operations> ops = operationsRepository.findAllById(operationIdList);
-            Map<Long, Operations> operationMap = ops.stream()
-                    .collect(Collectors.toMap(Operations::getOperationId, Function.identity()));
+        SalesItem saved = salesItemRepository.save(item);
+        return mapToRegisterDto(saved);
+    }
 
-            itemOps = new ArrayList<>();
-            int seq = 1;
+    // 공정 순서(라우팅) 반영
+    // 같은 공정의 기존 행은 그대로 두고 seq 만 맞추며(값이 같으면 UPDATE 없음), 새 공정만 추가하고 빠진 공정만 orphanRemoval 로 삭제한다.
+    private void applyRouting(SalesItem item, List<Long> operationIdList) {
+        List<Long> requested = operationIdList != null ? operationIdList : List.of();
+        RoutingDiff.Plan plan = RoutingDiff.plan(item.getOperations(), requested);
+        if (plan.isUnchanged()) {
+            item.setTotalOperations(requested.size());
+            return;
+        }
 
-            for (Long opId : operationIdList) {
-                Operations op = operationMap.get(opId);
-                if(op == null) {
-                    throw new RuntimeException("Operation not found: " + opId);
+        List<SalesItemOperation> routing = new ArrayList<>(requested.size());
+        for (RoutingDiff.Step step : plan.steps()) {
+            SalesItemOperation sio = step.existing();
+            if (sio == null) {
+                // 공정 존재 여부는 공정 캐시로 확인하고, 연관관계에는 조회 없이 참조만 건다
+                if (operationsCache.findById(step.operationId()).isEmpty()) {
+                    throw new IllegalArgumentException("Operation not found: " + step.operationId());
                 }
-                SalesItemOperation sio = new SalesItemOperation();
+                sio = new SalesItemOperation();
                 sio.setSalesItem(item);
-                sio.setOperations(op);
-                sio.setSeq(seq++);
-                itemOps.add(sio);
+                sio.setOperations(operationsRepository.getReferenceById(step.operationId()));
             }
+            sio.setSeq(routing.size() + 1);
+            routing.add(sio);
         }
 
-        item.updateOperations(itemOps);
-        item.setTotalOperations(itemOps.size());
-
-
-        SalesItem saved = salesItemRepository.save(item);
-        return mapToRegisterDto(saved);
+        item.updateOperations(routing); // 목록에서 빠진 기존 행(plan.deletes())만 DELETE 됨
+        item.setTotalOperations(routing.size());
+        if (item.getSalesItemId() != null) {
+            // 공정 행만 바뀌면 SalesItem 은 변경되지 않아 엔티티 리스너(@PostUpdate)가 돌지 않으므로 직접 발행 (목록 캐시 무효화)
+            eventPublisher.publishEvent(SearchIndexChangedEvent.of(SearchIndexChangedEvent.Target.SALES_ITEM, item.getSalesItemId()));
+        }
     }
 
     // --------------------
@@ -286,10 +370,9 @@ public class SalesItemService {
     // DTO 매핑
     // ===================
     private SalesItemRegisterDto mapToRegisterDto(SalesItem item) {
-        List<SalesItemOperation> operations = salesItemOperationRepository
-                .findBySalesItem_SalesItemIdOrderBySeqAsc(item.getSalesItemId());
-
-        List<Long> operationIdList = operations.stream() // 변수명 변경 (operationIdList)
+        // 방금 반영한 메모리 상태의 공정 순서를 그대로 사용 (다시 조회하지 않음)
+        List<Long> operationIdList = item.getOperations().stream() // 변수명 변경 (operationIdList)
+                .sorted(Comparator.comparing(SalesItemOperation::getSeq))
                 .map(o -> o.getOperations().getOperationId())
                 .collect(Collectors.toList());
 
@@ -0,0 +1,160 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesLotReservationConfirmDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesLotReservationDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesLotReserveDto;
+import com.mini_mes_3m_back.entity.SalesInbound;
+import com.mini_mes_3m_back.entity.SalesLotReservation;
+import com.mini_mes_3m_back.entity.SalesLotReservation.Status;
+import com.mini_mes_3m_back.entity.SalesOutbound;
+import com.mini_mes_3m_back.repository.SalesInboundRepository;
+import com.mini_mes_3m_back.repository.SalesLotReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 수주품목 입고 로트 출고 예약 (예약 → 확정 / 취소 / 기한 초과 자동 해제)
+// 로트 행을 비관적으로 잠그지 않고 SalesInbound @Version 낙관적 잠금 + 자동 재시도로 동시 출고를 처리한다.
+@Slf4j
+@Service
+public class SalesLotReservationService {
+
+    private static final int EXPIRE_PAGE_SIZE = 200;
+
+    private final SalesLotReservationRepository reservationRepository;
+    private final SalesInboundRepository salesInboundRepository;
+    private final SalesOutboundService salesOutboundService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final int defaultHoldMinutes;
+
+    public SalesLotReservationService(SalesLotReservationRepository reservationRepository,
+                                      SalesInboundRepository salesInboundRepository,
+                                      SalesOutboundService salesOutboundService,
+                                      OptimisticRetryExecutor optimisticRetryExecutor,
+                                      @Value("${sales.reservation.hold-minutes:30}") int defaultHoldMinutes) {
+        this.reservationRepository = reservationRepository;
+        this.salesInboundRepository = salesInboundRepository;
+        this.salesOutboundService = salesOutboundService;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.defaultHoldMinutes = defaultHoldMinutes;
+    }
+
+    // --- 1. 출고 예약: 로트의 출고 가능 수량(잔여 - 예약)에서 수량을 잡아 둠 ---
+    public SalesLotReservationDto reserve(SalesLotReserveDto dto) {
+        return optimisticRetryExecutor.execute(() -> {
+            SalesInbound inbound = salesInboundRepository.findById(dto.getInboundId())
+                    .orElseThrow(() -> new IllegalArgumentException("입고 항목을 찾을 수 없습니다."));
+
+            if (inbound.getIsCancelled()) {
+                throw new IllegalArgumentException("이미 취소된 입고 항목입니다.");
+            }
+            int available = inbound.getRemainingQty() - inbound.getReservedQty();
+            if (inbound.getIsOutboundProcessed() || available <= 0) {
+                throw new IllegalArgumentException("출고 가능한 수량이 없는 입고 항목입니다.");
+            }
+            if (dto.getQty() > available) {
+                throw new IllegalArgumentException("예약 수량이 출고 가능 수량(" + available + ")보다 많습니다.");
+            }
+
+            inbound.setReservedQty(inbound.getReservedQty() + dto.getQty()); // 커밋 시 version 비교
+            int holdMinutes = dto.getHoldMinutes() != null ? dto.getHoldMinutes() : defaultHoldMinutes;
+            SalesLotReservation reservation = reservationRepository.save(SalesLotReservation.builder()
+                    .inbound(inbound)
+                    .qty(dto.getQty())
+                    .status(Status.HELD)
+                    .expiresAt(OffsetDateTime.now().plusMinutes(holdMinutes))
+                    .build());
+            return SalesLotReservationDto.from(reservation);
+        });
+    }
+
+    // --- 2. 예약 확정: 예약 수량으로 출고 생성 ---
+    public SalesLotReservationDto confirm(Long reservationId, SalesLotReservationConfirmDto dto) {
+        return optimisticRetryExecutor.execute(() -> {
+            SalesLotReservation reservation = findHeld(reservationId);
+            if (reservation.getExpiresAt().isBefore(OffsetDateTime.now())) {
+                throw new IllegalArgumentException("예약 유지 시간이 지났습니다. 다시 예약해 주세요.");
+            }
+
+            SalesOutbound outbound = salesOutboundService.shipFromLot(
+                    reservation.getInbound(), reservation.getQty(), dto.getShippedAt(), reservation.getQty());
+
+            reservation.setStatus(Status.CONFIRMED);
+            reservation.setShippedAt(dto.getShippedAt());
+            reservation.setOutbound(outbound);
+            return SalesLotReservationDto.from(reservation);
+        });
+    }
+
+    // --- 3. 예약 취소: 잡아 둔 수량을 돌려줌 ---
+    public SalesLotReservationDto release(Long reservationId) {
+        return optimisticRetryExecutor.execute(() -> {
+            SalesLotReservation reservation = findHeld(reservationId);
+            releaseHold(reservation, Status.RELEASED);
+            return SalesLotReservationDto.from(reservation);
+        });
+    }
+
+    // --- 4. 로트별 예약 내역 조회 ---
+    @Transactional(readOnly = true)
+    public List<SalesLotReservationDto> getReservations(Long inboundId) {
+        return reservationRepository.findByInbound_InboundIdOrderByReservationIdDesc(inboundId).stream()
+                .map(SalesLotReservationDto::from)
+                .collect(Collectors.toList());
+    }
+
+    // --- 기한이 지난 예약 자동 해제 ---
+    // 건마다 별도 트랜잭션(+재시도)으로 처리해서, 한 로트의 충돌이 다른 예약 해제를 막지 않도록 한다.
+    @Scheduled(fixedDelayString = "${sales.reservation.expiry-check-millis:60000}")
+    public void expireOverdueReservations() {
+        OffsetDateTime now = OffsetDateTime.now();
+        int expired = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            // ID 키셋 페이지: 실패한 예약은 이번 실행에서 다시 읽지 않으므로 같은 페이지를 반복하지 않음
+            ids = reservationRepository.findExpiredHeldIds(now, afterId, PageRequest.of(0, EXPIRE_PAGE_SIZE));
+            for (Long id : ids) {
+                afterId = id;
+                try {
+                    optimisticRetryExecutor.run(() -> {
+                        SalesLotReservation reservation = reservationRepository.findById(id).orElse(null);
+                        // 조회 이후 이미 확정/취소된 예약은 건너뜀
+                        if (reservation != null && reservation.getStatus() == Status.HELD) {
+                            releaseHold(reservation, Status.EXPIRED);
+                        }
+                    });
+                    expired++;
+                } catch (RuntimeException e) {
+                    log.warn("출고 예약 자동 해제 실패: reservationId={}", id, e);
+                }
+            }
+        } while (ids.size() == EXPIRE_PAGE_SIZE);
+
+        if (expired > 0) {
+            log.info("기한이 지난 출고 예약 {}건 해제", expired);
+        }
+    }
+
+    private SalesLotReservation findHeld(Long reservationId) {
+        SalesLotReservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 출고 예약입니다. ID: " + reservationId));
+        if (reservation.getStatus() != Status.HELD) {
+            throw new IllegalArgumentException("이미 처리된 출고 예약입니다. (" + reservation.getStatus() + ")");
+        }
+        return reservation;
+    }
+
+    private void releaseHold(SalesLotReservation reservation, Status status) {
+        SalesInbound inbound = reservation.getInbound();
+        inbound.setReservedQty(Math.max(0, inbound.getReservedQty() - reservation.getQty()));
+        reservation.setStatus(status);
+    }
+}
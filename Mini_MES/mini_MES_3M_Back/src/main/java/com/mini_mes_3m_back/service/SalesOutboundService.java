@@ -1,21 +1,42 @@
 package com.mini_mes_3m_back.service;
 
+import com.mini_mes_3m_back.dto.Etc.SlicePageDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundAllocateDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundAllocationDto;
 import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundListDto;
+import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundLotFilterDto;
 import com.mini_mes_3m_back.dto.SalesOutbound.SalesOutboundRegDto;
 import com.mini_mes_3m_back.entity.SalesInbound;
+import com.mini_mes_3m_back.entity.SalesItem;
 import com.mini_mes_3m_back.entity.SalesOutbound;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent;
+import com.mini_mes_3m_back.repository.SalesInboundJdbcRepository;
 import com.mini_mes_3m_back.repository.SalesInboundRepository;
+import com.mini_mes_3m_back.repository.SalesOutboundJdbcRepository;
 import com.mini_mes_3m_back.repository.SalesOutboundRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -23,13 +44,34 @@ public class SalesOutboundService {
 
     private final SalesInboundRepository salesInboundRepository;
     private final SalesOutboundRepository salesOutboundRepository;
+    private final SalesInboundJdbcRepository salesInboundJdbcRepository;
+    private final SalesOutboundJdbcRepository salesOutboundJdbcRepository;
+    private final DocumentNumberService documentNumberService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApproximateCountCache approximateCountCache;
 
-    @Transactional
+    private static final int FIFO_LOT_PAGE_SIZE = 50; // FIFO 할당 시 한 번에 읽는 로트 수
+    private static final int MAX_LOT_PAGE_SIZE = 200; // 출고 대상 로트 검색 한 페이지 최대 건수
+
+    // 입고 로트(@Version) 낙관적 잠금 + 자동 재시도로 처리
+    // 동시에 같은 로트를 출고하면 나중 커밋이 충돌하고, 재시도 때 최신 잔여 수량으로 다시 검증한다.
     public void registerNewSalesOutbound(SalesOutboundRegDto dto) {
-        // 1. 입고 항목 조회
-        SalesInbound inbound = salesInboundRepository.findById(dto.getInboundId())
-                .orElseThrow(() -> new IllegalArgumentException("입고 항목을 찾을 수 없습니다."));
+        optimisticRetryExecutor.run(() -> {
+            // 1. 입고 항목 조회
+            SalesInbound inbound = salesInboundRepository.findById(dto.getInboundId())
+                    .orElseThrow(() -> new IllegalArgumentException("입고 항목을 찾을 수 없습니다."));
+
+            shipFromLot(inbound, dto.getQty(), dto.getShippedAt(), 0);
+        });
+    }
 
+    /**
+     * 입고 로트에서 출고 (트랜잭션 안에서 호출)
+     * @param releasedReservedQty 예약을 확정하는 경우 그 예약 수량 (예약분은 출고 가능 수량 계산에서 다시 더해 준다)
+     */
+    @Transactional
+    public SalesOutbound shipFromLot(SalesInbound inbound, int qty, LocalDate shippedAt, int releasedReservedQty) {
         // 2. 출고 가능 여부 확인
         if (inbound.getIsCancelled()) {
             throw new IllegalArgumentException("이미 취소된 입고 항목입니다.");
@@ -39,7 +81,8 @@ public class SalesOutboundService {
             throw new IllegalArgumentException("이미 모든 수량이 출고된 항목입니다.");
         }
 
-        if (dto.getQty() > inbound.getRemainingQty()) {
+        int reservedByOthers = inbound.getReservedQty() - releasedReservedQty;
+        if (qty > inbound.getRemainingQty() - reservedByOthers) {
             throw new IllegalArgumentException("출고 수량이 잔여 수량보다 많습니다.");
         }
 
@@ -50,69 +93,265 @@ public class SalesOutboundService {
         SalesOutbound outbound = new SalesOutbound();
         outbound.setOutboundOUTNum(outboundNum);
         outbound.setInbound(inbound);
-        outbound.setQty(dto.getQty());
-        outbound.setShippedAt(dto.getShippedAt());
+        outbound.setQty(qty);
+        outbound.setShippedAt(shippedAt);
         outbound.setStatus(true);
         salesOutboundRepository.save(outbound);
 
         // 5. 입고 항목 상태 업데이트 → 조회에서 제외되도록
-        int remaining = inbound.getRemainingQty() - dto.getQty();
+        int remaining = inbound.getRemainingQty() - qty;
         inbound.setRemainingQty(remaining);
+        inbound.setReservedQty(reservedByOthers);
 
         // 6. 잔여 수량이 0이면 출고 완료 처리
         if (remaining <= 0) {
             inbound.setIsOutboundProcessed(true);
         }
 
-        salesInboundRepository.save(inbound);
+        salesInboundRepository.save(inbound); // 커밋 시 version 비교 (다른 출고가 먼저 바꿨으면 충돌 → 재시도)
+        return outbound;
+    }
+
+    // 품목 + 수량으로 출고 등록: 출고 가능한 로트를 입고일 순(FIFO)으로 할당
+    // 로트 조회는 필요한 수량이 채워질 때까지만 페이지 단위로 잠금 조회하고,
+    // 출고 행 생성과 로트 잔여 수량 차감은 각각 JDBC 배치 한 번으로 처리한다.
+    @Transactional
+    public SalesOutboundAllocationDto allocateSalesOutboundFifo(SalesOutboundAllocateDto dto) {
+        int needed = dto.getQty();
+        List<SalesInbound> lots = new ArrayList<>();
+        List<Integer> takes = new ArrayList<>();
+
+        Pageable pageable = PageRequest.of(0, FIFO_LOT_PAGE_SIZE);
+        while (needed > 0) {
+            Slice<SalesInbound> slice = salesInboundRepository.findOpenLotsFifoForUpdate(dto.getSalesItemId(), pageable);
+            for (SalesInbound lot : slice) {
+                int take = Math.min(needed, lot.getRemainingQty() - lot.getReservedQty()); // 예약분 제외
+                lots.add(lot);
+                takes.add(take);
+                needed -= take;
+                if (needed == 0) {
+                    break;
+                }
+            }
+            if (needed == 0 || !slice.hasNext()) {
+                break;
+            }
+            pageable = slice.nextPageable();
+        }
+
+        if (needed > 0) {
+            throw new IllegalArgumentException("출고 수량이 출고 가능한 잔여 수량(" + (dto.getQty() - needed) + ")보다 많습니다.");
+        }
+
+        // 출고 문서번호 일괄 생성 (로트마다 한 건)
+        Iterator<String> outboundNums = generateOutboundNums(lots.size()).iterator();
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<SalesOutbound> outbounds = new ArrayList<>(lots.size());
+        List<long[]> deductions = new ArrayList<>(lots.size());
+        List<SalesOutboundAllocationDto.LotAllocation> allocations = new ArrayList<>(lots.size());
+        for (int i = 0; i < lots.size(); i++) {
+            SalesInbound lot = lots.get(i);
+            int take = takes.get(i);
+
+            SalesOutbound outbound = new SalesOutbound();
+            outbound.setOutboundOUTNum(outboundNums.next());
+            outbound.setInbound(lot);
+            outbound.setQty(take);
+            outbound.setShippedAt(dto.getShippedAt());
+            outbound.setStatus(true);
+            outbound.setCreatedAt(now);
+            outbounds.add(outbound);
+
+            deductions.add(new long[]{lot.getInboundId(), take});
+            allocations.add(SalesOutboundAllocationDto.LotAllocation.builder()
+                    .inboundId(lot.getInboundId())
+                    .inboundLOTNum(lot.getInboundLOTNum())
+                    .outboundOUTNum(outbound.getOutboundOUTNum())
+                    .qty(take)
+                    .remainingQty(lot.getRemainingQty() - take)
+                    .build());
+        }
+
+        salesOutboundJdbcRepository.batchInsert(outbounds);
+        // JDBC 배치 저장은 엔티티 리스너를 거치지 않으므로 검색 색인 갱신 이벤트를 직접 발행 (커밋 후 반영)
+        eventPublisher.publishEvent(SearchIndexChangedEvent.ofSalesOutboundNums(
+                outbounds.stream().map(SalesOutbound::getOutboundOUTNum).toList()));
+        // 로트는 잠금 조회했으므로 실패할 일이 없지만, 잔여 수량 조건은 한 번 더 DB에서 확인
+        if (!salesInboundJdbcRepository.batchDeductRemainingQty(deductions, now)) {
+            throw new IllegalStateException("다른 출고와 동시에 처리되어 잔여 수량이 변경되었습니다. 다시 시도해 주세요.");
+        }
+
+        return SalesOutboundAllocationDto.builder()
+                .salesItemId(dto.getSalesItemId())
+                .totalQty(dto.getQty())
+                .lots(allocations)
+                .build();
     }
 
     // 출고 문서번호 생성: OUT-yyyyMMdd-001 형식
     private String generateOutboundNum() {
-        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String latestNum = salesOutboundRepository.findLatestOutboundNum(today);
+        LocalDate today = LocalDate.now();
+        return documentNumberService.nextNumber(DocumentNumberService.OUT, today, () -> latestOutboundSeq(today));
+    }
 
-        int nextSeq = 1;
-        if (latestNum != null) {
-            String[] parts = latestNum.split("-");
-            nextSeq = Integer.parseInt(parts[2]) + 1;
-        }
+    // 출고 문서번호 여러 건 일괄 생성
+    private List<String> generateOutboundNums(int count) {
+        LocalDate today = LocalDate.now();
+        return documentNumberService.nextNumbers(DocumentNumberService.OUT, today, count, () -> latestOutboundSeq(today));
+    }
 
-        return String.format("OUT-%s-%03d", today, nextSeq);
+    // 시퀀스 도입 전에 오늘 날짜로 발번된 마지막 출고번호의 순번 (시퀀스 행 최초 생성 시에만 사용)
+    private long latestOutboundSeq(LocalDate date) {
+        String latestNum = salesOutboundRepository.findLatestOutboundNum(date.format(DateTimeFormatter.ofPattern("yyyyMMdd")));
+        if (latestNum == null) {
+            return 0;
+        }
+        String[] parts = latestNum.split("-");
+        return Long.parseLong(parts[2]);
     }
 
 
+    // 출고 대상 입고 리스트 조회 (기존 검색구분 + 검색어 방식)
+    // 검색구분을 아래 조건 검색의 한 항목으로 바꿔서 같은 쿼리로 처리한다.
+    @Transactional(readOnly = true)
     public Page<SalesOutboundListDto> getSalesInboundList(int page, int limit, String searchType, String searchTerm) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "receivedAt"));
-        Page<SalesInbound> inboundPage;
+        return searchShippableLots(toLotFilter(searchType, searchTerm), page, limit);
+    }
+
+    // 위 조회의 COUNT 없는 Slice 버전 (무한 스크롤용)
+    @Transactional(readOnly = true)
+    public SlicePageDto<SalesOutboundListDto> scrollSalesInboundList(int page, int limit, String searchType, String searchTerm) {
+        return scrollShippableLots(toLotFilter(searchType, searchTerm), page, limit);
+    }
 
+    /**
+     * 출고 대상 입고 로트 조건 검색
+     * 거래처명 / 품목번호 / 품목명 / LOT 번호(부분 일치, 범위) / 입고일자 범위 / 입고수량 범위 중 채워진 조건을 모두 AND 로 묶어 한 번에 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public Page<SalesOutboundListDto> searchShippableLots(SalesOutboundLotFilterDto filter, int page, int limit) {
+        return salesInboundRepository.findAll(buildShippableLotSpecification(filter), lotPageable(page, limit))
+                .map(SalesOutboundListDto::fromInbound);
+    }
+
+    /**
+     * 출고 대상 입고 로트 조건 검색 - COUNT 없는 Slice 방식
+     * 페이지마다 size + 1 건 조회 한 번으로 다음 페이지 여부를 판단하고, 전체 건수는 ApproximateCountCache 의 근사값을 붙인다.
+     */
+    @Transactional(readOnly = true)
+    public SlicePageDto<SalesOutboundListDto> scrollShippableLots(SalesOutboundLotFilterDto filter, int page, int limit) {
+        Pageable pageable = lotPageable(page, limit);
+        Slice<SalesInbound> slice = salesInboundRepository.findBy(buildShippableLotSpecification(filter), q -> q.slice(pageable));
+        ApproximateCountCache.ApproximateCount total = approximateCountCache.get("shippable-lots", String.valueOf(filter),
+                () -> salesInboundRepository.count(buildShippableLotSpecification(filter)));
+
+        return SlicePageDto.<SalesOutboundListDto>builder()
+                .items(slice.getContent().stream().map(SalesOutboundListDto::fromInbound).toList())
+                .page(page)
+                .size(limit)
+                .hasNext(slice.hasNext())
+                .approximateTotal(total.total())
+                .approximateTotalAt(total.countedAt())
+                .build();
+    }
+
+    // 기존 검색구분 + 검색어를 조건 검색의 한 항목으로 변환
+    private SalesOutboundLotFilterDto toLotFilter(String searchType, String searchTerm) {
+        SalesOutboundLotFilterDto filter = new SalesOutboundLotFilterDto();
+        if (searchType == null || searchTerm == null || searchTerm.isBlank()) {
+            return filter;
+        }
+        String term = searchTerm.trim();
         switch (searchType) {
-            case "입고번호":
-                inboundPage = salesInboundRepository.findByInboundLOTNumContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(searchTerm, pageable);
-                break;
-            case "거래처명":
-                inboundPage = salesInboundRepository.findByItem_PartnerNameContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(searchTerm, pageable);
-                break;
-            case "품목번호":
-                inboundPage = salesInboundRepository.findByItem_ItemCodeContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(searchTerm, pageable);
-                break;
-            case "품목명":
-                inboundPage = salesInboundRepository.findByItem_ItemNameContainingAndIsCancelledFalseAndIsOutboundProcessedFalse(searchTerm, pageable);
-                break;
-            case "입고일자":
-                LocalDate date = LocalDate.parse(searchTerm);
-                inboundPage = salesInboundRepository.findByReceivedAtAndIsCancelledFalseAndIsOutboundProcessedFalse(date, pageable);
-                break;
-            case "입고수량":
-                int qty = Integer.parseInt(searchTerm);
-                inboundPage = salesInboundRepository.findByQtyAndIsCancelledFalseAndIsOutboundProcessedFalse(qty, pageable);
-                break;
-            default:
-                inboundPage = salesInboundRepository.findByIsCancelledFalseAndIsOutboundProcessedFalse(pageable);
+            case "입고번호" -> filter.setLotNum(term);
+            case "거래처명" -> filter.setPartnerName(term);
+            case "품목번호" -> filter.setItemCode(term);
+            case "품목명" -> filter.setItemName(term);
+            case "입고일자" -> {
+                LocalDate date = LocalDate.parse(term);
+                filter.setReceivedFrom(date);
+                filter.setReceivedTo(date);
+            }
+            case "입고수량" -> {
+                int qty = Integer.parseInt(term);
+                filter.setQtyMin(qty);
+                filter.setQtyMax(qty);
+            }
+            default -> { } // 전체
         }
+        return filter;
+    }
 
-        return inboundPage.map(SalesOutboundListDto::fromInbound);
+    // 입고일자 최신순, 같은 날은 최근 등록순 (페이지 경계에서 순서가 흔들리지 않도록 ID 까지 정렬)
+    private Pageable lotPageable(int page, int limit) {
+        if (page < 1 || limit < 1 || limit > MAX_LOT_PAGE_SIZE) {
+            throw new IllegalArgumentException("page 는 1 이상, limit 은 1 ~ " + MAX_LOT_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        return PageRequest.of(page - 1, limit,
+                Sort.by(Sort.Direction.DESC, "receivedAt").and(Sort.by(Sort.Direction.DESC, "inboundId")));
     }
 
-}
+    /**
+     * 출고 대상 로트 동적 검색 조건 (미취소 + 미출고완료 + 채워진 필터 항목)
+     */
+    private Specification<SalesInbound> buildShippableLotSpecification(SalesOutboundLotFilterDto filter) {
+        return (root, query, criteriaBuilder) -> {
+            Join<SalesInbound, SalesItem> item = itemJoin(root, query);
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(criteriaBuilder.isFalse(root.get("isCancelled")));
+            predicates.add(criteriaBuilder.isFalse(root.get("isOutboundProcessed")));
+            if (filter == null) {
+                return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+            }
+
+            addContains(predicates, criteriaBuilder, item.get("partnerName"), filter.getPartnerName());
+            addContains(predicates, criteriaBuilder, item.get("itemCode"), filter.getItemCode());
+            addContains(predicates, criteriaBuilder, item.get("itemName"), filter.getItemName());
+            addContains(predicates, criteriaBuilder, root.get("inboundLOTNum"), filter.getLotNum());
+            // LOT 번호는 LOT-yyyyMMdd-NNN 고정 자리수라 문자열 비교가 곧 발번 순서
+            if (hasText(filter.getLotFrom())) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("inboundLOTNum"), filter.getLotFrom().trim()));
+            }
+            if (hasText(filter.getLotTo())) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("inboundLOTNum"), filter.getLotTo().trim()));
+            }
+            if (filter.getReceivedFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("receivedAt"), filter.getReceivedFrom()));
+            }
+            if (filter.getReceivedTo() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("receivedAt"), filter.getReceivedTo()));
+            }
+            if (filter.getQtyMin() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("qty"), filter.getQtyMin()));
+            }
+            if (filter.getQtyMax() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("qty"), filter.getQtyMax()));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // 목록 조회는 품목을 fetch join 한 번으로 가져오면서 조건에도 그대로 씀 (같은 테이블을 두 번 join 하지 않도록)
+    // COUNT 쿼리에는 fetch join 을 붙일 수 없으므로 일반 join
+    // Hibernate 의 fetch 는 Join 이기도 하지만 JPA 타입상 Fetch 라서 캐스트가 필요함
+    @SuppressWarnings("unchecked")
+    private static Join<SalesInbound, SalesItem> itemJoin(Root<SalesInbound> root, CriteriaQuery<?> query) {
+        if (query.getResultType() == Long.class || query.getResultType() == long.class) {
+            return root.join("item");
+        }
+        return (Join<SalesInbound, SalesItem>) (Join<?, ?>) root.fetch("item");
+    }
 
+    private static void addContains(List<Predicate> predicates, CriteriaBuilder criteriaBuilder, Expression<String> path, String value) {
+        if (hasText(value)) {
+            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(path), "%" + value.trim().toLowerCase(Locale.ROOT) + "%"));
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Search.SearchCacheStatsDto;
+import com.mini_mes_3m_back.event.OperationsChangedEvent;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent.Target;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 키워드 검색 결과 캐시 (조회 종류, 정규화한 키워드, 페이지) -> 응답 DTO
+// - 교대 근무 중 같은 거래처명/품목번호 검색이 반복되므로, 같은 검색은 DB 를 거치지 않고 바로 돌려준다.
+// - 크기 상한(LRU)과 유효 시간(TTL)을 둔다. 유효 시간은 엔티티 리스너를 거치지 않는 변경(벌크 UPDATE 등)에 대한 안전장치다.
+// - 거래처/수주품목/입고/출고 변경 이벤트(SearchIndexChangedEvent)가 커밋된 뒤, 그 엔티티를 읽는 조회 종류만 골라 비운다.
+//   공정 마스터 변경(OperationsChangedEvent)은 공정 순서/공정명을 담는 수주품목 목록만 비운다.
+// - 조회 종류마다 세대 번호를 두어, 조회 도중에 무효화가 일어났으면 그 결과는 캐시에 넣지 않는다.
+// 캐시 미스일 때만 읽기 전용 트랜잭션을 열어 조회하므로, 적중 시에는 DB 커넥션도 쓰지 않는다.
+// 캐시된 결과는 여러 요청이 같이 쓰므로 호출 측에서 수정하면 안 된다.
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    public enum Kind {
+        SALES_ITEMS_FOR_INBOUND(false, Target.PARTNER, Target.SALES_ITEM),               // 입고 등록용 수주품목 검색
+        SALES_ITEM_PAGE(true, Target.PARTNER, Target.SALES_ITEM),                        // 수주품목 목록 검색 (페이지, 공정 순서 포함)
+        SALES_ITEM_SLICE(true, Target.PARTNER, Target.SALES_ITEM),                       // 수주품목 목록 검색 (COUNT 없는 Slice, 공정 순서 포함)
+        SALES_INBOUND_HISTORY(false, Target.PARTNER, Target.SALES_ITEM, Target.SALES_INBOUND,
+                Target.SALES_OUTBOUND);                                                  // 입고 이력 검색 (출고 시 잔량/출고완료 여부가 바뀜)
+
+        private final boolean dependsOnOperations;
+        private final Set<Target> dependsOn;
+
+        Kind(boolean dependsOnOperations, Target... dependsOn) {
+            this.dependsOnOperations = dependsOnOperations;
+            this.dependsOn = EnumSet.copyOf(Arrays.asList(dependsOn));
+        }
+    }
+
+    private record Key(Kind kind, String keyword, String page) {}
+
+    private record Entry(Object result, long expiresAt) {}
+
+    private static final class Counters {
+        private final AtomicLong generation = new AtomicLong();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder invalidations = new LongAdder();
+    }
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<Kind, Counters> counters = new EnumMap<>(Kind.class);
+    private final LinkedHashMap<Key, Entry> entries; // 접근 순서 = LRU 순서, entries 자체로 동기화
+    private final LongAdder evictions = new LongAdder();
+
+    public SearchResultCache(PlatformTransactionManager transactionManager,
+                             @Value("${search.cache.enabled:true}") boolean enabled,
+                             @Value("${search.cache.max-entries:500}") int maxEntries,
+                             @Value("${search.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        for (Kind kind : Kind.values()) {
+            counters.put(kind, new Counters());
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > SearchResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 검색 결과를 돌려주고, 없으면 읽기 전용 트랜잭션에서 loader 로 조회해 담는다.
+     * 키워드가 비어 있으면(전체 목록) 캐시하지 않고 조회만 한다.
+     * @param page 페이지 조회가 아니면 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(Kind kind, String keyword, Pageable page, Supplier<T> loader) {
+        String normalized = normalize(keyword);
+        if (!enabled || normalized.isEmpty()) {
+            return load(loader);
+        }
+        Key key = new Key(kind, normalized, pageKey(page));
+        Counters c = counters.get(kind);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - now > 0) {
+                c.hits.increment();
+                return (T) entry.result();
+            }
+            if (entry != null) {
+                entries.remove(key); // 유효 시간 지남
+            }
+        }
+        c.misses.increment();
+
+        long generation = c.generation.get();
+        T result = load(loader);
+        synchronized (entries) {
+            // 조회하는 동안 무효화되었으면 이미 지난 데이터일 수 있으므로 담지 않음
+            if (c.generation.get() == generation) {
+                entries.put(key, new Entry(result, System.nanoTime() + ttlNanos));
+            }
+        }
+        return result;
+    }
+
+    // --- 변경 반영 (커밋 이후): 바뀐 엔티티를 읽는 조회 종류만 비움 ---
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSearchIndexChanged(SearchIndexChangedEvent event) {
+        Set<Kind> affected = EnumSet.noneOf(Kind.class);
+        for (Kind kind : Kind.values()) {
+            if (kind.dependsOn.contains(event.getTarget())) {
+                affected.add(kind);
+            }
+        }
+        invalidate(affected);
+    }
+
+    // --- 공정 마스터 변경 (커밋 이후): 공정명을 담는 조회 종류만 비움 ---
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOperationsChanged(OperationsChangedEvent event) {
+        Set<Kind> affected = EnumSet.noneOf(Kind.class);
+        for (Kind kind : Kind.values()) {
+            if (kind.dependsOnOperations) {
+                affected.add(kind);
+            }
+        }
+        invalidate(affected);
+    }
+
+    private void invalidate(Set<Kind> affected) {
+        if (affected.isEmpty()) {
+            return;
+        }
+        synchronized (entries) {
+            affected.forEach(kind -> {
+                Counters c = counters.get(kind);
+                c.generation.incrementAndGet();
+                c.invalidations.increment();
+            });
+            entries.keySet().removeIf(key -> affected.contains(key.kind()));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            counters.values().forEach(c -> c.generation.incrementAndGet());
+            entries.clear();
+        }
+    }
+
+    // --- 적중/미스 통계 ---
+    public List<SearchCacheStatsDto> getStats() {
+        Map<Kind, Integer> sizes = new EnumMap<>(Kind.class);
+        synchronized (entries) {
+            entries.keySet().forEach(key -> sizes.merge(key.kind(), 1, Integer::sum));
+        }
+        return Arrays.stream(Kind.values())
+                .map(kind -> {
+                    Counters c = counters.get(kind);
+                    long hits = c.hits.sum();
+                    long misses = c.misses.sum();
+                    return SearchCacheStatsDto.builder()
+                            .kind(kind.name())
+                            .entries(sizes.getOrDefault(kind, 0))
+                            .hits(hits)
+                            .misses(misses)
+                            .hitRatio(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                            .invalidations(c.invalidations.sum())
+                            .evictions(evictions.sum())
+                            .build();
+                })
+                .toList();
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return readOnlyTransaction.execute(status -> loader.get());
+    }
+
+    // 검색 쿼리는 대소문자를 구분하지 않으므로 키도 소문자/공백 정리한 값으로
+    private static String normalize(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String pageKey(Pageable page) {
+        if (page == null || page.isUnpaged()) {
+            return "";
+        }
+        return page.getPageNumber() + ":" + page.getPageSize() + ":" + page.getSort();
+    }
+}
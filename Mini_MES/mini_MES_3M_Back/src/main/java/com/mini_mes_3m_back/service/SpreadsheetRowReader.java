@@ -0,0 +1,330 @@
+package com.mini_mes_3m_back.service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// CSV / XLSX 파일을 한 행씩 읽어 넘기는 도우미 (대량 등록용)
+// - 파일 전체를 메모리에 올리지 않고 행 단위로 handler 에 넘긴다.
+// - CSV: RFC 4180 (큰따옴표 안의 쉼표/줄바꿈, "" 이스케이프), UTF-8 BOM 은 건너뜀
+// - XLSX: 압축 안의 첫 번째 시트 XML 을 StAX 로 읽는다. 공유 문자열표(sharedStrings.xml)만 메모리에 둔다.
+//   (별도 라이브러리 없이 JDK 의 zip/StAX 만 사용, 수식은 저장된 계산 결과 값을 읽음)
+public final class SpreadsheetRowReader {
+
+    private static final int MAX_CSV_RECORD_CHARS = 1_000_000; // 닫히지 않은 따옴표 등으로 한 행이 끝없이 커지는 것 방지
+
+    private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowNumber 파일 기준 행 번호 (1부터, XLSX 는 시트의 행 번호)
+         * @param cells 셀 값 (빈 셀은 "")
+         */
+        void row(int rowNumber, List<String> cells);
+    }
+
+    private SpreadsheetRowReader() {
+    }
+
+    /**
+     * 파일 확장자로 형식을 골라 읽음
+     * @param csvCharset CSV 문자 집합 (XLSX 는 무시)
+     */
+    public static void read(InputStream in, String fileName, Charset csvCharset, RowHandler handler) throws IOException {
+        String lower = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".xlsx")) {
+            readXlsx(in, handler);
+        } else if (lower.endsWith(".csv") || lower.endsWith(".txt")) {
+            readCsv(new BufferedReader(new InputStreamReader(in, csvCharset)), handler);
+        } else {
+            throw new IllegalArgumentException("CSV 또는 XLSX 파일만 등록할 수 있습니다: " + fileName);
+        }
+    }
+
+    // --- 1. CSV ---
+    private static void readCsv(Reader reader, RowHandler handler) throws IOException {
+        List<String> cells = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int recordChars = 0;
+        int rowNumber = 1;
+
+        int c = reader.read();
+        if (c == '\uFEFF') {
+            c = reader.read(); // BOM
+        }
+        while (c != -1) {
+            if (++recordChars > MAX_CSV_RECORD_CHARS) {
+                throw new IllegalArgumentException(rowNumber + "행이 너무 깁니다. (따옴표가 닫혔는지 확인하세요)");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                cells.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = reader.read();
+                    if (next != '\n') {
+                        c = next;
+                        cells.add(field.toString());
+                        handler.row(rowNumber++, cells);
+                        cells = new ArrayList<>();
+                        field.setLength(0);
+                        fieldStarted = false;
+                        recordChars = 0;
+                        continue;
+                    }
+                }
+                cells.add(field.toString());
+                handler.row(rowNumber++, cells);
+                cells = new ArrayList<>();
+                field.setLength(0);
+                fieldStarted = false;
+                recordChars = 0;
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+            c = reader.read();
+        }
+        if (quoted) {
+            throw new IllegalArgumentException(rowNumber + "행의 따옴표가 닫히지 않았습니다.");
+        }
+        if (fieldStarted || field.length() > 0 || !cells.isEmpty()) {
+            cells.add(field.toString());
+            handler.row(rowNumber, cells); // 마지막 줄바꿈이 없는 마지막 행
+        }
+    }
+
+    // --- 2. XLSX ---
+    private static void readXlsx(InputStream in, RowHandler handler) throws IOException {
+        // 압축 목차(파일 끝)를 읽어야 하므로 임시 파일로 옮긴 뒤 연다
+        Path temp = Files.createTempFile("sales-item-import-", ".xlsx");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            try (ZipFile zip = new ZipFile(temp.toFile())) {
+                List<String> sharedStrings = readSharedStrings(zip);
+                ZipEntry sheet = zip.getEntry(firstSheetPath(zip));
+                if (sheet == null) {
+                    throw new IllegalArgumentException("XLSX 파일에서 시트를 찾을 수 없습니다.");
+                }
+                try (InputStream sheetIn = zip.getInputStream(sheet)) {
+                    readSheet(sheetIn, sharedStrings, handler);
+                }
+            } catch (XMLStreamException e) {
+                throw new IllegalArgumentException("XLSX 파일 형식이 올바르지 않습니다.", e);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 워크북의 첫 번째 시트 경로 (xl/workbook.xml -> xl/_rels/workbook.xml.rels)
+    private static String firstSheetPath(ZipFile zip) throws IOException, XMLStreamException {
+        String relationId = null;
+        ZipEntry workbook = zip.getEntry("xl/workbook.xml");
+        if (workbook != null) {
+            try (InputStream in = zip.getInputStream(workbook)) {
+                XMLStreamReader xml = xmlReader(in);
+                while (xml.hasNext() && relationId == null) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                        relationId = xml.getAttributeValue(RELATIONSHIP_NS, "id");
+                    }
+                }
+                xml.close();
+            }
+        }
+        ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+        if (relationId != null && rels != null) {
+            try (InputStream in = zip.getInputStream(rels)) {
+                XMLStreamReader xml = xmlReader(in);
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())
+                            && relationId.equals(xml.getAttributeValue(null, "Id"))) {
+                        String target = xml.getAttributeValue(null, "Target");
+                        xml.close();
+                        return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                    }
+                }
+                xml.close();
+            }
+        }
+        return "xl/worksheets/sheet1.xml";
+    }
+
+    private static List<String> readSharedStrings(ZipFile zip) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader xml = xmlReader(in);
+            StringBuilder text = new StringBuilder();
+            int phoneticDepth = 0; // 윗주(rPh) 안의 텍스트는 값이 아님
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "si" -> text.setLength(0);
+                        case "rPh" -> phoneticDepth++;
+                        case "t" -> {
+                            String value = xml.getElementText();
+                            if (phoneticDepth == 0) {
+                                text.append(value);
+                            }
+                        }
+                        default -> { }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) {
+                        phoneticDepth--;
+                    } else if ("si".equals(xml.getLocalName())) {
+                        strings.add(text.toString());
+                    }
+                }
+            }
+            xml.close();
+        }
+        return strings;
+    }
+
+    private static void readSheet(InputStream in, List<String> sharedStrings, RowHandler handler) throws XMLStreamException {
+        XMLStreamReader xml = xmlReader(in);
+        List<String> cells = null;
+        int rowNumber = 0;
+        int column = -1;
+        String type = null;
+        String value = null;
+        StringBuilder inline = new StringBuilder();
+        int phoneticDepth = 0;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "row" -> {
+                        String r = xml.getAttributeValue(null, "r");
+                        rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                        cells = new ArrayList<>();
+                        column = -1;
+                    }
+                    case "c" -> {
+                        String ref = xml.getAttributeValue(null, "r");
+                        column = ref != null ? columnIndex(ref) : column + 1;
+                        type = xml.getAttributeValue(null, "t");
+                        value = null;
+                        inline.setLength(0);
+                    }
+                    case "v" -> value = xml.getElementText();
+                    case "rPh" -> phoneticDepth++;
+                    case "t" -> {
+                        String text = xml.getElementText();
+                        if (phoneticDepth == 0) {
+                            inline.append(text); // 인라인 문자열 (<is><t>)
+                        }
+                    }
+                    default -> { }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "rPh" -> phoneticDepth--;
+                    case "c" -> {
+                        if (cells != null) {
+                            while (cells.size() < column) {
+                                cells.add("");
+                            }
+                            cells.add(cellValue(type, value, inline, sharedStrings));
+                        }
+                    }
+                    case "row" -> {
+                        if (cells != null) {
+                            handler.row(rowNumber, cells);
+                            cells = null;
+                        }
+                    }
+                    default -> { }
+                }
+            }
+        }
+        xml.close();
+    }
+
+    private static String cellValue(String type, String value, StringBuilder inline, List<String> sharedStrings) {
+        if ("inlineStr".equals(type)) {
+            return inline.toString();
+        }
+        if (value == null) {
+            return "";
+        }
+        return switch (type == null ? "n" : type) {
+            case "s" -> {
+                int index = Integer.parseInt(value.trim());
+                yield index < sharedStrings.size() ? sharedStrings.get(index) : "";
+            }
+            case "b" -> "1".equals(value.trim()) ? "TRUE" : "FALSE";
+            case "e" -> ""; // 수식 오류
+            case "n" -> plainNumber(value);
+            default -> value; // str (수식 문자열 결과)
+        };
+    }
+
+    // 숫자 셀 "1200.0", "1.2E3" -> "1200"
+    private static String plainNumber(String value) {
+        try {
+            return new BigDecimal(value.trim()).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    // "AB12" -> 27 (0부터)
+    private static int columnIndex(String ref) {
+        int index = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            index = index * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private static XMLStreamReader xmlReader(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false); // 외부 엔티티(XXE) 차단
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory.createXMLStreamReader(in);
+    }
+}
@@ -0,0 +1,203 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.Etc.TypeaheadSuggestionDto;
+import com.mini_mes_3m_back.event.SearchIndexChangedEvent;
+import com.mini_mes_3m_back.repository.TypeaheadJdbcRepository;
+import com.mini_mes_3m_back.repository.TypeaheadJdbcRepository.Row;
+import com.mini_mes_3m_back.util.HangulChosung;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 수주품목 / 거래처 / 원자재 품목 자동완성
+// - 전체 목록을 화면으로 내려보내 브라우저에서 거르는 대신, 서버 메모리의 접두어 트라이에서 상위 N건만 돌려준다.
+// - 순위 점수 = 최근 변경/사용 시각(일 단위) + 선택 횟수 가중치. 자주, 최근에 고른 항목이 위로 올라온다.
+// - 서버 기동 시 한 번 적재하고, 이후에는 엔티티 변경 이벤트(SearchIndexChangedEvent)가 커밋된 뒤 해당 행만 다시 읽는다.
+// 선택 횟수는 메모리에만 두므로 서버를 재시작하면 최근 변경 시각 기준으로 다시 시작한다.
+@Slf4j
+@Service
+public class TypeaheadService {
+
+    public static final String SALES_ITEMS = "sales-items";
+    public static final String PARTNERS = "partners";
+    public static final String RAWS_ITEMS = "raws-items";
+
+    private static final int TOP_K = 20;         // 노드마다 캐시하는 상위 건수 = 한 번에 돌려줄 수 있는 최대 건수
+    private static final double USAGE_WEIGHT = 2.0; // 선택 횟수가 두 배가 될 때마다 "2일 더 최근" 만큼 가산
+    private static final double SECONDS_PER_DAY = 86400.0;
+
+    private final TypeaheadJdbcRepository typeaheadJdbcRepository;
+
+    private final PrefixTrie<TypeaheadSuggestionDto> salesItems = new PrefixTrie<>(TOP_K);
+    private final PrefixTrie<TypeaheadSuggestionDto> rawsItems = new PrefixTrie<>(TOP_K);
+    // 거래처는 구분(customer/supplier)별로 트라이를 나눠서, 구분 필터가 있어도 캐시된 상위 목록을 그대로 쓴다
+    private final Map<String, PrefixTrie<TypeaheadSuggestionDto>> partnersByType = new ConcurrentHashMap<>();
+    // "종류:ID" -> 선택 기록
+    private final Map<String, Usage> usages = new ConcurrentHashMap<>();
+
+    private record Usage(int count, Instant lastUsedAt) {}
+
+    public TypeaheadService(TypeaheadJdbcRepository typeaheadJdbcRepository) {
+        this.typeaheadJdbcRepository = typeaheadJdbcRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        salesItems.clear();
+        rawsItems.clear();
+        partnersByType.clear();
+        typeaheadJdbcRepository.findAllSalesItems().forEach(row -> put(salesItems, row));
+        typeaheadJdbcRepository.findAllPartners().forEach(this::putPartner);
+        typeaheadJdbcRepository.findAllRawsItems().forEach(row -> put(rawsItems, row));
+        log.info("자동완성 트라이 적재 완료: 수주품목={}, 거래처={}, 원자재={}",
+                salesItems.size(), partnersByType.values().stream().mapToInt(PrefixTrie::size).sum(), rawsItems.size());
+    }
+
+    // --- 변경 반영 (커밋 이후) ---
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSearchIndexChanged(SearchIndexChangedEvent event) {
+        Set<Long> ids = event.getIds();
+        if (ids.isEmpty()) {
+            return; // 출고 등 자동완성 대상이 아닌 변경
+        }
+        switch (event.getTarget()) {
+            case SALES_ITEM -> reload(salesItems, ids, typeaheadJdbcRepository.findSalesItems(ids, List.of()));
+            case RAWS_ITEM -> reload(rawsItems, ids, typeaheadJdbcRepository.findRawsItems(ids, List.of()));
+            case PARTNER -> {
+                List<Row> partners = typeaheadJdbcRepository.findPartners(ids);
+                ids.forEach(id -> partnersByType.values().forEach(trie -> trie.remove(id))); // 구분이 바뀌었을 수 있음
+                partners.forEach(this::putPartner);
+                // 거래처명은 품목의 보조 표시로도 나가므로 해당 거래처의 품목도 다시 읽음
+                typeaheadJdbcRepository.findSalesItems(List.of(), ids).forEach(row -> put(salesItems, row));
+                typeaheadJdbcRepository.findRawsItems(List.of(), ids).forEach(row -> put(rawsItems, row));
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * 자동완성 추천
+     * @param type sales-items | partners | raws-items
+     * @param query 입력 중인 문자열 (이름/코드/단어의 앞부분, 비어 있으면 최근·자주 쓴 항목)
+     * @param partnerType 거래처 구분 필터 (partners 에서만 사용, 선택)
+     * @param limit 최대 건수 (1 ~ 20)
+     */
+    public List<TypeaheadSuggestionDto> suggest(String type, String query, String partnerType, int limit) {
+        if (limit < 1 || limit > TOP_K) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + TOP_K + " 사이여야 합니다.");
+        }
+        List<PrefixTrie<TypeaheadSuggestionDto>> tries = triesOf(type, partnerType);
+        if (tries.size() == 1) {
+            return tries.get(0).top(query, limit).stream().map(PrefixTrie.Entry::value).toList();
+        }
+        // 거래처 구분 필터가 없으면 구분별 상위 목록을 합쳐서 다시 자름
+        List<PrefixTrie.Entry<TypeaheadSuggestionDto>> merged = new ArrayList<>();
+        tries.forEach(trie -> merged.addAll(trie.top(query, limit)));
+        return merged.stream()
+                .sorted(Comparator.comparingDouble((PrefixTrie.Entry<TypeaheadSuggestionDto> e) -> e.score()).reversed())
+                .limit(limit)
+                .map(PrefixTrie.Entry::value)
+                .toList();
+    }
+
+    // --- 추천 항목 선택 기록 (순위 가산) ---
+    public void recordSelection(String type, Long id) {
+        for (PrefixTrie<TypeaheadSuggestionDto> trie : triesOf(type, null)) {
+            if (trie.get(id) != null) {
+                Usage usage = usages.merge(type + ":" + id, new Usage(1, Instant.now()),
+                        (old, now) -> new Usage(old.count() + 1, now.lastUsedAt()));
+                trie.raiseScore(id, score(usage.lastUsedAt(), usage.count()));
+                return;
+            }
+        }
+        throw new IllegalArgumentException("자동완성 대상이 아닙니다: " + type + " " + id);
+    }
+
+    private List<PrefixTrie<TypeaheadSuggestionDto>> triesOf(String type, String partnerType) {
+        if (type == null) {
+            throw new IllegalArgumentException("지원하지 않는 자동완성 종류입니다: null");
+        }
+        return switch (type) {
+            case SALES_ITEMS -> List.of(salesItems);
+            case RAWS_ITEMS -> List.of(rawsItems);
+            case PARTNERS -> {
+                if (partnerType == null || partnerType.isBlank()) {
+                    yield List.copyOf(partnersByType.values());
+                }
+                // 요청 값으로 트라이를 만들지 않음 (모르는 구분이면 결과 없음)
+                PrefixTrie<TypeaheadSuggestionDto> trie = partnersByType.get(partnerType.trim());
+                yield trie != null ? List.of(trie) : List.of();
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 자동완성 종류입니다: " + type);
+        };
+    }
+
+    private PrefixTrie<TypeaheadSuggestionDto> partnerTrie(String partnerType) {
+        return partnersByType.computeIfAbsent(partnerType, t -> new PrefixTrie<>(TOP_K));
+    }
+
+    private void putPartner(Row row) {
+        put(partnerTrie(row.partnerType() != null ? row.partnerType() : ""), row);
+    }
+
+    // 변경된 ID 를 다시 읽은 결과로 교체 (결과에 없으면 삭제된 행)
+    private void reload(PrefixTrie<TypeaheadSuggestionDto> trie, Collection<Long> ids, List<Row> rows) {
+        Set<Long> found = new HashSet<>();
+        rows.forEach(row -> {
+            put(trie, row);
+            found.add(row.suggestion().getId());
+        });
+        ids.stream().filter(id -> !found.contains(id)).forEach(trie::remove);
+    }
+
+    private void put(PrefixTrie<TypeaheadSuggestionDto> trie, Row row) {
+        TypeaheadSuggestionDto s = row.suggestion();
+        Usage usage = usages.get(s.getType() + ":" + s.getId());
+        Instant touchedAt = row.touchedAt();
+        int uses = 0;
+        if (usage != null) {
+            uses = usage.count();
+            touchedAt = usage.lastUsedAt().isAfter(touchedAt) ? usage.lastUsedAt() : touchedAt;
+        }
+        trie.put(s.getId(), keysOf(s), s, score(touchedAt, uses));
+    }
+
+    // 이름 전체, 이름의 각 단어, 이름의 초성(ㅎㄷㄷㅇ), 코드, 보조 표시(거래처명 등)의 각 단어로 찾을 수 있게 키 등록
+    private static List<String> keysOf(TypeaheadSuggestionDto s) {
+        List<String> keys = new ArrayList<>();
+        addWithWords(keys, s.getLabel());
+        addWithWords(keys, HangulChosung.toChosung(s.getLabel()));
+        addWithWords(keys, s.getCode());
+        if (!PARTNERS.equals(s.getType())) {
+            addWithWords(keys, s.getSubLabel());
+        }
+        return keys;
+    }
+
+    private static void addWithWords(List<String> keys, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        keys.add(value);
+        String[] words = value.trim().split("\\s+");
+        if (words.length > 1) {
+            keys.addAll(List.of(words));
+        }
+    }
+
+    private static double score(Instant touchedAt, int uses) {
+        return touchedAt.getEpochSecond() / SECONDS_PER_DAY + USAGE_WEIGHT * (Math.log1p(uses) / Math.log(2));
+    }
+}
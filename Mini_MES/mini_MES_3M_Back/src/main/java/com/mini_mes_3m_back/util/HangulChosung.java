@@ -0,0 +1,93 @@
+package com.mini_mes_3m_back.util;
+
+import java.util.Locale;
+
+// 한글 초성 검색 도우미
+// - 초성 변환: "현대도어 A형" -> "ㅎㄷㄷㅇ aㅎ" (완성형 한글은 초성으로, 나머지 문자는 소문자로)
+// - 엔티티 저장 시 이름의 초성 컬럼(…_chosung)을 미리 만들어 두고, 검색 시에는 입력값만 변환해서 색인을 찾는다.
+// - 초성/완성형 혼합 입력("현ㄷ")은 초성 색인으로 후보를 찾은 뒤 matches() 로 원래 이름과 한 글자씩 대조한다.
+public final class HangulChosung {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int SYLLABLES_PER_CHOSUNG = 21 * 28; // 중성 21 x 종성 28
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private HangulChosung() {
+    }
+
+    // 이름 -> 초성 문자열 (null 이면 null). 저장 컬럼 값과 검색어 변환에 같이 쓴다.
+    public static String toChosung(String value) {
+        if (value == null) {
+            return null;
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            sb.append(chosungOf(lower.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    // 입력값에 초성(자음) 글자가 하나라도 있는지 (있으면 초성 색인으로 검색)
+    public static boolean hasChosung(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (isChosung(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // name 안에 query 와 한 글자씩 맞는 구간이 있는지 (초성 글자는 같은 초성의 완성형 글자와도 맞음, 대소문자 무시)
+    public static boolean matches(String name, String query) {
+        if (name == null || query == null) {
+            return false;
+        }
+        String n = name.toLowerCase(Locale.ROOT);
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) {
+            return true;
+        }
+        for (int start = 0; start + q.length() <= n.length(); start++) {
+            int i = 0;
+            while (i < q.length() && charMatches(n.charAt(start + i), q.charAt(i))) {
+                i++;
+            }
+            if (i == q.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean charMatches(char nameChar, char queryChar) {
+        if (nameChar == queryChar) {
+            return true;
+        }
+        return isChosung(queryChar) && chosungOf(nameChar) == queryChar;
+    }
+
+    private static char chosungOf(char c) {
+        if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+            return CHOSUNG[(c - SYLLABLE_FIRST) / SYLLABLES_PER_CHOSUNG];
+        }
+        return c;
+    }
+
+    private static boolean isChosung(char c) {
+        for (char chosung : CHOSUNG) {
+            if (chosung == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mini_mes_3m_back.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 자동완성 트라이의 캐시(dirty 표시 + 자식 캐시로 다시 채우기)가 전체를 훑어서 고른 결과와 항상 같은지 무작위 연산으로 확인
+// 글자 종류를 적게 잡아서 키/접두어가 많이 겹치게 하고, 점수는 정수로 잡아서 동점(ID 순 정렬)도 자주 나오게 한다.
+class PrefixTrieTests {
+
+    private static final int TOP_K = 5;
+    private static final int OPERATIONS = 20_000;
+    private static final String ALPHABET = "abc";
+
+    private record Item(List<String> keys, double score) {}
+
+    @Test
+    void topMatchesBruteForceRanking() {
+        Random random = new Random(20251018L);
+        PrefixTrie<String> trie = new PrefixTrie<>(TOP_K);
+        Map<Long, Item> expected = new HashMap<>();
+
+        for (int op = 0; op < OPERATIONS; op++) {
+            long id = 1 + random.nextInt(60);
+            int kind = random.nextInt(10);
+            if (kind < 4) {
+                List<String> keys = randomKeys(random);
+                double score = random.nextInt(8);
+                trie.put(id, keys, "item-" + id, score);
+                expected.put(id, new Item(keys, score));
+            } else if (kind < 5) {
+                trie.remove(id);
+                expected.remove(id);
+            } else if (kind < 7) {
+                double score = random.nextInt(10);
+                boolean found = trie.raiseScore(id, score);
+                assertEquals(expected.containsKey(id), found, "op " + op + ": raiseScore 결과");
+                Item item = expected.get(id);
+                if (item != null && score > item.score()) {
+                    expected.put(id, new Item(item.keys(), score));
+                }
+            } else {
+                String prefix = randomKey(random, random.nextInt(4));
+                int limit = 1 + random.nextInt(TOP_K);
+                List<Long> actual = trie.top(prefix, limit).stream().map(PrefixTrie.Entry::id).toList();
+                assertEquals(bruteForceTop(expected, prefix, limit), actual, "op " + op + ": prefix=\"" + prefix + "\"");
+            }
+        }
+    }
+
+    // 접두어로 시작하는 키가 하나라도 있는 항목을 점수 내림차순, 같으면 ID 내림차순으로
+    private static List<Long> bruteForceTop(Map<Long, Item> items, String prefix, int limit) {
+        return items.entrySet().stream()
+                .filter(e -> e.getValue().keys().stream().anyMatch(key -> key.startsWith(prefix)))
+                .sorted(Comparator.<Map.Entry<Long, Item>>comparingDouble(e -> e.getValue().score()).reversed()
+                        .thenComparing(Comparator.<Map.Entry<Long, Item>>comparingLong(Map.Entry::getKey).reversed()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static List<String> randomKeys(Random random) {
+        List<String> keys = new ArrayList<>();
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            keys.add(randomKey(random, 1 + random.nextInt(4)));
+        }
+        return keys;
+    }
+
+    private static String randomKey(Random random, int length) {
+        StringBuilder key = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            key.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return key.toString();
+    }
+}
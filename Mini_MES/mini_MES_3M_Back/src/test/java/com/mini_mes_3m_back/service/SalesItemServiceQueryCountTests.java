@@ -0,0 +1,103 @@
+package com.mini_mes_3m_back.service;
+
+import com.mini_mes_3m_back.dto.salesItem.SalesItemDetailViewDto;
+import com.mini_mes_3m_back.entity.Operations;
+import com.mini_mes_3m_back.entity.Partner;
+import com.mini_mes_3m_back.entity.SalesItem;
+import com.mini_mes_3m_back.entity.SalesItemOperation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 수주품목 목록 조회가 품목/공정 수와 무관하게 고정된 SQL 문 수로 끝나는지 확인 (N+1 회귀 방지)
+// 색인/결과 캐시는 꺼서 항상 DB 조회 경로를 타게 하고, 테스트 데이터는 트랜잭션 롤백으로 지운다.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "search.index.enabled=false",
+        "search.cache.enabled=false"
+})
+@Transactional
+class SalesItemServiceQueryCountTests {
+
+    private static final int ITEM_COUNT = 6;
+    private static final int OPERATIONS_PER_ITEM = 3;
+
+    @Autowired
+    private SalesItemService salesItemService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void salesItemPageUsesFixedNumberOfStatements() {
+        String tag = "NQ" + Long.toString(System.nanoTime() % 100_000_000L, 36).toUpperCase();
+        saveItemsWithRouting(tag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // 페이지가 꽉 차도록 품목 수보다 작은 크기로 조회 -> ID 페이지 1 + COUNT 1 + 평탄화 행 1
+        Page<SalesItemDetailViewDto> page = salesItemService.getSalesItems(tag, PageRequest.of(0, ITEM_COUNT - 1));
+
+        assertEquals(ITEM_COUNT - 1, page.getContent().size());
+        assertEquals(ITEM_COUNT, page.getTotalElements());
+        page.getContent().forEach(item -> assertEquals(OPERATIONS_PER_ITEM, item.getOperations().size()));
+        assertEquals(3, statistics.getPrepareStatementCount(),
+                "목록 조회 SQL 문 수가 품목/공정 수에 따라 늘어나면 안 됩니다.");
+    }
+
+    private void saveItemsWithRouting(String tag) {
+        Partner partner = new Partner();
+        partner.setPartnerType("customer");
+        partner.setName(tag + " 거래처");
+        entityManager.persist(partner);
+
+        List<Operations> operations = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS_PER_ITEM; i++) {
+            Operations operation = Operations.builder()
+                    .code(tag + "-OP" + i)
+                    .name(tag + " 공정 " + i)
+                    .standardTime(10)
+                    .build();
+            entityManager.persist(operation);
+            operations.add(operation);
+        }
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            SalesItem item = SalesItem.builder()
+                    .partner(partner)
+                    .partnerName(partner.getName())
+                    .itemCode(tag + "-" + i)
+                    .itemName(tag + " 품목 " + i)
+                    .classification("GENERAL")
+                    .build();
+            for (int seq = 0; seq < operations.size(); seq++) {
+                SalesItemOperation step = new SalesItemOperation();
+                step.setSalesItem(item);
+                step.setOperations(operations.get(seq));
+                step.setSeq(seq + 1);
+                item.getOperations().add(step);
+            }
+            entityManager.persist(item);
+        }
+
+        // 영속성 컨텍스트에 남은 엔티티를 재사용하지 않도록 비움
+        entityManager.flush();
+        entityManager.clear();
+    }
+}